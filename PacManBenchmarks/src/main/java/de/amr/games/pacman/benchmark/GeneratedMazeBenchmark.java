@@ -0,0 +1,92 @@
+package de.amr.games.pacman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.generator.GeneratedWorld;
+import de.amr.games.pacman.model.world.generator.MazeGenerator;
+import de.amr.games.pacman.model.world.graph.DistanceField;
+import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
+
+/**
+ * Measures how maze generation, path finding, distance fields and food queries scale with the size
+ * of the maze. The mazes are generated with a fixed seed, with one house and two portals per 100
+ * rows.
+ *
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedMazeBenchmark {
+
+	@Param({ "28x36", "100x100", "300x300", "1000x1000" })
+	public String size;
+
+	@Param({ "ASTAR", "INTERSECTION_GRAPH" })
+	public PathFinder pathFinder;
+
+	private MazeGenerator generator;
+	private GeneratedWorld world;
+	private WorldGraph graph;
+	private DistanceField distanceField;
+	private Tile[] capes;
+	private Tile pacManTile;
+
+	@Setup
+	public void setup() {
+		String[] dimensions = size.split("x");
+		int width = Integer.parseInt(dimensions[0]), height = Integer.parseInt(dimensions[1]);
+		generator = new MazeGenerator(width, height).seed(42);
+		generator.houses(Math.max(1, Math.min(generator.maxHouses(), height / 100)));
+		generator.portals(Math.max(1, Math.min(generator.maxPortals(), height / 50)));
+		world = generator.generate();
+		graph = new WorldGraph(world);
+		graph.setPathFinder(pathFinder);
+		distanceField = new DistanceField(world);
+		capes = world.capes().toArray(Tile[]::new);
+		pacManTile = Tile.at(world.pacManBed().col(), world.pacManBed().row());
+	}
+
+	@Benchmark
+	public void generate(Blackhole bh) {
+		bh.consume(generator.generate());
+	}
+
+	@Benchmark
+	public void shortestPathBetweenCapes(Blackhole bh) {
+		for (Tile source : capes) {
+			for (Tile target : capes) {
+				bh.consume(graph.shortestPathIndices(source, target));
+			}
+		}
+	}
+
+	@Benchmark
+	public void distanceField(Blackhole bh) {
+		distanceField.compute(pacManTile);
+		bh.consume(distanceField.reachedCount());
+	}
+
+	@Benchmark
+	public void nearestFood(Blackhole bh) {
+		bh.consume(world.nearestFood(pacManTile));
+	}
+}
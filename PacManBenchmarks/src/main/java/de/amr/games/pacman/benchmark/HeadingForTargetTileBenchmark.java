@@ -0,0 +1,107 @@
+package de.amr.games.pacman.benchmark;
+
+import static de.amr.games.pacman.model.world.api.Direction.DOWN;
+import static de.amr.games.pacman.model.world.api.Direction.LEFT;
+import static de.amr.games.pacman.model.world.api.Direction.RIGHT;
+import static de.amr.games.pacman.model.world.api.Direction.UP;
+import static java.util.Arrays.asList;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.steering.common.HeadingForTargetTile;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+
+/**
+ * Measures the direction selection of the "head for target tile" steering used by all ghosts. The
+ * stream-based implementation used before is kept as a reference. Each benchmark method computes
+ * the best direction for every accessible tile, every move direction and the scatter targets of
+ * the ghosts.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeadingForTargetTileBenchmark {
+
+	private static final List<Direction> PRIORITY = asList(UP, LEFT, DOWN, RIGHT);
+
+	private ArcadeWorld world;
+	private PacMan pacMan;
+	private HeadingForTargetTile<PacMan> steering;
+	private Tile[] tiles;
+	private Tile[] targets;
+
+	@Setup
+	public void setup() {
+		world = new ArcadeWorld();
+		pacMan = new PacMan(world);
+		pacMan.setMoveDir(RIGHT);
+		steering = new HeadingForTargetTile<>(pacMan, () -> null);
+		tiles = world.tiles().filter(world::isAccessible).toArray(Tile[]::new);
+		targets = new Tile[] { Tile.at(2, 0), Tile.at(world.width() - 3, 0), Tile.at(0, world.height() - 1),
+				Tile.at(world.width() - 1, world.height() - 1) };
+		for (Tile tile : tiles) {
+			for (Direction moveDir : Direction.values()) {
+				for (Tile target : targets) {
+					if (steering.bestDirTowardsTarget(moveDir, tile, target) != referenceBestDir(moveDir, tile, target)) {
+						throw new IllegalStateException(
+								String.format("Different decisions at tile %s, move dir %s, target %s", tile, moveDir, target));
+					}
+				}
+			}
+		}
+	}
+
+	private Direction referenceBestDir(Direction moveDir, Tile tile, Tile target) {
+		Function<Direction, Double> fnTargetDistance = dir -> world.neighbor(tile, dir).distance(target);
+		Function<Direction, Integer> fnDirectionPriority = PRIORITY::indexOf;
+		return Direction.dirs().filter(dir -> dir != moveDir.opposite())
+				.filter(dir -> pacMan.canMoveBetween(tile, world.neighbor(tile, dir)))
+				.sorted(Comparator.comparing(fnTargetDistance).thenComparing(fnDirectionPriority)).findFirst()
+				.orElse(pacMan.moveDir());
+	}
+
+	@Benchmark
+	public void bestDirTowardsTarget(Blackhole bh) {
+		for (Tile tile : tiles) {
+			for (Direction moveDir : Direction.values()) {
+				for (Tile target : targets) {
+					bh.consume(steering.bestDirTowardsTarget(moveDir, tile, target));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void bestDirTowardsTargetReference(Blackhole bh) {
+		for (Tile tile : tiles) {
+			for (Direction moveDir : Direction.values()) {
+				for (Tile target : targets) {
+					bh.consume(referenceBestDir(moveDir, tile, target));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package de.amr.games.pacman.benchmark;
+
+import static de.amr.games.pacman.model.world.api.Direction.LEFT;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.steering.pacman.SearchingForFoodAndAvoidingGhosts;
+import de.amr.games.pacman.model.game.Game;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+
+/**
+ * Measures a single decision of Pac-Man's demo mode steering. Pac-Man is placed at his start tile
+ * and all ghosts are placed in the maze, either chasing or frightened.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchingForFoodBenchmark {
+
+	@Param({ "CHASING", "FRIGHTENED" })
+	public GhostState ghostState;
+
+	private Folks folks;
+	private SearchingForFoodAndAvoidingGhosts steering;
+
+	@Setup
+	public void setup() {
+		ArcadeWorld world = new ArcadeWorld();
+		Game game = new Game(1, world.totalFoodCount());
+		folks = new Folks(world, world.house(0));
+		folks.getReadyToRumble(game);
+		folks.all().forEach(world::include);
+		folks.pacMan.placeAt(Tile.at(13, 26), 0, 0);
+		folks.pacMan.setMoveDir(LEFT);
+		Tile[] ghostTiles = { Tile.at(1, 4), Tile.at(26, 4), Tile.at(1, 32), Tile.at(26, 32) };
+		folks.ghosts().forEach(ghost -> ghost.setState(ghostState));
+		folks.blinky.placeAt(ghostTiles[0], 0, 0);
+		folks.pinky.placeAt(ghostTiles[1], 0, 0);
+		folks.inky.placeAt(ghostTiles[2], 0, 0);
+		folks.clyde.placeAt(ghostTiles[3], 0, 0);
+		steering = new SearchingForFoodAndAvoidingGhosts(folks);
+		if (!folks.pacMan.enteredNewTile()) {
+			throw new IllegalStateException("Pac-Man must have entered a new tile such that the steering is executed");
+		}
+	}
+
+	@Benchmark
+	public Tile steer() {
+		folks.pacMan.setMoveDir(LEFT);
+		steering.steer(folks.pacMan);
+		return folks.pacMan.wishDir() != null ? folks.pacMan.neighbor(folks.pacMan.wishDir()) : null;
+	}
+}
@@ -0,0 +1,54 @@
+package de.amr.games.pacman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.controller.game.SimulationEngine;
+import de.amr.games.pacman.controller.steering.common.RandomMovement;
+
+/**
+ * Measures a single tick of the headless game simulation (game controller, ghost command, door man,
+ * bonus control, all creatures). Pac-Man moves randomly, the random seed is fixed such that each
+ * iteration simulates the same sequence of games. When the game is over, a new game is started.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationTickBenchmark {
+
+	private static final long SEED = 42;
+
+	private SimulationEngine engine;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		engine = new SimulationEngine(folks -> new RandomMovement<>(folks.rnd));
+		engine.setRandomSeed(SEED);
+		engine.init();
+	}
+
+	@Benchmark
+	public long tick() {
+		if (engine.isGameOver()) {
+			engine.init();
+		}
+		engine.update();
+		return engine.ticks();
+	}
+}
@@ -0,0 +1,98 @@
+package de.amr.games.pacman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * Measures tile creation, equality and hashing over the extent of the Arcade world.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileBenchmark {
+
+	private static final int COLS = 28, ROWS = 36;
+
+	private static final int OUTSIDE = 1000;
+
+	private Tile[] tiles;
+	private Tile[] copies;
+	private Tile[] outsideTiles;
+	private Tile[] outsideCopies;
+
+	@Setup
+	public void setup() {
+		tiles = new Tile[COLS * ROWS];
+		copies = new Tile[COLS * ROWS];
+		outsideTiles = new Tile[COLS * ROWS];
+		outsideCopies = new Tile[COLS * ROWS];
+		for (int row = 0; row < ROWS; ++row) {
+			for (int col = 0; col < COLS; ++col) {
+				tiles[row * COLS + col] = Tile.at(col, row);
+				copies[row * COLS + col] = Tile.at(col, row);
+				// tiles outside of the cache are distinct instances, equality must compare coordinates
+				outsideTiles[row * COLS + col] = Tile.at(col + OUTSIDE, row + OUTSIDE);
+				outsideCopies[row * COLS + col] = Tile.at(col + OUTSIDE, row + OUTSIDE);
+			}
+		}
+	}
+
+	@Benchmark
+	public void create(Blackhole bh) {
+		for (int row = 0; row < ROWS; ++row) {
+			for (int col = 0; col < COLS; ++col) {
+				bh.consume(Tile.at(col, row));
+			}
+		}
+	}
+
+	@Benchmark
+	public void createOutsideOfCache(Blackhole bh) {
+		for (int row = 0; row < ROWS; ++row) {
+			for (int col = 0; col < COLS; ++col) {
+				bh.consume(Tile.at(col + OUTSIDE, row + OUTSIDE));
+			}
+		}
+	}
+
+	@Benchmark
+	public void equals(Blackhole bh) {
+		for (int i = 0; i < tiles.length; ++i) {
+			bh.consume(tiles[i].equals(copies[i]));
+			bh.consume(tiles[i].equals(copies[copies.length - 1 - i]));
+		}
+	}
+
+	@Benchmark
+	public void equalsOutsideOfCache(Blackhole bh) {
+		for (int i = 0; i < outsideTiles.length; ++i) {
+			bh.consume(outsideTiles[i].equals(outsideCopies[i]));
+			bh.consume(outsideTiles[i].equals(outsideCopies[outsideCopies.length - 1 - i]));
+		}
+	}
+
+	@Benchmark
+	public void hashCode(Blackhole bh) {
+		for (Tile tile : tiles) {
+			bh.consume(tile.hashCode());
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package de.amr.games.pacman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
+
+/**
+ * Measures shortest path computations in the Arcade world for each of the available path finders.
+ * Each benchmark method computes the paths between all pairs of a fixed set of tiles (corners of the
+ * maze, Pac-Man's start tile, tiles next to the ghost house and tiles near the portals).
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldGraphBenchmark {
+
+	@Param({ "ASTAR", "BEST_FIRST_SEARCH", "BREADTH_FIRST_SEARCH", "INTERSECTION_GRAPH" })
+	public PathFinder pathFinder;
+
+	private WorldGraph graph;
+	private Tile[] tiles;
+
+	@Setup
+	public void setup() {
+		ArcadeWorld world = new ArcadeWorld();
+		graph = new WorldGraph(world);
+		graph.setPathFinder(pathFinder);
+		tiles = new Tile[] { Tile.at(1, 4), Tile.at(26, 4), Tile.at(1, 32), Tile.at(26, 32), Tile.at(13, 26),
+				Tile.at(13, 14), Tile.at(6, 17), Tile.at(21, 17) };
+		for (Tile tile : tiles) {
+			if (!world.isAccessible(tile)) {
+				throw new IllegalStateException("Tile is not accessible: " + tile);
+			}
+		}
+	}
+
+	@Benchmark
+	public void shortestPath(Blackhole bh) {
+		for (Tile source : tiles) {
+			for (Tile target : tiles) {
+				bh.consume(graph.shortestPath(source, target));
+			}
+		}
+	}
+
+	@Benchmark
+	public void shortestPathIndices(Blackhole bh) {
+		for (Tile source : tiles) {
+			for (Tile target : tiles) {
+				bh.consume(graph.shortestPathIndices(source, target));
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package de.amr.games.pacman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.arcade.Pellet;
+
+/**
+ * Measures the basic world queries used by the creatures in every tick. Each benchmark method
+ * queries all tiles of the Arcade world once.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldQueriesBenchmark {
+
+	private ArcadeWorld world;
+	private Tile[] tiles;
+
+	@Setup
+	public void setup() {
+		world = new ArcadeWorld();
+		tiles = world.tiles().toArray(Tile[]::new);
+	}
+
+	@Benchmark
+	public void isAccessible(Blackhole bh) {
+		for (Tile tile : tiles) {
+			bh.consume(world.isAccessible(tile));
+		}
+	}
+
+	@Benchmark
+	public void tileToDir(Blackhole bh) {
+		for (Tile tile : tiles) {
+			for (Direction dir : Direction.values()) {
+				bh.consume(world.tileToDir(tile, dir, 1));
+			}
+		}
+	}
+
+	@Benchmark
+	public void hasFood(Blackhole bh) {
+		for (Tile tile : tiles) {
+			bh.consume(world.hasFood(tile));
+		}
+	}
+
+	@Benchmark
+	public void hasEnergizer(Blackhole bh) {
+		for (Tile tile : tiles) {
+			bh.consume(world.hasFood(Pellet.ENERGIZER, tile));
+		}
+	}
+
+	@Benchmark
+	public void foodAt(Blackhole bh) {
+		for (Tile tile : tiles) {
+			bh.consume(world.foodAt(tile));
+		}
+	}
+}
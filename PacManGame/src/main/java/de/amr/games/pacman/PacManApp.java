@@ -8,7 +8,9 @@ import de.amr.easy.game.Application;
 import de.amr.easy.game.config.AppSettings;
 import de.amr.games.pacman.controller.game.GameController;
 import de.amr.games.pacman.view.Localized;
+import de.amr.games.pacman.view.api.PacManSounds;
 import de.amr.games.pacman.view.api.Theme;
+import de.amr.games.pacman.view.common.TextImageCache;
 import de.amr.games.pacman.view.theme.Themes;
 
 /**
@@ -43,7 +45,10 @@ public class PacManApp extends Application {
 		@Parameter(names = { "-pacManImmortable" }, description = "Pac-Man stays alive when killed by ghost")
 		public boolean pacManImmortable = false;
 
-		@Parameter(names = { "-pathFinder" }, description = "Used path finding algorithm (astar, bfs, bestfs)")
+		@Parameter(names = { "-nativeResolution" }, description = "Views are drawn at native resolution and scaled in one step")
+		public boolean nativeResolution = false;
+
+		@Parameter(names = { "-pathFinder" }, description = "Used path finding algorithm (astar, bfs, bestfs, intersections)")
 		public String pathFinder = "astar";
 
 		@Parameter(names = { "-skipIntro" }, description = "Game starts without intro screen")
@@ -75,6 +80,7 @@ public class PacManApp extends Application {
 		settings.printValue("Ghosts flee into corner", "%s", settings.ghostsSafeCorner);
 		settings.printValue("Fix Overflow Bug", "%s", settings.fixOverflowBug);
 		settings.printValue("Pac-Man immortable", "%s", settings.pacManImmortable);
+		settings.printValue("Native resolution", "%s", settings.nativeResolution);
 		settings.printValue("Pathfinder", "%s", settings.pathFinder);
 		settings.printValue("Skip Intro", "%s", settings.skipIntro);
 		settings.printValue("Startlevel", "%d", settings.startLevel);
@@ -85,6 +91,21 @@ public class PacManApp extends Application {
 	@Override
 	public void init() {
 		setIcon("/images/pacman-icon.png");
-		setController(new GameController(Themes.all().toArray(Theme[]::new)));
+		installController(new GameController(Themes.all().toArray(Theme[]::new)));
+	}
+
+	/**
+	 * Makes the given game controller the controller of this application. Scales the text cache to the
+	 * display and saves the highscore and closes the sounds when the application is closed.
+	 * 
+	 * @param gameController the game controller
+	 */
+	protected void installController(GameController gameController) {
+		TextImageCache.SHARED.setScale(settings.nativeResolution ? 1 : Math.max(1, (int) Math.round(settings.scale)));
+		onClose(() -> {
+			gameController.game().ifPresent(game -> game.hiscore.save());
+			Themes.all().map(Theme::sounds).distinct().forEach(PacManSounds::close);
+		});
+		setController(gameController);
 	}
 }
\ No newline at end of file
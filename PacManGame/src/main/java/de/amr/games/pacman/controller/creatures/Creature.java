@@ -18,6 +18,7 @@ import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.MobileLifeform;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.model.world.core.MovementPermissions;
 import de.amr.games.pacman.view.api.Theme;
 import de.amr.games.pacman.view.api.Themeable;
 import de.amr.statemachine.core.StateMachine;
@@ -27,6 +28,10 @@ import de.amr.statemachine.core.StateMachine;
  * make decisions changing its behavior.
  * <p>
  * The physical size is one tile, however the visual appearance may be larger.
+ * <p>
+ * The tile location and the tile offsets are cached and only recomputed when the position or size
+ * stored in the transform has changed since the last query. This covers all ways of changing the
+ * position (placing, moving, teleporting, direct assignment of the transform fields).
  * 
  * @param <M> subtype of mobile lifeform
  * @param <S> state (identifier) type
@@ -47,6 +52,12 @@ public abstract class Creature<M extends MobileLifeform, S> extends StateMachine
 	protected Direction wishDir;
 	protected Theme theme;
 
+	private float cachedX = Float.NaN, cachedY = Float.NaN;
+	private int cachedWidth, cachedHeight;
+	private Tile cachedTileLocation;
+	private float cachedTileOffsetX, cachedTileOffsetY;
+	private MovementPermissions movementPermissions;
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public Creature(Class<S> stateClass, String name, World world) {
 		super(stateClass);
@@ -64,6 +75,16 @@ public abstract class Creature<M extends MobileLifeform, S> extends StateMachine
 		return world;
 	}
 
+	/**
+	 * @return the movement permissions of the world, refreshed when the world layout has changed
+	 */
+	protected MovementPermissions movementPermissions() {
+		if (movementPermissions == null || movementPermissions.isOutdated()) {
+			movementPermissions = MovementPermissions.of(world);
+		}
+		return movementPermissions;
+	}
+
 	public void setEnabled(boolean enabled) {
 		this.enabled = enabled;
 	}
@@ -170,6 +191,37 @@ public abstract class Creature<M extends MobileLifeform, S> extends StateMachine
 		return entity.tf;
 	}
 
+	private void updateTileLocation() {
+		Transform tf = entity.tf;
+		if (tf.x != cachedX || tf.y != cachedY || tf.width != cachedWidth || tf.height != cachedHeight) {
+			cachedX = tf.x;
+			cachedY = tf.y;
+			cachedWidth = tf.width;
+			cachedHeight = tf.height;
+			cachedTileLocation = MobileLifeform.super.tileLocation();
+			cachedTileOffsetX = tf.x - cachedTileLocation.x() + Tile.SIZE / 2;
+			cachedTileOffsetY = tf.y - cachedTileLocation.y() + Tile.SIZE / 2;
+		}
+	}
+
+	@Override
+	public Tile tileLocation() {
+		updateTileLocation();
+		return cachedTileLocation;
+	}
+
+	@Override
+	public float tileOffsetX() {
+		updateTileLocation();
+		return cachedTileOffsetX;
+	}
+
+	@Override
+	public float tileOffsetY() {
+		updateTileLocation();
+		return cachedTileOffsetY;
+	}
+
 	@Override
 	public void placeAt(Tile tile, float xOffset, float yOffset) {
 		movement.placeAt(tile, xOffset, yOffset);
@@ -206,8 +258,7 @@ public abstract class Creature<M extends MobileLifeform, S> extends StateMachine
 
 	@Override
 	public boolean canCrossBorderTo(Direction dir) {
-		Tile currentTile = tileLocation(), neighbor = world().neighbor(currentTile, dir);
-		return canMoveBetween(currentTile, neighbor);
+		return canMoveTowards(tileLocation(), dir);
 	}
 
 	@Override
@@ -13,8 +13,10 @@ import static java.awt.event.KeyEvent.VK_LEFT;
 import static java.awt.event.KeyEvent.VK_RIGHT;
 import static java.awt.event.KeyEvent.VK_UP;
 
+import java.util.Random;
 import java.util.stream.Stream;
 
+import de.amr.games.pacman.PacManApp;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
@@ -32,12 +34,37 @@ import de.amr.games.pacman.model.world.components.House;
 public class Folks {
 
 	public final World world;
+	public final Random rnd;
 	public final PacMan pacMan;
 	public final Ghost blinky, pinky, inky, clyde;
 
 	public Folks(World world, House ghostHouse) {
+		this(world, ghostHouse, new Random());
+	}
+
+	/**
+	 * Creates the folks using the given random source for their random decisions.
+	 * 
+	 * @param world      the world where the folks live
+	 * @param ghostHouse the ghost house
+	 * @param rnd        random source
+	 */
+	public Folks(World world, House ghostHouse, Random rnd) {
+		this(world, ghostHouse, rnd, PacManApp.settings);
+	}
+
+	/**
+	 * Creates the folks using the given random source and game settings.
+	 * 
+	 * @param world      the world where the folks live
+	 * @param ghostHouse the ghost house
+	 * @param rnd        random source
+	 * @param settings   game settings
+	 */
+	public Folks(World world, House ghostHouse, Random rnd, PacManApp.Settings settings) {
 		this.world = world;
-		pacMan = new PacMan(world);
+		this.rnd = rnd;
+		pacMan = new PacMan(world, settings);
 		blinky = new Ghost("Blinky", GhostPersonality.SHADOW, world);
 		inky = new Ghost("Inky", GhostPersonality.BASHFUL, world);
 		pinky = new Ghost("Pinky", GhostPersonality.SPEEDY, world);
@@ -61,7 +88,7 @@ public class Folks {
 			you(ghost).when(LOCKED).bounceOnBed().ok();
 			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).ok();
 			you(ghost).when(LEAVING_HOUSE).leaveHouse().house(ghostHouse).ok();
-			you(ghost).when(FRIGHTENED).moveRandomly().ok();
+			you(ghost).when(FRIGHTENED).moveRandomly().random(rnd).ok();
 			you(ghost).when(DEAD).headFor().tile(houseEntry).ok();
 		});
 
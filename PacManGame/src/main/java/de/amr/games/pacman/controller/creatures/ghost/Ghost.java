@@ -28,7 +28,7 @@ import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
 import de.amr.games.pacman.model.world.components.Bed;
 import de.amr.games.pacman.model.world.components.House;
-import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.core.MovementPermissions.MovementClass;
 import de.amr.statemachine.core.StateMachine;
 
 /**
@@ -314,20 +314,35 @@ public class Ghost extends Creature<Ghost, GhostState> {
 		return getState() == LEAVING_HOUSE && house.isEntry(location) && entity.tf.y == location.row * Tile.SIZE;
 	}
 
-	@Override
-	public boolean canMoveBetween(Tile tile, Tile neighbor) {
-		if (house.isDoor(neighbor)) {
-			return is(ENTERING_HOUSE, LEAVING_HOUSE);
+	private MovementClass movementClass() {
+		GhostState state = getState();
+		if (state == null) {
+			return MovementClass.GHOST_LOCKED;
 		}
-		Optional<OneWayTile> maybeOneWay = world.oneWayTiles().filter(oneWay -> oneWay.tile.equals(neighbor)).findFirst();
-		if (maybeOneWay.isPresent()) {
-			OneWayTile oneWay = maybeOneWay.get();
-			Direction toNeighbor = tile.dirTo(neighbor).get();
-			if (toNeighbor.equals(oneWay.dir.opposite()) && is(CHASING, SCATTERING)) {
-				return false;
-			}
+		switch (state) {
+		case CHASING:
+		case SCATTERING:
+			return MovementClass.GHOST_CHASING_OR_SCATTERING;
+		case ENTERING_HOUSE:
+		case LEAVING_HOUSE:
+			return MovementClass.GHOST_ENTERING_OR_LEAVING_HOUSE;
+		case FRIGHTENED:
+			return MovementClass.GHOST_FRIGHTENED;
+		case DEAD:
+			return MovementClass.GHOST_DEAD;
+		default:
+			return MovementClass.GHOST_LOCKED;
 		}
-		return super.canMoveBetween(tile, neighbor);
+	}
+
+	@Override
+	public boolean canMoveBetween(Tile tile, Tile neighbor) {
+		return movementPermissions().canMoveBetween(movementClass(), house, tile, neighbor);
+	}
+
+	@Override
+	public boolean canMoveTowards(Tile tile, Direction dir) {
+		return movementPermissions().canMove(movementClass(), house, tile, dir);
 	}
 
 	public void move() {
@@ -1,6 +1,5 @@
 package de.amr.games.pacman.controller.creatures.pacman;
 
-import static de.amr.games.pacman.PacManApp.settings;
 import static de.amr.games.pacman.controller.creatures.pacman.PacManState.AWAKE;
 import static de.amr.games.pacman.controller.creatures.pacman.PacManState.COLLAPSING;
 import static de.amr.games.pacman.controller.creatures.pacman.PacManState.DEAD;
@@ -27,10 +26,12 @@ import de.amr.games.pacman.controller.event.PacManWakeUpEvent;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.model.game.Game;
 import de.amr.games.pacman.model.world.api.BonusFood;
+import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
 import de.amr.games.pacman.model.world.arcade.Pellet;
 import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.core.MovementPermissions.MovementClass;
 
 /**
  * The one and only.
@@ -39,10 +40,20 @@ import de.amr.games.pacman.model.world.components.Bed;
  */
 public class PacMan extends Creature<PacMan, PacManState> {
 
+	private final PacManApp.Settings settings;
 	private int foodWeight;
 
 	public PacMan(World world) {
+		this(world, PacManApp.settings);
+	}
+
+	/**
+	 * @param world    the world where Pac-Man lives
+	 * @param settings the settings of the game Pac-Man takes part in
+	 */
+	public PacMan(World world, PacManApp.Settings settings) {
 		super(PacManState.class, "Pac-Man", world);
+		this.settings = settings;
 		/*@formatter:off*/
 		beginStateMachine()
 
@@ -203,10 +214,12 @@ public class PacMan extends Creature<PacMan, PacManState> {
 
 	@Override
 	public boolean canMoveBetween(Tile tile, Tile neighbor) {
-		if (world.houses().anyMatch(house -> house.isDoor(neighbor))) {
-			return false;
-		}
-		return super.canMoveBetween(tile, neighbor);
+		return movementPermissions().canMoveBetween(MovementClass.PAC_MAN, null, tile, neighbor);
+	}
+
+	@Override
+	public boolean canMoveTowards(Tile tile, Direction dir) {
+		return movementPermissions().canMove(MovementClass.PAC_MAN, null, tile, dir);
 	}
 
 	/**
@@ -6,8 +6,6 @@ import static de.amr.games.pacman.model.world.api.BonusFoodState.ABSENT;
 import static de.amr.games.pacman.model.world.api.BonusFoodState.CONSUMED;
 import static de.amr.games.pacman.model.world.api.BonusFoodState.PRESENT;
 
-import java.util.Random;
-
 import de.amr.games.pacman.controller.event.BonusFoundEvent;
 import de.amr.games.pacman.controller.event.PacManGameEvent;
 import de.amr.games.pacman.model.game.Game;
@@ -36,7 +34,7 @@ public class BonusControl extends StateMachine<BonusFoodState, PacManGameEvent>
 					.onEntry(world::clearBonusFood)
 			
 				.state(PRESENT)
-					.timeoutAfter(() -> sec(Game.BONUS_SECONDS + new Random().nextFloat()))
+					.timeoutAfter(() -> sec(Game.BONUS_SECONDS + game.rnd.nextFloat()))
 					.onEntry(() -> {
 							ArcadeBonus bonus = new ArcadeBonus(game.level.bonusSymbol);
 							bonus.setValue(game.level.bonusValue);
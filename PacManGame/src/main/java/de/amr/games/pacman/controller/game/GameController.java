@@ -2,7 +2,6 @@ package de.amr.games.pacman.controller.game;
 
 import static de.amr.easy.game.Application.app;
 import static de.amr.easy.game.Application.loginfo;
-import static de.amr.games.pacman.PacManApp.settings;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
 import static de.amr.games.pacman.controller.game.PacManGameState.CHANGING_LEVEL;
 import static de.amr.games.pacman.controller.game.PacManGameState.GAME_OVER;
@@ -21,11 +20,10 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.stream.IntStream;
 
-import de.amr.easy.game.Application;
-import de.amr.easy.game.assets.SoundClip;
 import de.amr.easy.game.input.Keyboard;
 import de.amr.easy.game.view.View;
 import de.amr.easy.game.view.VisualController;
+import de.amr.games.pacman.PacManApp;
 import de.amr.games.pacman.controller.creatures.Creature;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
@@ -42,6 +40,7 @@ import de.amr.games.pacman.controller.event.PacManKilledEvent;
 import de.amr.games.pacman.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacman.controller.ghosthouse.DoorMan;
 import de.amr.games.pacman.model.game.Game;
+import de.amr.games.pacman.model.game.Hiscore;
 import de.amr.games.pacman.model.world.api.BonusFoodState;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
@@ -51,8 +50,11 @@ import de.amr.games.pacman.model.world.arcade.Pellet;
 import de.amr.games.pacman.model.world.components.Bed;
 import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.view.api.PacManGameView;
+import de.amr.games.pacman.view.api.PacManSounds;
+import de.amr.games.pacman.view.api.Sound;
 import de.amr.games.pacman.view.api.Theme;
 import de.amr.games.pacman.view.api.Themeable;
+import de.amr.games.pacman.view.core.FramebufferView;
 import de.amr.games.pacman.view.intro.IntroView;
 import de.amr.games.pacman.view.loading.MusicLoadingView;
 import de.amr.games.pacman.view.play.PlayView;
@@ -84,6 +86,9 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		return fraction * BASE_SPEED;
 	}
 
+	// settings of this game, by default the application settings
+	protected final PacManApp.Settings settings;
+
 	// model
 	protected Game game;
 	protected World world;
@@ -94,9 +99,12 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	protected int currentThemeIndex = 0;
 	protected PacManGameView currentView;
 	protected PlayView playView;
+	protected FramebufferView framebufferView;
 	protected SoundState sound = new SoundState();
 
 	// controller
+	protected final Random rnd = new Random();
+	protected Long seed;
 	protected Folks folks;
 	protected GhostCommand ghostCommand;
 	protected DoorMan doorMan;
@@ -108,13 +116,24 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	 * @param supportedThemes supported themes
 	 */
 	public GameController(Theme... supportedThemes) {
+		this(PacManApp.settings, LOADING_MUSIC, supportedThemes);
+	}
+
+	/**
+	 * Creates a new game controller starting in the given state. A controller without themes runs
+	 * without sound.
+	 * 
+	 * @param settings        settings used by this game controller
+	 * @param initialState    initial state of the controller
+	 * @param supportedThemes supported themes, may be empty
+	 */
+	protected GameController(PacManApp.Settings settings, PacManGameState initialState, Theme... supportedThemes) {
 		super(PacManGameState.class);
+		this.settings = settings;
 
 		themes = supportedThemes;
 		currentThemeIndex = 0;
-		theme = themes[currentThemeIndex];
-
-		Application.app().onClose(() -> game().ifPresent(game -> game.hiscore.save()));
+		theme = themes.length > 0 ? themes[currentThemeIndex] : null;
 
 		setMissingTransitionBehavior(MissingTransitionBehavior.LOG);
 		doNotLogEventProcessingIf(e -> e instanceof FoodFoundEvent);
@@ -122,7 +141,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		beginStateMachine()
 			
 			.description("Game Controller")
-			.initialState(LOADING_MUSIC)
+			.initialState(initialState)
 			
 			.states()
 			
@@ -164,8 +183,10 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 						}
 						world.setFrozen(true);
 						folks.blinky.getMadnessController().pacManDies();
-						theme.sounds().stopMusic(theme.sounds().musicGameRunning());
-						theme.sounds().clips().forEach(SoundClip::stop);
+						sounds().ifPresent(sounds -> {
+							sounds.stopMusic(sounds.musicGameRunning());
+							sounds.clips().forEach(Sound::stop);
+						});
 					})
 					.onTick((state, passed, remaining) -> {
 						if (passed == sec(2)) {
@@ -187,29 +208,31 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 							Bed bed = world.house(0).bed(0);
 							ghost.init();
 							ghost.placeAt(Tile.at(bed.col(), bed.row()), Tile.SIZE / 2, 0);
-							ghost.setWishDir(new Random().nextBoolean() ? Direction.LEFT : Direction.RIGHT);
-							ghost.setState(new Random().nextBoolean() ? GhostState.SCATTERING : GhostState.FRIGHTENED);
+							ghost.setWishDir(rnd.nextBoolean() ? Direction.LEFT : Direction.RIGHT);
+							ghost.setState(rnd.nextBoolean() ? GhostState.SCATTERING : GhostState.FRIGHTENED);
 						});
 						playView.showMessage(2, "Game Over!", Color.RED);
-						theme.sounds().stopAll();
-						theme.sounds().playMusic(theme.sounds().musicGameOver());
+						sounds().ifPresent(sounds -> {
+							sounds.stopAll();
+							sounds.playMusic(sounds.musicGameOver());
+						});
 					})
 					.onTick(() -> {
 						folks.ghostsInWorld().forEach(Ghost::move);
 					})
 					.onExit(() -> {
 						playView.clearMessage(2);
-						theme.sounds().stopMusic(theme.sounds().musicGameOver());
+						sounds().ifPresent(sounds -> sounds.stopMusic(sounds.musicGameOver()));
 					})
 	
 			.transitions()
 			
 				.when(LOADING_MUSIC).then(GETTING_READY)
-					.condition(() -> theme.sounds().isMusicLoaded()	&& settings.skipIntro)
+					.condition(() -> isMusicLoaded() && settings.skipIntro)
 					.annotation("Music loaded, skipping intro")
 					
 				.when(LOADING_MUSIC).then(INTRO)
-					.condition(() -> theme.sounds().isMusicLoaded())
+					.condition(() -> isMusicLoaded())
 					.annotation("Music loaded")
 
 				.when(INTRO).then(GETTING_READY)
@@ -270,7 +293,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					.annotation("New game requested by user")
 					
 				.when(GAME_OVER).then(INTRO)
-					.condition(() -> !theme.sounds().isMusicRunning(theme.sounds().musicGameOver()))
+					.condition(() -> !sounds().map(sounds -> sounds.isMusicRunning(sounds.musicGameOver())).orElse(false))
 					.annotation("Game over music finished")
 							
 		.endStateMachine();
@@ -301,7 +324,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			currentView = playView = createPlayView();
 			playView.init();
 			playView.showMessage(2, "Ready!", Color.YELLOW);
-			theme.sounds().playMusic(theme.sounds().musicGameReady());
+			sounds().ifPresent(sounds -> sounds.playMusic(sounds.musicGameReady()));
 		}
 
 		@Override
@@ -324,7 +347,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 		@Override
 		public void onEntry() {
-			theme.sounds().musicGameRunning().ifPresent(music -> {
+			sounds().flatMap(PacManSounds::musicGameRunning).ifPresent(music -> {
 				music.setVolume(0.4f);
 				music.loop();
 			});
@@ -350,8 +373,10 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 		@Override
 		public void onExit() {
-			theme.sounds().clips().forEach(SoundClip::stop);
-			theme.sounds().stopMusic(theme.sounds().musicGameRunning());
+			sounds().ifPresent(sounds -> {
+				sounds.clips().forEach(Sound::stop);
+				sounds.stopMusic(sounds.musicGameRunning());
+			});
 			sound.chasingGhosts = false;
 			sound.deadGhosts = false;
 		}
@@ -448,8 +473,8 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			folks.pacMan.fallAsleep();
 			doorMan.onLevelChange();
 			folks.ghosts().forEach(ghost -> ghost.setEnabled(false));
-			theme.sounds().clips().forEach(SoundClip::stop);
-			flashingEnd = flashingStart + game.level.numFlashes * sec(theme.$float("maze-flash-sec"));
+			sounds().ifPresent(sounds -> sounds.clips().forEach(Sound::stop));
+			flashingEnd = flashingStart + game.level.numFlashes * sec(mazeFlashingSeconds());
 			complete = false;
 		}
 
@@ -487,9 +512,11 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	@Override
 	public void init() {
 		loginfo("Initializing game controller");
-		selectTheme(settings.theme);
+		if (themes.length > 0) {
+			selectTheme(settings.theme);
+		}
 		world = new ArcadeWorld();
-		folks = new Folks(world, world.house(0));
+		folks = new Folks(world, world.house(0), rnd, settings);
 		folks.all().forEach(world::include);
 		folks.pacMan.addEventListener(this::process);
 		folks.ghosts().forEach(ghost -> ghost.addEventListener(this::process));
@@ -499,13 +526,21 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	@Override
 	public void update() {
 		handleInput();
-		super.update();
+		updateGameState();
 		currentView.update();
 		if (currentView == playView) {
-			renderPlayViewSound();
+			sounds().ifPresent(this::renderPlayViewSound);
 		}
 	}
 
+	/**
+	 * Advances the game state by one tick without handling user input, updating the view or playing
+	 * sounds.
+	 */
+	protected void updateGameState() {
+		super.update();
+	}
+
 	private void handleInput() {
 		if (Keyboard.keyPressedOnce("1") || Keyboard.keyPressedOnce(KeyEvent.VK_NUMPAD1)) {
 			changeClockFrequency(60);
@@ -520,53 +555,63 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		}
 	}
 
-	private void renderPlayViewSound() {
+	private void renderPlayViewSound(PacManSounds sounds) {
 		// Pac-Man
 		long starvingMillis = System.currentTimeMillis() - sound.lastMealAt;
 		if (starvingMillis > 300) {
-			theme.sounds().clipCrunching().stop();
-		} else if (!theme.sounds().clipCrunching().isRunning()) {
-			theme.sounds().clipCrunching().loop();
+			sounds.clipCrunching().stop();
+		} else if (!sounds.clipCrunching().isRunning()) {
+			sounds.clipCrunching().loop();
 		}
 		if (!folks.pacMan.is(PacManState.POWERFUL)) {
-			theme.sounds().clipWaza().stop();
-		} else if (!theme.sounds().clipWaza().isRunning()) {
-			theme.sounds().clipWaza().loop();
+			sounds.clipWaza().stop();
+		} else if (!sounds.clipWaza().isRunning()) {
+			sounds.clipWaza().loop();
 		}
 		if (sound.pacManDied) {
-			theme.sounds().clipPacManDies().play();
+			sounds.clipPacManDies().play();
 			sound.pacManDied = false;
 		}
 		if (sound.bonusEaten) {
-			theme.sounds().clipEatFruit().play();
+			sounds.clipEatFruit().play();
 			sound.bonusEaten = false;
 		}
 		if (sound.gotExtraLife) {
-			theme.sounds().clipExtraLife().play();
+			sounds.clipExtraLife().play();
 			sound.gotExtraLife = false;
 		}
 
 		// Ghosts
 		if (!sound.chasingGhosts) {
-			theme.sounds().clipGhostChase().stop();
-		} else if (!theme.sounds().clipGhostChase().isRunning()) {
-			theme.sounds().clipGhostChase().setVolume(0.5f);
-			theme.sounds().clipGhostChase().loop();
+			sounds.clipGhostChase().stop();
+		} else if (!sounds.clipGhostChase().isRunning()) {
+			sounds.clipGhostChase().setVolume(0.5f);
+			sounds.clipGhostChase().loop();
 		}
 		if (!sound.deadGhosts) {
-			theme.sounds().clipGhostDead().stop();
-		} else if (!theme.sounds().clipGhostDead().isRunning()) {
-			theme.sounds().clipGhostDead().loop();
+			sounds.clipGhostDead().stop();
+		} else if (!sounds.clipGhostDead().isRunning()) {
+			sounds.clipGhostDead().loop();
 		}
 		if (sound.ghostEaten) {
-			theme.sounds().clipEatGhost().play();
+			sounds.clipEatGhost().play();
 			sound.ghostEaten = false;
 		}
 	}
 
+	/**
+	 * @return the highscore of a new game, by default stored in the user's home directory
+	 */
+	protected Hiscore createHiscore() {
+		return new Hiscore();
+	}
+
 	protected void newGame() {
+		if (seed != null) {
+			rnd.setSeed(seed);
+		}
 		world.fillFood();
-		game = new Game(settings.startLevel, world.totalFoodCount());
+		game = new Game(settings.startLevel, world.totalFoodCount(), rnd, createHiscore());
 		ghostCommand = new GhostCommand(game, folks);
 		bonusControl = new BonusControl(game, world);
 		doorMan = new DoorMan(world, world.house(0), game, folks);
@@ -574,6 +619,39 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		folks.getReadyToRumble(game);
 	}
 
+	/**
+	 * Sets the seed of the random source used by the game, the ghosts and their steerings. Each new
+	 * game restarts the random source with this seed such that a game can be reproduced from the seed
+	 * and the user input.
+	 * 
+	 * @param seed random seed or {@code null} for non-reproducible games
+	 */
+	public void setRandomSeed(Long seed) {
+		this.seed = seed;
+	}
+
+	public Optional<Long> getRandomSeed() {
+		return Optional.ofNullable(seed);
+	}
+
+	/**
+	 * @return the sounds of the current theme or nothing if this controller runs without themes
+	 */
+	protected Optional<PacManSounds> sounds() {
+		return Optional.ofNullable(theme).map(Theme::sounds);
+	}
+
+	private boolean isMusicLoaded() {
+		return sounds().map(PacManSounds::isMusicLoaded).orElse(true);
+	}
+
+	/**
+	 * @return duration (seconds) of a single maze flashing when the level is changing
+	 */
+	protected float mazeFlashingSeconds() {
+		return theme.$float("maze-flash-sec");
+	}
+
 	protected MusicLoadingView createMusicLoadingView() {
 		return new MusicLoadingView(theme);
 	}
@@ -619,7 +697,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 	@Override
 	public Theme getTheme() {
-		return themes[currentThemeIndex];
+		return theme;
 	}
 
 	public World world() {
@@ -644,6 +722,13 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 	@Override
 	public Optional<View> currentView() {
+		if (currentView != null && settings.nativeResolution) {
+			if (framebufferView == null) {
+				framebufferView = new FramebufferView(settings.width, settings.height);
+			}
+			framebufferView.setContent(currentView);
+			return Optional.of(framebufferView);
+		}
 		return Optional.ofNullable(currentView);
 	}
 
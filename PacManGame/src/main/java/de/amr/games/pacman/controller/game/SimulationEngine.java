@@ -0,0 +1,174 @@
+package de.amr.games.pacman.controller.game;
+
+import static de.amr.easy.game.Application.loginfo;
+import static de.amr.games.pacman.controller.game.PacManGameState.GAME_OVER;
+import static de.amr.games.pacman.controller.game.PacManGameState.GETTING_READY;
+import static de.amr.games.pacman.controller.game.PacManGameState.PACMAN_DYING;
+import static de.amr.games.pacman.model.game.Game.sec;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import de.amr.games.pacman.PacManApp;
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.steering.api.Steering;
+import de.amr.games.pacman.controller.steering.common.RandomMovement;
+import de.amr.games.pacman.model.game.Game;
+import de.amr.games.pacman.model.game.Hiscore;
+import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.view.api.Theme;
+import de.amr.games.pacman.view.play.PlayView;
+
+/**
+ * Headless game controller running the game logic without views, sound and user input.
+ * <p>
+ * The simulation uses the same state machines as the windowed game (game controller, ghost command,
+ * door man, bonus control, creatures and their movements) but is not driven by the application
+ * clock. Instead, {@link #run(long)} advances the game tick by tick in a tight loop until the game
+ * is over. Pac-Man is steered by the steering passed to the constructor.
+ * <p>
+ * If a random seed is set (see {@link #setRandomSeed(Long)}), each simulated game is fully
+ * reproducible.
+ * <p>
+ * Each simulation uses its own settings and does not access the application instance, so several
+ * simulations can run in parallel threads (see {@code BatchRunner} in the enhanced game).
+ *
+ * @author Armin Reichert
+ */
+public class SimulationEngine extends GameController {
+
+	public static void main(String[] args) {
+		SimulationEngine engine = new SimulationEngine(folks -> new RandomMovement<>(folks.rnd));
+		if (args.length > 0) {
+			engine.setRandomSeed(Long.parseLong(args[0]));
+		}
+		engine.init();
+		long start = System.nanoTime();
+		long ticks = engine.run(Long.MAX_VALUE);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		loginfo("Simulated %d ticks in %.2f sec (%.0f times real time), score %d, level %d", ticks, seconds,
+				ticks / (sec(1) * seconds), engine.game.score, engine.game.level.number);
+	}
+
+	/**
+	 * Play view without any visual representation. Keeps the messages so that the game logic does not
+	 * need to know if it is running headless or not.
+	 */
+	private static class HeadlessPlayView extends PlayView {
+
+		public HeadlessPlayView(World world, Folks folks, Game game) {
+			super(world, null, folks, game);
+		}
+
+		@Override
+		public void setTheme(Theme theme) {
+		}
+	}
+
+	private final Function<Folks, Steering<PacMan>> fnPacManSteering;
+	private float mazeFlashingSeconds = 0.4f;
+	private long ticks;
+	private int deaths;
+
+	/**
+	 * Creates a headless simulation using default settings.
+	 *
+	 * @param fnPacManSteering function creating Pac-Man's steering for the folks of the simulated game
+	 */
+	public SimulationEngine(Function<Folks, Steering<PacMan>> fnPacManSteering) {
+		this(new PacManApp.Settings(), fnPacManSteering);
+	}
+
+	/**
+	 * Creates a headless simulation.
+	 *
+	 * @param settings         settings of the simulated game (start level, harmless ghosts etc.)
+	 * @param fnPacManSteering function creating Pac-Man's steering for the folks of the simulated game
+	 */
+	public SimulationEngine(PacManApp.Settings settings, Function<Folks, Steering<PacMan>> fnPacManSteering) {
+		super(Objects.requireNonNull(settings), GETTING_READY);
+		this.fnPacManSteering = Objects.requireNonNull(fnPacManSteering);
+	}
+
+	@Override
+	public void init() {
+		ticks = 0;
+		deaths = 0;
+		super.init();
+		folks.pacMan.behavior(fnPacManSteering.apply(folks));
+	}
+
+	@Override
+	public void update() {
+		boolean dyingBefore = is(PACMAN_DYING);
+		updateGameState();
+		if (!dyingBefore && is(PACMAN_DYING)) {
+			deaths += 1;
+		}
+		ticks += 1;
+	}
+
+	/**
+	 * Runs the simulation until the game is over or the given number of ticks has been simulated.
+	 *
+	 * @param maxTicks maximum number of ticks to simulate
+	 * @return number of simulated ticks
+	 */
+	public long run(long maxTicks) {
+		long start = ticks;
+		while (!isGameOver() && ticks - start < maxTicks) {
+			update();
+		}
+		return ticks - start;
+	}
+
+	/**
+	 * @return if the simulated game is over
+	 */
+	public boolean isGameOver() {
+		return is(GAME_OVER);
+	}
+
+	/**
+	 * @return number of ticks simulated since initialization
+	 */
+	public long ticks() {
+		return ticks;
+	}
+
+	/**
+	 * @return how often Pac-Man has been killed since initialization
+	 */
+	public int deaths() {
+		return deaths;
+	}
+
+	/**
+	 * Sets the duration of a single maze flashing during level change. The windowed game takes this
+	 * value from the selected theme (Arcade theme: 0.4 sec).
+	 *
+	 * @param seconds duration in seconds
+	 */
+	public void setMazeFlashingSeconds(float seconds) {
+		mazeFlashingSeconds = seconds;
+	}
+
+	@Override
+	protected float mazeFlashingSeconds() {
+		return mazeFlashingSeconds;
+	}
+
+	/**
+	 * Simulated games keep their highscore in memory, they neither read nor write the highscore file.
+	 */
+	@Override
+	protected Hiscore createHiscore() {
+		return new Hiscore(null);
+	}
+
+	@Override
+	protected PlayView createPlayView() {
+		return new HeadlessPlayView(world, folks, game);
+	}
+}
@@ -1,6 +1,7 @@
 package de.amr.games.pacman.controller.steering.api;
 
 import java.util.Objects;
+import java.util.Random;
 import java.util.function.Supplier;
 
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
@@ -195,13 +196,20 @@ public class AnimalMaster {
 
 	public class MovesRandomlyBuilder {
 
+		private Random rnd = new Random();
+
+		public MovesRandomlyBuilder random(Random rnd) {
+			this.rnd = Objects.requireNonNull(rnd);
+			return this;
+		}
+
 		public Steering<?> ok() {
 			if (ghost != null) {
 				ensureGhostState();
-				ghost.behavior(ghostState, new RandomMovement<>());
+				ghost.behavior(ghostState, new RandomMovement<>(rnd));
 				return ghost.steering();
 			} else if (pacMan != null) {
-				pacMan.behavior(new RandomMovement<>());
+				pacMan.behavior(new RandomMovement<>(rnd));
 				return pacMan.steering();
 			}
 			throw new IllegalStateException();
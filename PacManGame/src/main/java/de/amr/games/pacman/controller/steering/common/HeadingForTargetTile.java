@@ -4,21 +4,19 @@ import static de.amr.games.pacman.model.world.api.Direction.DOWN;
 import static de.amr.games.pacman.model.world.api.Direction.LEFT;
 import static de.amr.games.pacman.model.world.api.Direction.RIGHT;
 import static de.amr.games.pacman.model.world.api.Direction.UP;
-import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 import de.amr.games.pacman.controller.steering.api.PathProvidingSteering;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.MobileLifeform;
 import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
 
 /**
  * Steers an actor towards a target tile.
@@ -30,7 +28,7 @@ import de.amr.games.pacman.model.world.api.Tile;
  */
 public class HeadingForTargetTile<M extends MobileLifeform> implements PathProvidingSteering<M> {
 
-	private static final List<Direction> directionPriority = asList(UP, LEFT, DOWN, RIGHT);
+	private static final Direction[] DIRECTION_PRIORITY = { UP, LEFT, DOWN, RIGHT };
 
 	private final M mover;
 	private final ConcurrentLinkedDeque<Tile> path = new ConcurrentLinkedDeque<>();
@@ -58,7 +56,7 @@ public class HeadingForTargetTile<M extends MobileLifeform> implements PathProvi
 			forced = false;
 			Tile targetTile = fnTargetTile.get();
 			if (targetTile != null) {
-				mover.setWishDir(bestDirTowardsTarget(mover, mover.moveDir(), mover.tileLocation(), targetTile));
+				mover.setWishDir(bestDirTowardsTarget(mover.moveDir(), mover.tileLocation(), targetTile));
 				if (pathComputed) {
 					computePath(targetTile);
 				}
@@ -76,25 +74,39 @@ public class HeadingForTargetTile<M extends MobileLifeform> implements PathProvi
 	 * direction can be computed. In that case we keep the move direction.
 	 * <p>
 	 * Note: We use separate parameters for the move direction, current and target tile instead of the
-	 * members of the actor itself because the {@link #pathTo(Tile)} method uses this method without
-	 * actually placing the actor at each tile of the path.
+	 * members of the actor itself because the path computation uses this method without actually
+	 * placing the actor at each tile of the path.
+	 * <p>
+	 * The candidate directions are checked in priority order (UP, LEFT, DOWN, RIGHT) and only a
+	 * strictly smaller (squared) distance replaces the current best direction. This gives the same
+	 * result as sorting by distance and then by priority but does not allocate any objects.
 	 * 
-	 * @param mover   actor moving through the maze
 	 * @param moveDir current move direction
 	 * @param tile    current tile
 	 * @param target  target tile
+	 * @return the direction to take at the given tile
 	 */
-	private Direction bestDirTowardsTarget(MobileLifeform mover, Direction moveDir, Tile tile, Tile target) {
-		Function<Direction, Double> fnTargetDistance = dir -> mover.world().neighbor(tile, dir).distance(target);
-		Function<Direction, Integer> fnDirectionPriority = directionPriority::indexOf;
-		/*@formatter:off*/
-		return Direction.dirs()
-			.filter(dir -> dir != moveDir.opposite())
-			.filter(dir -> mover.canMoveBetween(tile, mover.world().neighbor(tile, dir)))
-			.sorted(Comparator.comparing(fnTargetDistance).thenComparing(fnDirectionPriority))
-			.findFirst()
-			.orElse(mover.moveDir());
-		/*@formatter:on*/
+	public Direction bestDirTowardsTarget(Direction moveDir, Tile tile, Tile target) {
+		World world = mover.world();
+		Direction forbidden = moveDir.opposite();
+		Direction bestDir = null;
+		long minDistance = Long.MAX_VALUE;
+		for (Direction dir : DIRECTION_PRIORITY) {
+			if (dir == forbidden) {
+				continue;
+			}
+			Tile neighbor = world.neighbor(tile, dir);
+			if (!mover.canMoveTowards(tile, dir)) {
+				continue;
+			}
+			long dx = neighbor.col - target.col, dy = neighbor.row - target.row;
+			long distance = dx * dx + dy * dy;
+			if (distance < minDistance) {
+				minDistance = distance;
+				bestDir = dir;
+			}
+		}
+		return bestDir != null ? bestDir : mover.moveDir();
 	}
 
 	/**
@@ -107,7 +119,7 @@ public class HeadingForTargetTile<M extends MobileLifeform> implements PathProvi
 		Tile head = mover.tileLocation();
 		while (mover.world().includes(head) && !head.equals(target) && !path.contains(head)) {
 			path.add(head);
-			dir = bestDirTowardsTarget(mover, dir, head, target);
+			dir = bestDirTowardsTarget(dir, head, target);
 			head = mover.world().neighbor(head, dir);
 		}
 	}
@@ -1,5 +1,8 @@
 package de.amr.games.pacman.controller.steering.common;
 
+import java.util.Objects;
+import java.util.Random;
+
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.MobileLifeform;
@@ -11,8 +14,20 @@ import de.amr.games.pacman.model.world.api.MobileLifeform;
  */
 public class RandomMovement<M extends MobileLifeform> implements Steering<M> {
 
+	private final Random rnd;
 	private boolean forced;
 
+	public RandomMovement() {
+		this(new Random());
+	}
+
+	/**
+	 * @param rnd random source used for selecting the next direction
+	 */
+	public RandomMovement(Random rnd) {
+		this.rnd = Objects.requireNonNull(rnd);
+	}
+
 	@Override
 	public boolean requiresGridAlignment() {
 		return true;
@@ -27,7 +42,7 @@ public class RandomMovement<M extends MobileLifeform> implements Steering<M> {
 	public void steer(M mover) {
 		if (forced || mover.enteredNewTile() || !mover.canCrossBorderTo(mover.moveDir())) {
 			/*@formatter:off*/
-			Direction.dirsShuffled()
+			Direction.dirsShuffled(rnd)
 				.filter(dir -> dir != mover.moveDir().opposite())
 				.filter(mover::canCrossBorderTo)
 				.findFirst()
@@ -4,6 +4,7 @@ import static de.amr.easy.game.Application.loginfo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import de.amr.games.pacman.model.world.api.Symbol;
 
@@ -72,8 +73,9 @@ public class Game {
 	}
 
 	public final List<Symbol> levelCounter = new ArrayList<>();
-	public final Hiscore hiscore = new Hiscore();
+	public final Hiscore hiscore;
 	public final int totalFoodCount;
+	public final Random rnd;
 	public GameLevel level;
 	public int lives;
 	public int score;
@@ -85,7 +87,34 @@ public class Game {
 	 * @param totalFoodCount total number of food in each level
 	 */
 	public Game(int startLevel, int totalFoodCount) {
+		this(startLevel, totalFoodCount, new Random());
+	}
+
+	/**
+	 * Creates a game starting with the given level and using the given random source.
+	 * 
+	 * @param startLevel     start level number (1-...)
+	 * @param totalFoodCount total number of food in each level
+	 * @param rnd            random source for all random decisions in this game
+	 */
+	public Game(int startLevel, int totalFoodCount, Random rnd) {
+		this(startLevel, totalFoodCount, rnd, new Hiscore());
+	}
+
+	/**
+	 * Creates a game starting with the given level and using the given random source and highscore.
+	 * The highscore is loaded once when the game is created.
+	 * 
+	 * @param startLevel     start level number (1-...)
+	 * @param totalFoodCount total number of food in each level
+	 * @param rnd            random source for all random decisions in this game
+	 * @param hiscore        highscore of this game
+	 */
+	public Game(int startLevel, int totalFoodCount, Random rnd, Hiscore hiscore) {
 		this.totalFoodCount = totalFoodCount;
+		this.rnd = rnd;
+		this.hiscore = hiscore;
+		hiscore.load();
 		lives = 3;
 		score = 0;
 		enterLevel(startLevel);
@@ -106,7 +135,6 @@ public class Game {
 		level.number = n;
 		level.totalFoodCount = totalFoodCount;
 		levelCounter.add(level.bonusSymbol);
-		hiscore.load();
 	}
 
 	/**
@@ -14,20 +14,41 @@ import java.util.Properties;
 
 /**
  * Manages the game's highscore.
+ * <p>
+ * By default, the highscore is stored in the file "pacman.hiscore.xml" in the user's home directory.
+ * A highscore without file (see {@link #Hiscore(File)}) is kept in memory only, for example by
+ * simulated games running in parallel.
  * 
  * @author Armin Reichert
  */
 public class Hiscore extends Score {
 
-	private File file = new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml");
+	private final File file;
 	private DateTimeFormatter formatter = DateTimeFormatter.ISO_ZONED_DATE_TIME;
 	private boolean needsUpdate;
 
+	/**
+	 * Creates a highscore stored in the user's home directory.
+	 */
+	public Hiscore() {
+		this(new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml"));
+	}
+
+	/**
+	 * @param file file storing the highscore or {@code null} if the highscore is not stored
+	 */
+	public Hiscore(File file) {
+		this.file = file;
+	}
+
 	public void load() {
+		if (file == null) {
+			return;
+		}
 		loginfo("Loading highscore from %s", file);
 		Properties p = new Properties();
-		try {
-			p.loadFromXML(new FileInputStream(file));
+		try (FileInputStream in = new FileInputStream(file)) {
+			p.loadFromXML(in);
 			points = Integer.valueOf(p.getProperty("score"));
 			level = Integer.valueOf(p.getProperty("level"));
 			if (p.getProperty("time") != null) {
@@ -62,13 +83,13 @@ public class Hiscore extends Score {
 	}
 
 	public void save() {
-		if (needsUpdate) {
+		if (needsUpdate && file != null) {
 			Properties p = new Properties();
 			p.setProperty("score", Integer.toString(points));
 			p.setProperty("level", Integer.toString(level));
 			p.setProperty("time", ZonedDateTime.now().format(formatter));
-			try {
-				p.storeToXML(new FileOutputStream(file), "Pac-Man Highscore");
+			try (FileOutputStream out = new FileOutputStream(file)) {
+				p.storeToXML(out, "Pac-Man Highscore");
 				needsUpdate = false;
 				loginfo("Saved highscore to %s", file);
 			} catch (IOException e) {
@@ -25,13 +25,29 @@ public enum Direction {
 	}
 
 	public static Stream<Direction> dirsShuffled() {
+		return dirsShuffled(new Random());
+	}
+
+	/**
+	 * @param rnd random source used for shuffling
+	 * @return stream of all directions in random order
+	 */
+	public static Stream<Direction> dirsShuffled(Random rnd) {
 		List<Direction> dirs = Arrays.asList(Direction.values());
-		Collections.shuffle(dirs);
+		Collections.shuffle(dirs, rnd);
 		return dirs.stream();
 	}
 
 	public static Direction random() {
-		return values()[new Random().nextInt(4)];
+		return random(new Random());
+	}
+
+	/**
+	 * @param rnd random source
+	 * @return random direction
+	 */
+	public static Direction random(Random rnd) {
+		return values()[rnd.nextInt(4)];
 	}
 
 	private final Vector2f vector;
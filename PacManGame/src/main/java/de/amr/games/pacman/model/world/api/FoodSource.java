@@ -1,6 +1,7 @@
 package de.amr.games.pacman.model.world.api;
 
 import java.util.Optional;
+import java.util.function.ToIntBiFunction;
 import java.util.stream.Stream;
 
 /**
@@ -36,6 +37,61 @@ public interface FoodSource {
 
 	boolean hasEatenFood(Tile location);
 
+	/**
+	 * @return the locations of the food that has not been eaten yet, in the order of the world tiles
+	 */
+	Stream<Tile> foodLocations();
+
+	/**
+	 * @return the locations of the energizers that have not been eaten yet, in the order of the world
+	 *         tiles
+	 */
+	Stream<Tile> energizerLocations();
+
+	/**
+	 * @return the locations of the food that has been eaten, in the order of the world tiles
+	 */
+	Stream<Tile> eatenFoodLocations();
+
+	/**
+	 * @return the number of food locations where the food has not been eaten yet
+	 */
+	int remainingFoodCount();
+
+	/**
+	 * Food changes are numbered consecutively. The locations of the latest changes of single locations
+	 * are kept in a short journal, a change of all locations at once (see {@link #clearFood()},
+	 * {@link #fillFood()}) clears the journal.
+	 * 
+	 * @return the number of food changes so far
+	 */
+	int foodChangeCount();
+
+	/**
+	 * @param change number of a food change, less than {@link #foodChangeCount()}
+	 * @return the location changed by the given change or {@code null} if the change is no longer in the
+	 *         journal or has changed all locations
+	 */
+	Tile foodChangeLocation(int change);
+
+	/**
+	 * Finds the nearest location with food that has not been eaten yet. If several locations have the
+	 * same distance, the first one in the order of the world tiles is taken.
+	 * 
+	 * @param here       reference location
+	 * @param fnDistance distance function, a negative distance means that the location is unreachable
+	 * @return the nearest food location if any
+	 */
+	Optional<Tile> nearestFood(Tile here, ToIntBiFunction<Tile, Tile> fnDistance);
+
+	/**
+	 * @param here reference location
+	 * @return the nearest location with food that has not been eaten yet (Manhattan distance)
+	 */
+	default Optional<Tile> nearestFood(Tile here) {
+		return nearestFood(here, (from, to) -> from.manhattanDistance(to));
+	}
+
 	Optional<BonusFood> bonusFood();
 
 	void addBonusFood(BonusFood bonusFood);
@@ -27,7 +27,7 @@ public interface Lifeform extends Lifecycle {
 		Vector2f center = tf().getCenter();
 		int col = (int) (center.x >= 0 ? center.x / Tile.SIZE : Math.floor(center.x / Tile.SIZE));
 		int row = (int) (center.y >= 0 ? center.y / Tile.SIZE : Math.floor(center.y / Tile.SIZE));
-		return Tile.at(col, row);
+		return world().tile(col, row);
 	}
 
 	/**
@@ -72,6 +72,16 @@ public interface MobileLifeform extends Lifeform {
 	 */
 	boolean canMoveBetween(Tile tile, Tile neighbor);
 
+	/**
+	 * @param tile some tile
+	 * @param dir  some direction
+	 * @return tells if the entity can move from the given tile to its neighbor towards the given
+	 *         direction (might be state-dependent)
+	 */
+	default boolean canMoveTowards(Tile tile, Direction dir) {
+		return canMoveBetween(tile, world().neighbor(tile, dir));
+	}
+
 	/**
 	 * Forces the entity to move to the given direction.
 	 * 
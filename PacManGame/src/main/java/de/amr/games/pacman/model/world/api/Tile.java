@@ -1,12 +1,16 @@
 package de.amr.games.pacman.model.world.api;
 
-import java.util.Objects;
 import java.util.Optional;
 
 import de.amr.easy.game.math.Vector2f;
 
 /**
  * The Pac-Man game world is layed out into tiles of eight pixels size each.
+ * <p>
+ * Tiles are immutable. Tiles inside the coordinate range [{@link #CACHE_MIN},
+ * {@link #CACHE_MAX}) are interned, i.e. {@link #at(int, int)} always returns the same instance for
+ * the same coordinates. Tiles outside of this range (e.g. far away ghost target tiles) are created
+ * on demand, so tiles must still be compared using {@link #equals(Object)}.
  * 
  * @author Armin Reichert
  */
@@ -15,6 +19,16 @@ public final class Tile {
 	/** Tile size in pixels. */
 	public static final byte SIZE = 8;
 
+	/** Minimum (inclusive) row and column index of interned tiles. */
+	public static final int CACHE_MIN = -64;
+
+	/** Maximum (exclusive) row and column index of interned tiles. */
+	public static final int CACHE_MAX = 192;
+
+	private static final int CACHE_EXTENT = CACHE_MAX - CACHE_MIN;
+
+	private static final Tile[] CACHE = new Tile[CACHE_EXTENT * CACHE_EXTENT];
+
 	/**
 	 * @param either either tile
 	 * @param other  other tile
@@ -36,16 +50,33 @@ public final class Tile {
 	}
 
 	/**
-	 * Nicer constructor function.
+	 * Nicer constructor function. Returns the interned tile if the location is inside the cached
+	 * coordinate range.
 	 * 
 	 * @param col column
 	 * @param row row
 	 * @return tile at this location
 	 */
 	public static Tile at(int col, int row) {
+		if (CACHE_MIN <= col && col < CACHE_MAX && CACHE_MIN <= row && row < CACHE_MAX) {
+			int index = (row - CACHE_MIN) * CACHE_EXTENT + (col - CACHE_MIN);
+			Tile tile = CACHE[index];
+			return tile != null ? tile : intern(index, col, row);
+		}
 		return new Tile(col, row);
 	}
 
+	/*
+	 * Creating the interned instance is synchronized such that games running in parallel threads get
+	 * the same instance. Reading the cache needs no synchronization because tiles are immutable.
+	 */
+	private static synchronized Tile intern(int index, int col, int row) {
+		if (CACHE[index] == null) {
+			CACHE[index] = new Tile(col, row);
+		}
+		return CACHE[index];
+	}
+
 	/** Tile column index. Left to right, zero based. */
 	public final short col;
 
@@ -53,13 +84,13 @@ public final class Tile {
 	public final short row;
 
 	/**
-	 * Constructor function.
+	 * Constructor function. Use {@link #at(int, int)} to get interned instances.
 	 * 
 	 * @param col tile column index
 	 * @param row tile row index
 	 * @return new tile
 	 */
-	public Tile(int col, int row) {
+	private Tile(int col, int row) {
 		this.col = (short) col;
 		this.row = (short) row;
 	}
@@ -131,8 +162,13 @@ public final class Tile {
 	 * @return the direction towards the other tile, if it is a neighbor tile
 	 */
 	public Optional<Direction> dirTo(Tile other) {
-		Vector2f v = Vector2f.of(other.col - col, other.row - row);
-		return Direction.dirs().filter(dir -> dir.vector().equals(v)).findFirst();
+		int dx = other.col - col, dy = other.row - row;
+		for (Direction dir : Direction.values()) {
+			if (dir.vector().roundedX() == dx && dir.vector().roundedY() == dy) {
+				return Optional.of(dir);
+			}
+		}
+		return Optional.empty();
 	}
 
 	/**
@@ -146,7 +182,7 @@ public final class Tile {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(col, row);
+		return 31 * col + row;
 	}
 
 	@Override
@@ -7,6 +7,35 @@ package de.amr.games.pacman.model.world.api;
  */
 public interface World extends Territory, FoodSource {
 
+	/**
+	 * @param col column index
+	 * @param row row index
+	 * @return the tile at this location, see {@link Tile#at(int, int)}. Locations outside of the
+	 *         world are accepted too, e.g. for target tiles.
+	 */
+	Tile tile(int col, int row);
+
+	/**
+	 * @param index tile index inside this world, see {@link #index(Tile)}
+	 * @return the tile with this index
+	 */
+	Tile tile(int index);
+
+	/**
+	 * Tiles inside the world are numbered row by row, i.e. a tile has index {@code row * width + col}.
+	 * 
+	 * @param tile some tile
+	 * @return the index of this tile or {@code -1} if the tile is outside of this world
+	 */
+	int index(Tile tile);
+
+	/**
+	 * @return number that changes whenever the layout (walls, portals) of the world changes. Data
+	 *         derived from the layout like distance tables can be kept as long as this number is
+	 *         unchanged.
+	 */
+	int layoutVersion();
+
 	/**
 	 * Signals that the world is changing.
 	 * 
@@ -0,0 +1,91 @@
+package de.amr.games.pacman.model.world.arcade;
+
+import java.util.Optional;
+
+import de.amr.games.pacman.model.world.api.BonusFood;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.core.ByteMap;
+import de.amr.games.pacman.model.world.core.MapBasedWorld;
+
+/**
+ * Base class for map-based worlds using the Arcade food: pellets encoded in the food and energizer
+ * bits of the map and {@link ArcadeBonus} food appearing at a fixed bonus location.
+ *
+ * @author Armin Reichert
+ */
+public abstract class ArcadeFoodWorld extends MapBasedWorld {
+
+	private final Tile bonusLocation;
+	protected ArcadeBonus bonus;
+
+	public ArcadeFoodWorld(byte[][] data, Tile bonusLocation) {
+		super(data);
+		this.bonusLocation = bonusLocation;
+	}
+
+	/**
+	 * Creates a world using the given map.
+	 *
+	 * @param map           the map, not copied
+	 * @param bonusLocation location where bonus food appears
+	 */
+	protected ArcadeFoodWorld(ByteMap map, Tile bonusLocation) {
+		super(map);
+		this.bonusLocation = bonusLocation;
+	}
+
+	/**
+	 * @return the location where bonus food appears
+	 */
+	public Tile bonusLocation() {
+		return bonusLocation;
+	}
+
+	@Override
+	public void setFood(Food food, Tile location) {
+		int row = location.row, col = location.col;
+		if (food.equals(Pellet.SNACK)) {
+			map.set1(row, col, B_FOOD);
+			map.set0(row, col, B_ENERGIZER);
+		} else if (food.equals(Pellet.ENERGIZER)) {
+			map.set1(row, col, B_FOOD);
+			map.set1(row, col, B_ENERGIZER);
+		}
+		foodChanged(location);
+	}
+
+	@Override
+	public void addBonusFood(BonusFood bonusFood) {
+		if (bonusFood instanceof ArcadeBonus) {
+			bonus = (ArcadeBonus) bonusFood;
+			bonus.setLocation(bonusLocation);
+		} else {
+			throw new IllegalArgumentException("Cannot add this type of bonus food to Arcade world");
+		}
+	}
+
+	@Override
+	public void clearBonusFood() {
+		bonus = null;
+	}
+
+	@Override
+	public Optional<BonusFood> bonusFood() {
+		return Optional.ofNullable(bonus);
+	}
+
+	@Override
+	public Optional<Food> foodAt(Tile location) {
+		if (!hasFood(location)) {
+			return Optional.empty();
+		}
+		if (bonusLocation.equals(location)) {
+			return Optional.ofNullable(bonus);
+		}
+		if (is(location, B_ENERGIZER)) {
+			return Optional.of(Pellet.ENERGIZER);
+		}
+		return Optional.of(Pellet.SNACK);
+	}
+}
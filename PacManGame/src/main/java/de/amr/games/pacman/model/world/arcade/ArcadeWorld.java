@@ -1,28 +1,22 @@
 package de.amr.games.pacman.model.world.arcade;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Stream;
 
-import de.amr.games.pacman.model.world.api.BonusFood;
 import de.amr.games.pacman.model.world.api.Direction;
-import de.amr.games.pacman.model.world.api.Food;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Bed;
 import de.amr.games.pacman.model.world.components.Door;
 import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.model.world.components.OneWayTile;
 import de.amr.games.pacman.model.world.components.Portal;
-import de.amr.games.pacman.model.world.core.MapBasedWorld;
 
 /**
  * Map-based Pac-Man game world implementation.
  * 
  * @author Armin Reichert
  */
-public class ArcadeWorld extends MapBasedWorld {
-
-	public static final byte B_ENERGIZER = 5;
+public class ArcadeWorld extends ArcadeFoodWorld {
 
 	static final byte[][] DATA = {
 			//@formatter:off
@@ -71,10 +65,9 @@ public class ArcadeWorld extends MapBasedWorld {
 	protected List<Portal> portals;
 	protected List<OneWayTile> oneWayTiles;
 	protected Bed pacManBed;
-	protected ArcadeBonus bonus;
 
 	public ArcadeWorld() {
-		super(DATA);
+		super(DATA, BONUS_LOCATION);
 		pacManBed = new Bed(13, 26, Direction.RIGHT);
 		//@formatter:off
 		houses = List.of(
@@ -130,50 +123,4 @@ public class ArcadeWorld extends MapBasedWorld {
 	public Stream<OneWayTile> oneWayTiles() {
 		return oneWayTiles.stream();
 	}
-
-	@Override
-	public void setFood(Food food, Tile location) {
-		int row = location.row, col = location.col;
-		if (food.equals(Pellet.SNACK)) {
-			map.set1(row, col, B_FOOD);
-			map.set0(row, col, B_ENERGIZER);
-		} else if (food.equals(Pellet.ENERGIZER)) {
-			map.set1(row, col, B_FOOD);
-			map.set1(row, col, B_ENERGIZER);
-		}
-	}
-
-	@Override
-	public void addBonusFood(BonusFood bonusFood) {
-		if (bonusFood instanceof ArcadeBonus) {
-			bonus = (ArcadeBonus) bonusFood;
-			bonus.setLocation(BONUS_LOCATION);
-		} else {
-			throw new IllegalArgumentException("Cannot add this type of bonus food to Arcade world");
-		}
-	}
-
-	@Override
-	public void clearBonusFood() {
-		bonus = null;
-	}
-
-	@Override
-	public Optional<BonusFood> bonusFood() {
-		return Optional.ofNullable(bonus);
-	}
-
-	@Override
-	public Optional<Food> foodAt(Tile location) {
-		if (!hasFood(location)) {
-			return Optional.empty();
-		}
-		if (BONUS_LOCATION.equals(location)) {
-			return Optional.ofNullable(bonus);
-		}
-		if (is(location, B_ENERGIZER)) {
-			return Optional.of(Pellet.ENERGIZER);
-		}
-		return Optional.of(Pellet.SNACK);
-	}
 }
\ No newline at end of file
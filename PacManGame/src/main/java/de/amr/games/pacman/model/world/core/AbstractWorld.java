@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.math.Vector2f;
@@ -17,6 +18,10 @@ import de.amr.games.pacman.model.world.components.Portal;
 
 /**
  * World base class.
+ * <p>
+ * Tiles are numbered row by row. The tiles are not stored in the world but obtained by
+ * {@link Tile#at(int, int)}, so a world costs no memory per tile and the tiles of worlds inside the
+ * interned coordinate range are not allocated at all.
  * 
  * @author Armin Reichert
  */
@@ -25,11 +30,34 @@ public abstract class AbstractWorld extends Block implements World {
 	private final Collection<Lifeform> excluded = new HashSet<>();
 	protected boolean changing;
 	protected boolean frozen;
+	protected int layoutVersion;
 
 	public AbstractWorld(int width, int height) {
 		super(0, 0, width, height);
 	}
 
+	@Override
+	public Tile tile(int col, int row) {
+		return Tile.at(col, row);
+	}
+
+	@Override
+	public Tile tile(int index) {
+		return Tile.at(index % width(), index / width());
+	}
+
+	@Override
+	public int index(Tile tile) {
+		return includes(tile) ? tile.row * width() + tile.col : -1;
+	}
+
+	@Override
+	public Stream<Tile> tiles() {
+		// same order as in RectangularArea.tiles()
+		int height = height();
+		return IntStream.range(0, width() * height).mapToObj(i -> Tile.at(i / height, i % height));
+	}
+
 	private int distFromCornerNW(Tile t1, Tile t2) {
 		return Integer.compare(t1.col + t1.row, t2.col + t2.row);
 	}
@@ -64,7 +92,7 @@ public abstract class AbstractWorld extends Block implements World {
 		int dx = dirVector.roundedX(), dy = dirVector.roundedY();
 		int col = tile.col, row = tile.row;
 		while (n-- > 0) {
-			Tile t = Tile.at(col, row);
+			Tile t = tile(col, row);
 			if (isPortal(t)) {
 				Portal portal = portals().filter(p -> p.includes(t)).findAny().get();
 				if (portal.vertical) {
@@ -111,6 +139,11 @@ public abstract class AbstractWorld extends Block implements World {
 		return !excluded.contains(life);
 	}
 
+	@Override
+	public int layoutVersion() {
+		return layoutVersion;
+	}
+
 	@Override
 	public boolean isFrozen() {
 		return frozen;
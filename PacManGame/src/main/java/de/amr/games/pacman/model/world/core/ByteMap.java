@@ -1,15 +1,37 @@
 package de.amr.games.pacman.model.world.core;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * 2D-map of bytes.
- * 
+ * <p>
+ * The map is stored as 8 bit planes, one for each bit index. Each plane is a bitboard, a
+ * {@code long} array holding the bit for cell {@code (row, col)} at position
+ * {@code row * width + col}. Operations on all cells of a plane (setting, clearing, combining,
+ * counting, copying) are done a word (64 cells) at a time.
+ * <p>
+ * A map can also be created on top of a read-only base layer, a buffer holding one byte per cell
+ * (for example a memory-mapped maze file, see {@link #ByteMap(ByteBuffer, int, int, int)}). Such a
+ * map reads its bits from the base layer until a bit plane is modified for the first time. Only then
+ * the plane is copied into memory (copy-on-write). Any number of maps can share the same base layer.
+ * <p>
+ * Single-cell accesses throw an {@link IndexOutOfBoundsException} if the position is outside of the
+ * map. Without this check, a column outside of the map would silently address a cell of a
+ * neighboring row.
+ *
  * @author Armin Reichert
  */
 public class ByteMap {
 
-	private final byte[][] data;
+	private final int width;
+	private final int height;
+	private final ByteBuffer base;
+	private final int baseOffset;
+
+	/** Bit planes, {@code null} for planes not yet copied from the base layer. */
+	private final long[][] planes;
 
 	private static void rangeCheck(int index) {
 		if (index < 0 || index > 7) {
@@ -17,6 +39,10 @@ public class ByteMap {
 		}
 	}
 
+	private int cell(int row, int col) {
+		return Objects.checkIndex(row, height) * width + Objects.checkIndex(col, width);
+	}
+
 	/**
 	 * @param row      a row
 	 * @param col      a column
@@ -24,63 +50,311 @@ public class ByteMap {
 	 * @return the boolean value of the bit at the given position and index
 	 */
 	public boolean is(int row, int col, int bitIndex) {
-		rangeCheck(bitIndex);
-		return (data[row][col] & (1 << bitIndex)) != 0;
+		int cell = cell(row, col);
+		long[] plane = planes[bitIndex];
+		if (plane == null) {
+			return (base.get(baseOffset + cell) & (1 << bitIndex)) != 0;
+		}
+		return (plane[cell >>> 6] & (1L << cell)) != 0;
 	}
 
 	/**
 	 * Clears the bit at the given map position and index
-	 * 
+	 *
 	 * @param row      a row
 	 * @param col      a column
 	 * @param bitIndex a bit index (0..7)
 	 */
 	public void set0(int row, int col, int bitIndex) {
-		rangeCheck(bitIndex);
-		data[row][col] &= ~(1 << bitIndex);
+		int cell = cell(row, col);
+		writablePlane(bitIndex)[cell >>> 6] &= ~(1L << cell);
 	}
 
 	/**
 	 * Sets the bit at the given map position and index
-	 * 
+	 *
 	 * @param row      a row
 	 * @param col      a column
 	 * @param bitIndex a bit index (0..7)
 	 */
 	public void set1(int row, int col, int bitIndex) {
-		rangeCheck(bitIndex);
-		data[row][col] |= (1 << bitIndex);
+		int cell = cell(row, col);
+		writablePlane(bitIndex)[cell >>> 6] |= (1L << cell);
+	}
+
+	/**
+	 * @param row a row
+	 * @param col a column
+	 * @return the byte value at the given position
+	 */
+	public byte get(int row, int col) {
+		int cell = cell(row, col), word = cell >>> 6;
+		long mask = 1L << cell;
+		int value = base != null ? base.get(baseOffset + cell) : 0;
+		for (int bitIndex = 0; bitIndex < 8; ++bitIndex) {
+			long[] plane = planes[bitIndex];
+			if (plane != null) {
+				if ((plane[word] & mask) != 0) {
+					value |= 1 << bitIndex;
+				} else {
+					value &= ~(1 << bitIndex);
+				}
+			}
+		}
+		return (byte) value;
 	}
 
 	/**
 	 * Creates a new map using a copy of the given byte array. The rows of the byte array must all have
 	 * the same length.
-	 * 
+	 *
 	 * @param array2D two-dimensional byte array
 	 */
 	public ByteMap(byte[][] array2D) {
-		data = new byte[array2D.length][];
-		int width = array2D[0].length;
-		for (int i = 0; i < array2D.length; ++i) {
-			byte[] row = array2D[i];
-			if (row.length != width) {
+		width = array2D[0].length;
+		height = array2D.length;
+		base = null;
+		baseOffset = 0;
+		planes = new long[8][words(width * height)];
+		for (int row = 0; row < height; ++row) {
+			if (array2D[row].length != width) {
 				throw new IllegalStateException("Rows must all have the same length");
 			}
-			data[i] = Arrays.copyOf(row, width);
+			for (int col = 0; col < width; ++col) {
+				byte value = array2D[row][col];
+				for (int bitIndex = 0; bitIndex < 8; ++bitIndex) {
+					if ((value & (1 << bitIndex)) != 0) {
+						set1(row, col, bitIndex);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a new map on top of the given base layer. The buffer holds the cells row by row, one
+	 * byte per cell, starting at the given offset. The buffer is only read (using absolute positions),
+	 * never modified.
+	 *
+	 * @param base   base layer
+	 * @param offset buffer position of cell (0, 0)
+	 * @param width  number of columns
+	 * @param height number of rows
+	 */
+	public ByteMap(ByteBuffer base, int offset, int width, int height) {
+		if (offset < 0 || (long) offset + (long) width * height > base.limit()) {
+			throw new IllegalArgumentException("Base layer too small for map of size " + width + "x" + height);
+		}
+		this.width = width;
+		this.height = height;
+		this.base = base;
+		baseOffset = offset;
+		planes = new long[8][];
+	}
+
+	/**
+	 * Creates a copy of the given map. The copy shares the base layer of the given map, if any.
+	 *
+	 * @param other a map
+	 */
+	public ByteMap(ByteMap other) {
+		width = other.width;
+		height = other.height;
+		base = other.base;
+		baseOffset = other.baseOffset;
+		planes = new long[8][];
+		for (int bitIndex = 0; bitIndex < 8; ++bitIndex) {
+			if (other.planes[bitIndex] != null) {
+				planes[bitIndex] = other.planes[bitIndex].clone();
+			}
+		}
+	}
+
+	private static int words(int numCells) {
+		return (numCells + 63) >>> 6;
+	}
+
+	/*
+	 * Returns the plane for reading, decoded from the base layer into a new array if not yet copied.
+	 */
+	private long[] readablePlane(int bitIndex) {
+		return planes[bitIndex] != null ? planes[bitIndex] : decode(bitIndex);
+	}
+
+	private long[] writablePlane(int bitIndex) {
+		if (planes[bitIndex] == null) {
+			planes[bitIndex] = decode(bitIndex);
+		}
+		return planes[bitIndex];
+	}
+
+	private long[] decode(int bitIndex) {
+		long[] plane = new long[words(width * height)];
+		int mask = 1 << bitIndex;
+		for (int cell = 0; cell < width * height; ++cell) {
+			if ((base.get(baseOffset + cell) & mask) != 0) {
+				plane[cell >>> 6] |= 1L << cell;
+			}
 		}
+		return plane;
 	}
 
 	/**
 	 * @return the number of columns of the map
 	 */
 	public int getWidth() {
-		return data[0].length;
+		return width;
 	}
 
 	/**
 	 * @return the number of rows of the map
 	 */
 	public int getHeight() {
-		return data.length;
+		return height;
+	}
+
+	/**
+	 * @return the number of bit planes copied into memory, 8 for maps without base layer
+	 */
+	public int copiedPlanesCount() {
+		int count = 0;
+		for (long[] plane : planes) {
+			if (plane != null) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Overwrites the content of this map with the content of the given map of the same size.
+	 *
+	 * @param other a map
+	 */
+	public void copyFrom(ByteMap other) {
+		if (other.width != width || other.height != height) {
+			throw new IllegalArgumentException("Maps must have the same size");
+		}
+		for (int bitIndex = 0; bitIndex < 8; ++bitIndex) {
+			if (other.planes[bitIndex] == null && other.base == base && other.baseOffset == baseOffset) {
+				planes[bitIndex] = null;
+			} else {
+				long[] source = other.readablePlane(bitIndex);
+				if (planes[bitIndex] == null) {
+					planes[bitIndex] = new long[source.length];
+				}
+				System.arraycopy(source, 0, planes[bitIndex], 0, source.length);
+			}
+		}
+	}
+
+	/**
+	 * Sets the bit with the given index in all cells.
+	 *
+	 * @param bitIndex a bit index (0..7)
+	 */
+	public void setAll(int bitIndex) {
+		rangeCheck(bitIndex);
+		long[] plane = planes[bitIndex] != null ? planes[bitIndex] : new long[words(width * height)];
+		Arrays.fill(plane, -1L);
+		int rest = (width * height) & 63;
+		if (rest != 0) {
+			plane[plane.length - 1] = (1L << rest) - 1;
+		}
+		planes[bitIndex] = plane;
+	}
+
+	/**
+	 * Clears the bit with the given index in all cells.
+	 *
+	 * @param bitIndex a bit index (0..7)
+	 */
+	public void clearAll(int bitIndex) {
+		rangeCheck(bitIndex);
+		if (planes[bitIndex] != null) {
+			Arrays.fill(planes[bitIndex], 0L);
+		} else {
+			planes[bitIndex] = new long[words(width * height)];
+		}
+	}
+
+	/**
+	 * Sets the target bit in all cells where the source bit is set.
+	 *
+	 * @param targetBitIndex bit index (0..7) of the bit to set
+	 * @param sourceBitIndex bit index (0..7) of the bit to test
+	 */
+	public void or(int targetBitIndex, int sourceBitIndex) {
+		rangeCheck(targetBitIndex);
+		rangeCheck(sourceBitIndex);
+		long[] target = writablePlane(targetBitIndex), source = readablePlane(sourceBitIndex);
+		for (int i = 0; i < target.length; ++i) {
+			target[i] |= source[i];
+		}
+	}
+
+	/**
+	 * Clears the target bit in all cells where the source bit is set.
+	 *
+	 * @param targetBitIndex bit index (0..7) of the bit to clear
+	 * @param sourceBitIndex bit index (0..7) of the bit to test
+	 */
+	public void andNot(int targetBitIndex, int sourceBitIndex) {
+		rangeCheck(targetBitIndex);
+		rangeCheck(sourceBitIndex);
+		long[] target = writablePlane(targetBitIndex), source = readablePlane(sourceBitIndex);
+		for (int i = 0; i < target.length; ++i) {
+			target[i] &= ~source[i];
+		}
+	}
+
+	/**
+	 * @param bitIndex a bit index (0..7)
+	 * @return number of cells where the bit with the given index is set
+	 */
+	public int count(int bitIndex) {
+		rangeCheck(bitIndex);
+		int count = 0;
+		if (planes[bitIndex] == null) {
+			int mask = 1 << bitIndex;
+			for (int cell = 0; cell < width * height; ++cell) {
+				if ((base.get(baseOffset + cell) & mask) != 0) {
+					++count;
+				}
+			}
+			return count;
+		}
+		for (long word : planes[bitIndex]) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * @param bitIndex       a bit index (0..7)
+	 * @param absentBitIndex a bit index (0..7)
+	 * @return number of cells where the first bit is set and the second bit is not set
+	 */
+	public int count(int bitIndex, int absentBitIndex) {
+		rangeCheck(bitIndex);
+		rangeCheck(absentBitIndex);
+		long[] plane = readablePlane(bitIndex), absent = readablePlane(absentBitIndex);
+		int count = 0;
+		for (int i = 0; i < plane.length; ++i) {
+			count += Long.bitCount(plane[i] & ~absent[i]);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a copy of the bitboard of the given bit index. The bit for cell {@code (row, col)} is
+	 * stored at position {@code row * width + col}.
+	 *
+	 * @param bitIndex a bit index (0..7)
+	 * @return copy of the bit plane
+	 */
+	public long[] plane(int bitIndex) {
+		rangeCheck(bitIndex);
+		return planes[bitIndex] != null ? planes[bitIndex].clone() : decode(bitIndex);
 	}
-}
\ No newline at end of file
+}
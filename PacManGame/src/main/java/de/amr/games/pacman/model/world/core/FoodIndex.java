@@ -0,0 +1,168 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.util.BitSet;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Index of the food locations of a map-based world.
+ * <p>
+ * Food locations are numbered in the order of {@link AbstractWorld#tiles()}, i.e. column by column,
+ * such that iterating over the set bits visits the tiles in the same order as a scan of all tiles
+ * would do. The index is updated incrementally whenever food is eaten or restored, so counting the
+ * remaining food or visiting all remaining food locations does not require scanning the map.
+ *
+ * @author Armin Reichert
+ */
+public class FoodIndex {
+
+	private final BitSet foodLocations;
+	private final BitSet energizerLocations;
+	private final BitSet remainingFood;
+	private final BitSet remainingEnergizers;
+	private int remainingFoodCount;
+	private int remainingEnergizerCount;
+
+	/**
+	 * @param size number of locations
+	 */
+	public FoodIndex(int size) {
+		foodLocations = new BitSet(size);
+		energizerLocations = new BitSet(size);
+		remainingFood = new BitSet(size);
+		remainingEnergizers = new BitSet(size);
+	}
+
+	/**
+	 * Stores the food state of the given location.
+	 *
+	 * @param i         location number
+	 * @param food      if the location contains food (eaten or not)
+	 * @param energizer if the food at this location is an energizer
+	 * @param eaten     if the food at this location has been eaten
+	 */
+	public void update(int i, boolean food, boolean energizer, boolean eaten) {
+		foodLocations.set(i, food);
+		energizerLocations.set(i, food && energizer);
+		boolean remaining = food && !eaten;
+		if (remainingFood.get(i) != remaining) {
+			remainingFood.set(i, remaining);
+			remainingFoodCount += remaining ? 1 : -1;
+		}
+		boolean remainingEnergizer = remaining && energizer;
+		if (remainingEnergizers.get(i) != remainingEnergizer) {
+			remainingEnergizers.set(i, remainingEnergizer);
+			remainingEnergizerCount += remainingEnergizer ? 1 : -1;
+		}
+	}
+
+	/**
+	 * Marks the food at all locations as eaten.
+	 */
+	public void clearAll() {
+		remainingFood.clear();
+		remainingEnergizers.clear();
+		remainingFoodCount = 0;
+		remainingEnergizerCount = 0;
+	}
+
+	/**
+	 * Restores the food at all locations.
+	 */
+	public void fillAll() {
+		remainingFood.clear();
+		remainingFood.or(foodLocations);
+		remainingEnergizers.clear();
+		remainingEnergizers.or(energizerLocations);
+		remainingFoodCount = remainingFood.cardinality();
+		remainingEnergizerCount = remainingEnergizers.cardinality();
+	}
+
+	/**
+	 * @param i location number
+	 * @return if the location contains food that has not been eaten
+	 */
+	public boolean hasFood(int i) {
+		return remainingFood.get(i);
+	}
+
+	/**
+	 * @param i location number
+	 * @return if the location contains an energizer that has not been eaten
+	 */
+	public boolean hasEnergizer(int i) {
+		return remainingEnergizers.get(i);
+	}
+
+	/**
+	 * @param i location number
+	 * @return if the location contains food that has been eaten
+	 */
+	public boolean hasEatenFood(int i) {
+		return foodLocations.get(i) && !remainingFood.get(i);
+	}
+
+	/**
+	 * @return number of locations with food that has not been eaten
+	 */
+	public int remainingFoodCount() {
+		return remainingFoodCount;
+	}
+
+	/**
+	 * @return number of locations with an energizer that has not been eaten
+	 */
+	public int remainingEnergizerCount() {
+		return remainingEnergizerCount;
+	}
+
+	/**
+	 * @param from first location number to examine
+	 * @return the first location with remaining food, starting from the given location, or -1
+	 */
+	public int nextFood(int from) {
+		return remainingFood.nextSetBit(from);
+	}
+
+	/**
+	 * @param from first location number to examine
+	 * @return the first location with a remaining energizer, starting from the given location, or -1
+	 */
+	public int nextEnergizer(int from) {
+		return remainingEnergizers.nextSetBit(from);
+	}
+
+	/**
+	 * @param from first location number to examine
+	 * @return the first location with eaten food, starting from the given location, or -1
+	 */
+	public int nextEatenFood(int from) {
+		for (int i = foodLocations.nextSetBit(from); i != -1; i = foodLocations.nextSetBit(i + 1)) {
+			if (!remainingFood.get(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the remaining food location with minimum distance. Only locations with remaining food are
+	 * visited. If several locations have the same minimum distance, the first one is taken.
+	 *
+	 * @param fnDistance distance of a location number, negative if the location is unreachable
+	 * @return the location with minimum distance or -1 if there is no reachable remaining food
+	 */
+	public int nearestFood(IntUnaryOperator fnDistance) {
+		int nearest = -1, minDistance = Integer.MAX_VALUE;
+		for (int i = remainingFood.nextSetBit(0); i != -1; i = remainingFood.nextSetBit(i + 1)) {
+			int distance = fnDistance.applyAsInt(i);
+			if (distance >= 0 && distance < minDistance) {
+				nearest = i;
+				minDistance = distance;
+				if (distance == 0) {
+					break;
+				}
+			}
+		}
+		return nearest;
+	}
+}
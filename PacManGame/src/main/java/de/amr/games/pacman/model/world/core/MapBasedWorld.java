@@ -1,10 +1,32 @@
 package de.amr.games.pacman.model.world.core;
 
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Food;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Portal;
 
 /**
  * Base class for worlds using a map.
+ * <p>
+ * The neighbor relation (including the wraparound at portals), the accessibility and the portal
+ * locations are computed once from the map and stored in flat tables such that
+ * {@link #tileToDir(Tile, Direction, int)}, {@link #neighbor(Tile, Direction)},
+ * {@link #isAccessible(Tile)} and {@link #isPortal(Tile)} run in constant time without allocating
+ * objects. The tables are built on first access and must be invalidated by calling
+ * {@link #layoutChanged()} whenever walls or portals are changed.
+ * <p>
+ * The food locations are kept in a {@link FoodIndex} that is updated whenever food is eaten,
+ * restored or set. Subclasses changing the food bits of the map directly must call
+ * {@link #foodChanged(Tile)}. Eating or restoring all food updates the bit planes of the map as a
+ * whole (see {@link ByteMap}). The last {@value #FOOD_JOURNAL_SIZE} changed food locations are kept
+ * in a ring buffer such that views can update only these locations (see
+ * {@link #foodChangeLocation(int)}).
  * 
  * @author Armin Reichert
  */
@@ -16,15 +38,38 @@ public abstract class MapBasedWorld extends AbstractWorld {
 	public static final byte B_INTERSECTION = 2;
 	public static final byte B_FOOD         = 3;
 	public static final byte B_EATEN        = 4;
+	public static final byte B_ENERGIZER    = 5;
 	//@formatter:on
 
+	// number of journaled food changes, power of two
+	private static final int FOOD_JOURNAL_SIZE = 64;
+
 	protected final ByteMap map;
 
+	/** Neighbor tile index at position {@code 4 * tileIndex + dir.ordinal()}, -1 if outside world. */
+	private int[] neighbors;
+	private BitSet accessibleTiles;
+	private BitSet portalTiles;
+	private FoodIndex foodIndex;
+	private final Tile[] foodJournal = new Tile[FOOD_JOURNAL_SIZE];
+	private int foodChangeCount;
+	private int foodJournalStart; // number of the first journaled change
+
 	public MapBasedWorld(byte[][] data) {
-		super(data.length, data[0].length);
+		super(data[0].length, data.length);
 		map = new ByteMap(data);
 	}
 
+	/**
+	 * Creates a world using the given map, for example a map on top of a memory-mapped maze file.
+	 * 
+	 * @param map the map, not copied
+	 */
+	protected MapBasedWorld(ByteMap map) {
+		super(map.getWidth(), map.getHeight());
+		this.map = map;
+	}
+
 	public ByteMap map() {
 		return map;
 	}
@@ -32,23 +77,81 @@ public abstract class MapBasedWorld extends AbstractWorld {
 	protected Portal horizontalPortal(Tile leftEntry, Tile rightEntry) {
 		Tile left = Tile.at(leftEntry.col - 1, leftEntry.row);
 		Tile right = Tile.at(rightEntry.col + 1, rightEntry.row);
+		checkPortalTiles(left, right);
 		map.set0(left.row, left.col, B_WALL);
 		map.set1(left.row, left.col, B_TUNNEL);
 		map.set0(right.row, right.col, B_WALL);
 		map.set1(right.row, right.col, B_TUNNEL);
+		layoutChanged();
 		return new Portal(left, right, false);
 	}
 
 	protected Portal verticalPortal(Tile topEntry, Tile bottomEntry) {
 		Tile top = Tile.at(topEntry.col, topEntry.row - 1);
 		Tile bottom = Tile.at(bottomEntry.col, bottomEntry.row + 1);
+		checkPortalTiles(top, bottom);
 		map.set0(top.row, top.col, B_WALL);
 		map.set1(top.row, top.col, B_TUNNEL);
 		map.set0(bottom.row, bottom.col, B_WALL);
 		map.set1(bottom.row, bottom.col, B_TUNNEL);
+		layoutChanged();
 		return new Portal(top, bottom, true);
 	}
 
+	private void checkPortalTiles(Tile either, Tile other) {
+		if (!includes(either) || !includes(other)) {
+			throw new IllegalArgumentException("Portal tiles must be inside the world: " + either + ", " + other);
+		}
+	}
+
+	/**
+	 * Invalidates the neighbor and accessibility tables. Must be called when walls or portals change.
+	 */
+	protected void layoutChanged() {
+		layoutVersion += 1;
+		neighbors = null;
+		accessibleTiles = null;
+		portalTiles = null;
+	}
+
+	private BitSet portalTiles() {
+		if (portalTiles == null) {
+			BitSet portals = new BitSet(width() * height());
+			portals().forEach(portal -> {
+				if (includes(portal.either)) {
+					portals.set(index(portal.either));
+				}
+				if (includes(portal.other)) {
+					portals.set(index(portal.other));
+				}
+			});
+			portalTiles = portals;
+		}
+		return portalTiles;
+	}
+
+	private void ensureLayoutTables() {
+		if (neighbors != null) {
+			return;
+		}
+		int numTiles = width() * height();
+		BitSet portals = portalTiles();
+		BitSet accessible = new BitSet(numTiles);
+		int[] table = new int[4 * numTiles];
+		for (int index = 0; index < numTiles; ++index) {
+			Tile tile = tile(index);
+			if (portals.get(index) || !map.is(tile.row, tile.col, B_WALL)) {
+				accessible.set(index);
+			}
+			// the generic implementation computes the neighbor including the portal wraparound
+			for (Direction dir : Direction.values()) {
+				table[4 * index + dir.ordinal()] = index(super.tileToDir(tile, dir, 1));
+			}
+		}
+		accessibleTiles = accessible;
+		neighbors = table;
+	}
+
 	protected boolean is(Tile tile, int bit) {
 		return includes(tile) && map.is(tile.row, tile.col, bit);
 	}
@@ -75,10 +178,44 @@ public abstract class MapBasedWorld extends AbstractWorld {
 		return map.getHeight();
 	}
 
+	@Override
+	public Tile tileToDir(Tile tile, Direction dir, int n) {
+		if (n == 0) {
+			return tile;
+		}
+		if (n < 0) {
+			throw new IllegalArgumentException("Number of tiles must be non-negative, but is " + n);
+		}
+		ensureLayoutTables();
+		int width = width(), height = height();
+		int dx = dir.vector().roundedX(), dy = dir.vector().roundedY();
+		int col = tile.col, row = tile.row;
+		while (n-- > 0) {
+			if (0 <= col && col < width && 0 <= row && row < height) {
+				int neighbor = neighbors[4 * (row * width + col) + dir.ordinal()];
+				if (neighbor != -1) {
+					col = neighbor % width;
+					row = neighbor / width;
+					continue;
+				}
+			}
+			col += dx;
+			row += dy;
+		}
+		return tile(col, row);
+	}
+
 	@Override
 	public boolean isAccessible(Tile tile) {
-		boolean inside = includes(tile);
-		return inside && !is(tile, B_WALL) || isPortal(tile);
+		ensureLayoutTables();
+		int index = index(tile);
+		return index != -1 && accessibleTiles.get(index);
+	}
+
+	@Override
+	public boolean isPortal(Tile tile) {
+		int index = index(tile);
+		return index != -1 && portalTiles().get(index);
 	}
 
 	@Override
@@ -93,32 +230,122 @@ public abstract class MapBasedWorld extends AbstractWorld {
 
 	// food container
 
-	@Override
-	public void clearFood() {
-		for (int row = 0; row < height(); ++row) {
+	/*
+	 * Food locations are numbered column by column like the tiles in the tiles() stream.
+	 */
+	private int foodLocation(int col, int row) {
+		return col * height() + row;
+	}
+
+	private Tile foodTile(int location) {
+		return tile(location / height(), location % height());
+	}
+
+	private FoodIndex foodIndex() {
+		if (foodIndex == null) {
+			FoodIndex index = new FoodIndex(width() * height());
 			for (int col = 0; col < width(); ++col) {
-				if (map.is(row, col, B_FOOD)) {
-					map.set1(row, col, B_EATEN);
+				for (int row = 0; row < height(); ++row) {
+					index.update(foodLocation(col, row), map.is(row, col, B_FOOD), map.is(row, col, B_ENERGIZER),
+							map.is(row, col, B_EATEN));
 				}
 			}
+			foodIndex = index;
 		}
+		return foodIndex;
 	}
 
-	@Override
-	public void fillFood() {
-		for (int row = 0; row < height(); ++row) {
-			for (int col = 0; col < width(); ++col) {
-				if (map.is(row, col, B_FOOD)) {
-					map.set0(row, col, B_EATEN);
-				}
+	/**
+	 * Updates the food index after the food bits of the given tile have been changed.
+	 * 
+	 * @param tile tile whose food has changed
+	 */
+	protected void foodChanged(Tile tile) {
+		if (includes(tile)) {
+			if (foodIndex != null) {
+				int row = tile.row, col = tile.col;
+				foodIndex.update(foodLocation(col, row), map.is(row, col, B_FOOD), map.is(row, col, B_ENERGIZER),
+						map.is(row, col, B_EATEN));
 			}
+			foodJournal[foodChangeCount & (FOOD_JOURNAL_SIZE - 1)] = tile;
+			foodChangeCount += 1;
+		}
+	}
+
+	private void allFoodChanged() {
+		foodChangeCount += 1;
+		foodJournalStart = foodChangeCount;
+	}
+
+	@Override
+	public int foodChangeCount() {
+		return foodChangeCount;
+	}
+
+	@Override
+	public Tile foodChangeLocation(int change) {
+		int age = foodChangeCount - change;
+		if (age <= 0 || age > FOOD_JOURNAL_SIZE || change - foodJournalStart < 0) {
+			return null;
 		}
+		return foodJournal[change & (FOOD_JOURNAL_SIZE - 1)];
+	}
+
+	@Override
+	public Stream<Food> food() {
+		return foodLocations().map(this::foodAt).map(Optional::get);
+	}
+
+	@Override
+	public Stream<Tile> foodLocations() {
+		FoodIndex index = foodIndex();
+		return IntStream.iterate(index.nextFood(0), i -> i != -1, i -> index.nextFood(i + 1)).mapToObj(this::foodTile);
+	}
+
+	@Override
+	public Stream<Tile> energizerLocations() {
+		FoodIndex index = foodIndex();
+		return IntStream.iterate(index.nextEnergizer(0), i -> i != -1, i -> index.nextEnergizer(i + 1))
+				.mapToObj(this::foodTile);
+	}
+
+	@Override
+	public Stream<Tile> eatenFoodLocations() {
+		FoodIndex index = foodIndex();
+		return IntStream.iterate(index.nextEatenFood(0), i -> i != -1, i -> index.nextEatenFood(i + 1))
+				.mapToObj(this::foodTile);
+	}
+
+	@Override
+	public int remainingFoodCount() {
+		return foodIndex().remainingFoodCount();
+	}
+
+	@Override
+	public Optional<Tile> nearestFood(Tile here, ToIntBiFunction<Tile, Tile> fnDistance) {
+		int nearest = foodIndex().nearestFood(location -> fnDistance.applyAsInt(here, foodTile(location)));
+		return nearest != -1 ? Optional.of(foodTile(nearest)) : Optional.empty();
+	}
+
+	@Override
+	public void clearFood() {
+		map.or(B_EATEN, B_FOOD);
+		foodIndex().clearAll();
+		allFoodChanged();
+	}
+
+	@Override
+	public void fillFood() {
+		map.andNot(B_EATEN, B_FOOD);
+		foodIndex().fillAll();
+		allFoodChanged();
 	}
 
 	@Override
 	public void clearFood(Tile tile) {
 		if (is(tile, B_FOOD)) {
 			set(tile, B_EATEN);
+			foodChanged(tile);
 		}
 	}
 
@@ -126,16 +353,17 @@ public abstract class MapBasedWorld extends AbstractWorld {
 	public void fillFood(Tile tile) {
 		if (is(tile, B_FOOD)) {
 			clear(tile, B_EATEN);
+			foodChanged(tile);
 		}
 	}
 
 	@Override
 	public boolean hasFood(Tile tile) {
-		return is(tile, B_FOOD) && !is(tile, B_EATEN);
+		return includes(tile) && foodIndex().hasFood(foodLocation(tile.col, tile.row));
 	}
 
 	@Override
 	public boolean hasEatenFood(Tile tile) {
-		return is(tile, B_FOOD) && is(tile, B_EATEN);
+		return includes(tile) && foodIndex().hasEatenFood(foodLocation(tile.col, tile.row));
 	}
 }
\ No newline at end of file
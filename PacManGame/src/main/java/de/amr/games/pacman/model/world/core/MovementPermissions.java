@@ -0,0 +1,276 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+
+/**
+ * Precomputed movement rules of a world.
+ * <p>
+ * For each movement class and each tile, a 4-bit mask tells in which directions a creature of this
+ * class may leave the tile, that is, move to {@link World#neighbor(Tile, Direction)}. The rules are:
+ * <ul>
+ * <li>Pac-Man cannot enter any house door.
+ * <li>A ghost can enter a door of its own house only when entering or leaving the house.
+ * <li>A chasing or scattering ghost cannot enter a one-way tile against its direction.
+ * <li>Otherwise, the neighbor tile must be accessible.
+ * </ul>
+ * As ghost rules depend on the ghost's house, the ghost masks are computed for each house.
+ * <p>
+ * Permissions are shared by all creatures of the same world (see {@link #of(World)}) and are
+ * rebuilt when the layout of the world has changed. Permissions only weakly reference their world,
+ * so the cached permissions of a world are released together with the world.
+ *
+ * @author Armin Reichert
+ */
+public class MovementPermissions {
+
+	/**
+	 * Movement classes. Classes with the same rules share their masks.
+	 */
+	public enum MovementClass {
+		//@formatter:off
+		PAC_MAN                        (false, false),
+		GHOST_CHASING_OR_SCATTERING    (false, true),
+		GHOST_ENTERING_OR_LEAVING_HOUSE(true,  false),
+		GHOST_FRIGHTENED               (false, false),
+		GHOST_DEAD                     (false, false),
+		GHOST_LOCKED                   (false, false);
+		//@formatter:on
+
+		private final boolean passesDoor;
+		private final boolean obeysOneWayTiles;
+
+		private MovementClass(boolean passesDoor, boolean obeysOneWayTiles) {
+			this.passesDoor = passesDoor;
+			this.obeysOneWayTiles = obeysOneWayTiles;
+		}
+
+		/* 0 = doors closed, 1 = doors passable, 2 = doors closed and one-way tiles */
+		private int ghostRules() {
+			return passesDoor ? 1 : obeysOneWayTiles ? 2 : 0;
+		}
+	}
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private static final Map<World, MovementPermissions> CACHE = new WeakHashMap<>();
+
+	/**
+	 * Returns the shared movement permissions of the given world.
+	 *
+	 * @param world a world
+	 * @return permissions of the world, built on first request or when the layout has changed
+	 */
+	public static MovementPermissions of(World world) {
+		synchronized (CACHE) {
+			MovementPermissions permissions = CACHE.get(world);
+			if (permissions == null || permissions.isOutdated()) {
+				permissions = new MovementPermissions(world);
+				CACHE.put(world, permissions);
+			}
+			return permissions;
+		}
+	}
+
+	private final WeakReference<World> worldRef;
+	private final int layoutVersion;
+	private final House[] houses;
+	private final byte[] pacManMasks;
+
+	/** Ghost masks by house and ghost rules. */
+	private final byte[][][] ghostMasks;
+
+	private MovementPermissions(World world) {
+		worldRef = new WeakReference<>(world);
+		layoutVersion = world.layoutVersion();
+		houses = world.houses().toArray(House[]::new);
+		int numTiles = world.width() * world.height();
+
+		// house owning the door at each tile and direction of the (first) one-way tile at each tile
+		int[] doorHouse = new int[numTiles];
+		Arrays.fill(doorHouse, -1);
+		for (int h = houses.length - 1; h >= 0; --h) {
+			int houseIndex = h;
+			houses[h].doors().flatMap(Door::tiles).filter(world::includes)
+					.forEach(tile -> doorHouse[world.index(tile)] = houseIndex);
+		}
+		byte[] oneWayDir = new byte[numTiles];
+		Arrays.fill(oneWayDir, (byte) -1);
+		world.oneWayTiles().filter(oneWay -> world.includes(oneWay.tile)).forEach(oneWay -> {
+			int index = world.index(oneWay.tile);
+			if (oneWayDir[index] == -1) {
+				oneWayDir[index] = (byte) oneWay.dir.ordinal();
+			}
+		});
+
+		pacManMasks = new byte[numTiles];
+		ghostMasks = new byte[houses.length][3][numTiles];
+		for (int index = 0; index < numTiles; ++index) {
+			Tile tile = world.tile(index);
+			for (Direction dir : DIRECTIONS) {
+				Tile neighbor = world.neighbor(tile, dir);
+				int n = world.index(neighbor);
+				if (n == -1) {
+					continue;
+				}
+				int bit = 1 << dir.ordinal();
+				if (doorHouse[n] != -1) {
+					// doors are checked before accessibility
+					ghostMasks[doorHouse[n]][MovementClass.GHOST_ENTERING_OR_LEAVING_HOUSE.ghostRules()][index] |= bit;
+				}
+				if (!world.isAccessible(neighbor)) {
+					continue;
+				}
+				if (doorHouse[n] == -1) {
+					pacManMasks[index] |= bit;
+				}
+				boolean againstOneWay = oneWayDir[n] != -1
+						&& tile.dirTo(neighbor).map(d -> d == DIRECTIONS[oneWayDir[n]].opposite()).orElse(false);
+				for (int h = 0; h < houses.length; ++h) {
+					if (doorHouse[n] != h) {
+						ghostMasks[h][MovementClass.GHOST_ENTERING_OR_LEAVING_HOUSE.ghostRules()][index] |= bit;
+						ghostMasks[h][MovementClass.GHOST_FRIGHTENED.ghostRules()][index] |= bit;
+						if (!againstOneWay) {
+							ghostMasks[h][MovementClass.GHOST_CHASING_OR_SCATTERING.ghostRules()][index] |= bit;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the world of these permissions, {@code null} if the world is no longer used
+	 */
+	public World world() {
+		return worldRef.get();
+	}
+
+	/**
+	 * @return if the layout of the world has changed since these permissions were computed
+	 */
+	public boolean isOutdated() {
+		World world = worldRef.get();
+		return world == null || layoutVersion != world.layoutVersion();
+	}
+
+	/*
+	 * The rules, used for moves not covered by the masks.
+	 */
+	private boolean isAllowed(MovementClass movementClass, House house, Tile tile, Tile neighbor) {
+		World world = worldRef.get();
+		if (movementClass == MovementClass.PAC_MAN) {
+			for (House h : houses) {
+				if (h.isDoor(neighbor)) {
+					return false;
+				}
+			}
+			return world.isAccessible(neighbor);
+		}
+		if (house.isDoor(neighbor)) {
+			return movementClass.passesDoor;
+		}
+		if (movementClass.obeysOneWayTiles) {
+			Optional<OneWayTile> maybeOneWay = world.oneWayTiles().filter(oneWay -> oneWay.tile.equals(neighbor))
+					.findFirst();
+			if (maybeOneWay.isPresent()) {
+				Direction oppositeDir = maybeOneWay.get().dir.opposite();
+				if (tile.dirTo(neighbor).map(dir -> dir == oppositeDir).orElse(false)) {
+					return false;
+				}
+			}
+		}
+		return world.isAccessible(neighbor);
+	}
+
+	private int houseIndex(House house) {
+		for (int i = 0; i < houses.length; ++i) {
+			if (houses[i] == house) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private byte[] ghostMasks(int houseIndex, MovementClass movementClass) {
+		return ghostMasks[houseIndex][movementClass.ghostRules()];
+	}
+
+	/**
+	 * @param movementClass a movement class
+	 * @param house         the house of the ghost, ignored for Pac-Man
+	 * @param tile          a tile inside the world
+	 * @return the mask of directions in which the tile may be left, bit {@code dir.ordinal()} is set
+	 *         for each allowed direction
+	 */
+	public int mask(MovementClass movementClass, House house, Tile tile) {
+		int index = worldRef.get().index(tile);
+		if (index == -1) {
+			throw new IllegalArgumentException("Tile is outside of world: " + tile);
+		}
+		if (movementClass == MovementClass.PAC_MAN) {
+			return pacManMasks[index];
+		}
+		int houseIndex = houseIndex(house);
+		if (houseIndex == -1) {
+			throw new IllegalArgumentException("House is not part of world");
+		}
+		return ghostMasks(houseIndex, movementClass)[index];
+	}
+
+	/**
+	 * @param movementClass a movement class
+	 * @param house         the house of the ghost, ignored for Pac-Man
+	 * @param tile          the tile where the creature is located
+	 * @param dir           the direction where the creature wants to go
+	 * @return if a creature of the given class may move from the tile to its neighbor towards the given
+	 *         direction
+	 */
+	public boolean canMove(MovementClass movementClass, House house, Tile tile, Direction dir) {
+		World world = worldRef.get();
+		int index = world.index(tile);
+		if (index != -1) {
+			if (movementClass == MovementClass.PAC_MAN) {
+				return (pacManMasks[index] & (1 << dir.ordinal())) != 0;
+			}
+			int houseIndex = houseIndex(house);
+			if (houseIndex != -1) {
+				return (ghostMasks(houseIndex, movementClass)[index] & (1 << dir.ordinal())) != 0;
+			}
+		}
+		return isAllowed(movementClass, house, tile, world.neighbor(tile, dir));
+	}
+
+	/**
+	 * @param movementClass a movement class
+	 * @param house         the house of the ghost, ignored for Pac-Man
+	 * @param tile          the tile where the creature is located
+	 * @param neighbor      the tile where the creature wants to go
+	 * @return if a creature of the given class may move from the tile to the neighbor tile
+	 */
+	public boolean canMoveBetween(MovementClass movementClass, House house, Tile tile, Tile neighbor) {
+		World world = worldRef.get();
+		int index = world.index(tile);
+		int houseIndex = movementClass == MovementClass.PAC_MAN ? 0 : houseIndex(house);
+		if (index != -1 && houseIndex != -1) {
+			byte[] masks = movementClass == MovementClass.PAC_MAN ? pacManMasks : ghostMasks(houseIndex, movementClass);
+			for (Direction dir : DIRECTIONS) {
+				if (world.neighbor(tile, dir).equals(neighbor)) {
+					return (masks[index] & (1 << dir.ordinal())) != 0;
+				}
+			}
+		}
+		// tile outside of world, house of other world or tiles that are not neighbors
+		return isAllowed(movementClass, house, tile, neighbor);
+	}
+}
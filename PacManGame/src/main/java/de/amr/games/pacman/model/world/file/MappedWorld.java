@@ -0,0 +1,69 @@
+package de.amr.games.pacman.model.world.file;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeFoodWorld;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+import de.amr.games.pacman.model.world.core.ByteMap;
+
+/**
+ * Map-based world read from a {@link MazeFile}.
+ * <p>
+ * The map of this world is backed by the body of the maze file which is shared by all worlds created
+ * from the same file. Eating food only modifies a private copy of the "eaten" bit plane.
+ *
+ * @author Armin Reichert
+ */
+public class MappedWorld extends ArcadeFoodWorld {
+
+	private final Bed pacManBed;
+	private final List<House> houses;
+	private final List<Portal> portals;
+	private final List<OneWayTile> oneWayTiles;
+	private final int totalFoodCount;
+
+	MappedWorld(ByteMap map, Bed pacManBed, List<House> houses, List<Portal> portals, List<OneWayTile> oneWayTiles,
+			Tile bonusLocation, int totalFoodCount) {
+		super(map, bonusLocation);
+		this.pacManBed = pacManBed;
+		this.houses = List.copyOf(houses);
+		this.portals = List.copyOf(portals);
+		this.oneWayTiles = List.copyOf(oneWayTiles);
+		this.totalFoodCount = totalFoodCount;
+	}
+
+	@Override
+	public int totalFoodCount() {
+		return totalFoodCount;
+	}
+
+	@Override
+	public Stream<House> houses() {
+		return houses.stream();
+	}
+
+	@Override
+	public House house(int i) {
+		return houses.get(i);
+	}
+
+	@Override
+	public Bed pacManBed() {
+		return pacManBed;
+	}
+
+	@Override
+	public Stream<Portal> portals() {
+		return portals.stream();
+	}
+
+	@Override
+	public Stream<OneWayTile> oneWayTiles() {
+		return oneWayTiles.stream();
+	}
+}
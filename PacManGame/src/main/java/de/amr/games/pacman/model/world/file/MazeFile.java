@@ -0,0 +1,332 @@
+package de.amr.games.pacman.model.world.file;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.amr.games.pacman.model.world.api.Area;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.RectangularArea;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.HouseBuilder;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+import de.amr.games.pacman.model.world.core.ByteMap;
+import de.amr.games.pacman.model.world.core.MapBasedWorld;
+
+/**
+ * Binary maze file.
+ * <p>
+ * A maze file consists of a header and a body. All numbers are stored big-endian:
+ *
+ * <pre>
+ * int   magic number "PMAZ"
+ * int   version
+ * int   body offset
+ * int   width, height (at most 32767 each)
+ * int   total food count
+ * bed   Pac-Man's bed
+ * tile  bonus location
+ * int   number of houses, each: block layout, int number of doors, doors, int number of beds, beds
+ * int   number of portals, each: tile either, tile other, byte vertical
+ * int   number of one-way tiles, each: tile, byte direction
+ *
+ * tile  = int col, int row
+ * block = int col, int row, int width, int height
+ * door  = byte direction into house, block
+ * bed   = int col, int row, byte exit direction
+ * </pre>
+ *
+ * The body starts at the body offset and contains one byte per tile, row by row, using the bit
+ * layout of {@link MapBasedWorld} (portal tiles already opened, no food eaten).
+ * <p>
+ * A maze file opened from disk is memory-mapped read-only. Each world created by
+ * {@link #newWorld()} reads its map directly from the mapped body, only the parts of the map that
+ * are modified (typically the eaten food) are copied into the memory of the world (see
+ * {@link ByteMap}). Thus, loading a large maze takes only the time for reading the header and all
+ * worlds created from the same file share one copy of the maze layout.
+ *
+ * @author Armin Reichert
+ */
+public class MazeFile {
+
+	public static final int MAGIC = 0x504D415A; // "PMAZ"
+	public static final int VERSION = 1;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	// minimum number of header bytes used by a record of each kind
+	private static final int HOUSE_SIZE = 24, DOOR_SIZE = 17, BED_SIZE = 9, PORTAL_SIZE = 17, ONE_WAY_TILE_SIZE = 9;
+
+	/**
+	 * Writes the given world to a maze file.
+	 *
+	 * @param world         a world
+	 * @param bonusLocation location where bonus food appears
+	 * @param path          path of the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(MapBasedWorld world, Tile bonusLocation, Path path) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+			write(world, bonusLocation, out);
+		}
+	}
+
+	/**
+	 * Writes the given world in maze file format to the given stream.
+	 *
+	 * @param world         a world
+	 * @param bonusLocation location where bonus food appears
+	 * @param out           output stream, not closed
+	 * @throws IOException if writing fails
+	 */
+	public static void write(MapBasedWorld world, Tile bonusLocation, OutputStream out) throws IOException {
+		ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(headerBytes);
+		header.writeInt(world.width());
+		header.writeInt(world.height());
+		header.writeInt(world.totalFoodCount());
+		writeBed(header, world.pacManBed());
+		writeTile(header, bonusLocation);
+		List<House> houses = new ArrayList<>();
+		world.houses().forEach(houses::add);
+		header.writeInt(houses.size());
+		for (House house : houses) {
+			writeBlock(header, rectangular(house.layout()));
+			List<Door> doors = new ArrayList<>();
+			house.doors().forEach(doors::add);
+			header.writeInt(doors.size());
+			for (Door door : doors) {
+				header.writeByte(door.intoHouse.ordinal());
+				writeBlock(header, door);
+			}
+			List<Bed> beds = new ArrayList<>();
+			house.beds().forEach(beds::add);
+			header.writeInt(beds.size());
+			for (Bed bed : beds) {
+				writeBed(header, bed);
+			}
+		}
+		List<Portal> portals = new ArrayList<>();
+		world.portals().forEach(portals::add);
+		header.writeInt(portals.size());
+		for (Portal portal : portals) {
+			writeTile(header, portal.either);
+			writeTile(header, portal.other);
+			header.writeByte(portal.vertical ? 1 : 0);
+		}
+		List<OneWayTile> oneWayTiles = new ArrayList<>();
+		world.oneWayTiles().forEach(oneWayTiles::add);
+		header.writeInt(oneWayTiles.size());
+		for (OneWayTile oneWayTile : oneWayTiles) {
+			writeTile(header, oneWayTile.tile);
+			header.writeByte(oneWayTile.dir.ordinal());
+		}
+		header.flush();
+
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(12 + headerBytes.size());
+		headerBytes.writeTo(data);
+		ByteMap map = world.map();
+		byte[] row = new byte[world.width()];
+		for (int r = 0; r < world.height(); ++r) {
+			for (int col = 0; col < row.length; ++col) {
+				row[col] = (byte) (map.get(r, col) & ~(1 << MapBasedWorld.B_EATEN));
+			}
+			data.write(row);
+		}
+		data.flush();
+	}
+
+	private static RectangularArea rectangular(Area area) {
+		if (area instanceof RectangularArea) {
+			return (RectangularArea) area;
+		}
+		throw new IllegalArgumentException("Only rectangular house layouts can be stored in a maze file");
+	}
+
+	private static void writeTile(DataOutputStream out, Tile tile) throws IOException {
+		out.writeInt(tile.col);
+		out.writeInt(tile.row);
+	}
+
+	private static void writeBlock(DataOutputStream out, RectangularArea block) throws IOException {
+		out.writeInt(block.col());
+		out.writeInt(block.row());
+		out.writeInt(block.width());
+		out.writeInt(block.height());
+	}
+
+	private static void writeBed(DataOutputStream out, Bed bed) throws IOException {
+		out.writeInt(bed.col());
+		out.writeInt(bed.row());
+		out.writeByte(bed.exitDir.ordinal());
+	}
+
+	/**
+	 * Opens a maze file by mapping it read-only into memory.
+	 *
+	 * @param path path of the file
+	 * @return the maze file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static MazeFile open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Maze file too large: " + path);
+			}
+			// the mapping stays valid after the channel is closed
+			return of(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Uses the given buffer as maze file. The buffer content must not be changed afterwards.
+	 *
+	 * @param buffer buffer with the maze file content starting at position 0
+	 * @return the maze file
+	 */
+	public static MazeFile of(ByteBuffer buffer) {
+		MazeFile file = new MazeFile(buffer);
+		file.newWorld(); // validates the header
+		return file;
+	}
+
+	private final ByteBuffer buffer;
+	private final int bodyOffset;
+	private final int width;
+	private final int height;
+
+	private MazeFile(ByteBuffer buffer) {
+		this.buffer = buffer;
+		try {
+			if (buffer.getInt(0) != MAGIC) {
+				throw new IllegalArgumentException("Not a maze file");
+			}
+			if (buffer.getInt(4) != VERSION) {
+				throw new IllegalArgumentException("Unsupported maze file version: " + buffer.getInt(4));
+			}
+			bodyOffset = buffer.getInt(8);
+			width = buffer.getInt(12);
+			height = buffer.getInt(16);
+		} catch (IndexOutOfBoundsException x) {
+			throw new IllegalArgumentException("Maze file is truncated");
+		}
+		if (width > Short.MAX_VALUE || height > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Maze file dimensions too large: " + width + "x" + height);
+		}
+		if (width <= 0 || height <= 0 || bodyOffset < 20 || (long) bodyOffset + (long) width * height > buffer.limit()) {
+			throw new IllegalArgumentException("Maze file is truncated or corrupt");
+		}
+	}
+
+	/**
+	 * @return number of columns of the maze
+	 */
+	public int width() {
+		return width;
+	}
+
+	/**
+	 * @return number of rows of the maze
+	 */
+	public int height() {
+		return height;
+	}
+
+	/**
+	 * Creates a new world reading its map from this file. Each world has its own houses, doors and
+	 * food state.
+	 *
+	 * @return new world
+	 */
+	public MappedWorld newWorld() {
+		ByteBuffer header = buffer.duplicate();
+		header.position(20);
+		try {
+			int totalFoodCount = header.getInt();
+			Bed pacManBed = readBed(header);
+			Tile bonusLocation = readTile(header);
+			int numHouses = readCount(header, HOUSE_SIZE);
+			List<House> houses = new ArrayList<>(numHouses);
+			for (int h = 0; h < numHouses; ++h) {
+				HouseBuilder house = House.construct().layout(header.getInt(), header.getInt(), header.getInt(),
+						header.getInt());
+				int numDoors = readCount(header, DOOR_SIZE);
+				for (int d = 0; d < numDoors; ++d) {
+					Direction intoHouse = readDirection(header);
+					house.door(new Door(intoHouse, header.getInt(), header.getInt(), header.getInt(), header.getInt()));
+				}
+				int numBeds = readCount(header, BED_SIZE);
+				for (int b = 0; b < numBeds; ++b) {
+					house.bed(readBed(header));
+				}
+				houses.add(house.build());
+			}
+			int numPortals = readCount(header, PORTAL_SIZE);
+			List<Portal> portals = new ArrayList<>(numPortals);
+			for (int p = 0; p < numPortals; ++p) {
+				portals.add(new Portal(readTile(header), readTile(header), header.get() != 0));
+			}
+			int numOneWayTiles = readCount(header, ONE_WAY_TILE_SIZE);
+			List<OneWayTile> oneWayTiles = new ArrayList<>(numOneWayTiles);
+			for (int i = 0; i < numOneWayTiles; ++i) {
+				Tile tile = readTile(header);
+				oneWayTiles.add(new OneWayTile(tile.col, tile.row, readDirection(header)));
+			}
+			if (header.position() > bodyOffset) {
+				throw new IllegalArgumentException("Maze file header overlaps body");
+			}
+			ByteMap map = new ByteMap(buffer, bodyOffset, width, height);
+			return new MappedWorld(map, pacManBed, houses, portals, oneWayTiles, bonusLocation, totalFoodCount);
+		} catch (BufferUnderflowException x) {
+			throw new IllegalArgumentException("Maze file header is truncated");
+		}
+	}
+
+	/*
+	 * Reads the number of the following records and checks that this many records fit into the rest of
+	 * the header, such that a corrupt count fails before anything is allocated.
+	 */
+	private int readCount(ByteBuffer in, int recordSize) {
+		int count = in.getInt();
+		int remaining = Math.min(bodyOffset, in.limit()) - in.position();
+		if (count < 0 || (long) count * recordSize > remaining) {
+			throw new IllegalArgumentException("Invalid record count in maze file header: " + count);
+		}
+		return count;
+	}
+
+	private static Tile readTile(ByteBuffer in) {
+		return Tile.at(in.getInt(), in.getInt());
+	}
+
+	private static Bed readBed(ByteBuffer in) {
+		int col = in.getInt(), row = in.getInt();
+		return new Bed(col, row, readDirection(in));
+	}
+
+	private static Direction readDirection(ByteBuffer in) {
+		int ordinal = in.get();
+		if (ordinal < 0 || ordinal >= DIRECTIONS.length) {
+			throw new IllegalArgumentException("Invalid direction in maze file: " + ordinal);
+		}
+		return DIRECTIONS[ordinal];
+	}
+}
@@ -0,0 +1,80 @@
+package de.amr.games.pacman.model.world.generator;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeFoodWorld;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+
+/**
+ * Map-based world created by the {@link MazeGenerator}.
+ * <p>
+ * Uses the same map encoding, pellets and bonus food as the Arcade world.
+ *
+ * @author Armin Reichert
+ */
+public class GeneratedWorld extends ArcadeFoodWorld {
+
+	private final long seed;
+	private final Bed pacManBed;
+	private final List<House> houses;
+	private final List<Portal> portals;
+	private final List<OneWayTile> oneWayTiles;
+	private final int totalFoodCount;
+
+	GeneratedWorld(long seed, byte[][] data, Bed pacManBed, List<House> houses, int[] portalRows,
+			List<OneWayTile> oneWayTiles, Tile bonusLocation) {
+		super(data, bonusLocation);
+		this.seed = seed;
+		this.pacManBed = pacManBed;
+		this.houses = List.copyOf(houses);
+		this.portals = IntStream.of(portalRows)
+				.mapToObj(row -> horizontalPortal(Tile.at(1, row), Tile.at(width() - 2, row)))
+				.collect(Collectors.toUnmodifiableList());
+		this.oneWayTiles = List.copyOf(oneWayTiles);
+		totalFoodCount = map.count(B_FOOD);
+	}
+
+	/**
+	 * @return the seed this world has been generated from
+	 */
+	public long seed() {
+		return seed;
+	}
+
+	@Override
+	public int totalFoodCount() {
+		return totalFoodCount;
+	}
+
+	@Override
+	public Stream<House> houses() {
+		return houses.stream();
+	}
+
+	@Override
+	public House house(int i) {
+		return houses.get(i);
+	}
+
+	@Override
+	public Bed pacManBed() {
+		return pacManBed;
+	}
+
+	@Override
+	public Stream<Portal> portals() {
+		return portals.stream();
+	}
+
+	@Override
+	public Stream<OneWayTile> oneWayTiles() {
+		return oneWayTiles.stream();
+	}
+}
@@ -0,0 +1,460 @@
+package de.amr.games.pacman.model.world.generator;
+
+import static de.amr.games.pacman.model.world.core.MapBasedWorld.B_ENERGIZER;
+import static de.amr.games.pacman.model.world.core.MapBasedWorld.B_FOOD;
+import static de.amr.games.pacman.model.world.core.MapBasedWorld.B_INTERSECTION;
+import static de.amr.games.pacman.model.world.core.MapBasedWorld.B_TUNNEL;
+import static de.amr.games.pacman.model.world.core.MapBasedWorld.B_WALL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+
+/**
+ * Generates Pac-Man mazes of arbitrary size.
+ * <p>
+ * The layout follows the Arcade maze: three rows on top and two rows at the bottom are reserved for
+ * the score display, the maze is mirror-symmetric to the vertical center axis and the ghost houses
+ * sit on this axis. Each house has the size of the Arcade house, a door on top, four beds (the first
+ * one in front of the door) and is surrounded by a corridor. Pac-Man's bed is located below the
+ * first house. The corridors are created by a randomized depth-first search on a grid of cells
+ * (tiles in odd columns and even rows) covering the left half of the maze, which is mirrored to the
+ * right half. Dead ends are removed by opening an additional wall, which creates the loops a Pac-Man
+ * maze needs. Portals connect the left and right border, the one-way tiles keep chasing ghosts from
+ * taking the corridors above the house exits.
+ * <p>
+ * The same seed and settings always produce the same maze.
+ *
+ * <pre>
+ * GeneratedWorld world = new MazeGenerator(200, 250).seed(42).houses(3).portals(4).generate();
+ * </pre>
+ *
+ * @author Armin Reichert
+ */
+public class MazeGenerator {
+
+	public static final int MIN_WIDTH = 20;
+	public static final int MIN_HEIGHT = 24;
+
+	/** Minimum number of rows between the centers of two houses. */
+	static final int HOUSE_SPACING = 16;
+
+	static final int TOP_ROWS = 3;
+	static final int BOTTOM_ROWS = 2;
+
+	//@formatter:off
+	private static final byte WALL         = 1 << B_WALL;
+	private static final byte TUNNEL       = 1 << B_TUNNEL;
+	private static final byte INTERSECTION = 1 << B_INTERSECTION;
+	private static final byte FOOD         = 1 << B_FOOD;
+	private static final byte ENERGIZER    = 1 << B_ENERGIZER;
+	//@formatter:on
+
+	private final int width;
+	private final int height;
+	private final int centerCol;
+	private final int firstCellRow;
+	private final int lastCellRow;
+	private final int cellsX;
+	private final int cellsY;
+	private long seed;
+	private int numHouses = 1;
+	private int numPortals = 1;
+
+	// generation state
+	private Random rnd;
+	private boolean[] open;
+	private boolean[] noFood;
+	private boolean[] houseTile;
+	private boolean[] excludedCell;
+	private int[] cellDegree;
+	private int[] houseTopRows;
+
+	/**
+	 * Creates a generator for mazes of the given size.
+	 *
+	 * @param width  number of columns, must be even and at least {@link #MIN_WIDTH}
+	 * @param height number of rows, at least {@link #MIN_HEIGHT}
+	 */
+	public MazeGenerator(int width, int height) {
+		if (width < MIN_WIDTH || width % 2 != 0) {
+			throw new IllegalArgumentException("Maze width must be even and at least " + MIN_WIDTH + ", but is " + width);
+		}
+		if (height < MIN_HEIGHT) {
+			throw new IllegalArgumentException("Maze height must be at least " + MIN_HEIGHT + ", but is " + height);
+		}
+		this.width = width;
+		this.height = height;
+		centerCol = width / 2;
+		firstCellRow = TOP_ROWS + 1;
+		lastCellRow = (height - BOTTOM_ROWS - 2) & ~1;
+		// cells in odd columns left of the center, leaving a wall between the cells and their mirror
+		cellsX = (centerCol - 1) / 2;
+		cellsY = (lastCellRow - firstCellRow) / 2 + 1;
+	}
+
+	public MazeGenerator seed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	public MazeGenerator houses(int numHouses) {
+		if (numHouses < 1 || numHouses > maxHouses()) {
+			throw new IllegalArgumentException(
+					String.format("Number of houses must be in range 1..%d, but is %d", maxHouses(), numHouses));
+		}
+		this.numHouses = numHouses;
+		return this;
+	}
+
+	public MazeGenerator portals(int numPortals) {
+		if (numPortals < 0 || numPortals > maxPortals()) {
+			throw new IllegalArgumentException(
+					String.format("Number of portals must be in range 0..%d, but is %d", maxPortals(), numPortals));
+		}
+		this.numPortals = numPortals;
+		return this;
+	}
+
+	/**
+	 * @return the maximum number of houses fitting into a maze of this height
+	 */
+	public int maxHouses() {
+		return (lastCellRow - firstCellRow) / HOUSE_SPACING;
+	}
+
+	/**
+	 * @return the maximum number of portals fitting into a maze of this height
+	 */
+	public int maxPortals() {
+		return (lastCellRow - firstCellRow) / 4;
+	}
+
+	/**
+	 * Generates a new world.
+	 *
+	 * @return world with the maze generated from the current seed and settings
+	 */
+	public GeneratedWorld generate() {
+		rnd = new Random(seed);
+		open = new boolean[width * height];
+		noFood = new boolean[width * height];
+		houseTile = new boolean[width * height];
+		excludedCell = new boolean[cellsX * cellsY];
+		cellDegree = new int[cellsX * cellsY];
+
+		placeHouses();
+		carveMaze();
+		removeDeadEnds();
+		List<House> houses = new ArrayList<>();
+		List<OneWayTile> oneWayTiles = new ArrayList<>();
+		for (int hy : houseTopRows) {
+			houses.add(carveHouse(hy));
+			oneWayTiles.add(new OneWayTile(centerCol - 2, hy - 2, Direction.DOWN));
+			oneWayTiles.add(new OneWayTile(mirror(centerCol - 2), hy - 2, Direction.DOWN));
+		}
+		int pacManRow = houseTopRows[0] + 11;
+		carveCenterConnectors(pacManRow);
+		Bed pacManBed = new Bed(centerCol - 1, pacManRow, Direction.RIGHT);
+		noFood[index(centerCol - 1, pacManRow)] = noFood[index(centerCol, pacManRow)] = true;
+		int[] portalRows = carvePortals();
+
+		byte[][] data = encode();
+		return new GeneratedWorld(seed, data, pacManBed, houses, portalRows, oneWayTiles,
+				Tile.at(centerCol - 1, houseTopRows[0] + 5));
+	}
+
+	private int index(int col, int row) {
+		return row * width + col;
+	}
+
+	private int mirror(int col) {
+		return width - 1 - col;
+	}
+
+	private void carve(int col, int row) {
+		open[index(col, row)] = true;
+		open[index(mirror(col), row)] = true;
+	}
+
+	private int cellCol(int i) {
+		return 1 + 2 * i;
+	}
+
+	private int cellRow(int j) {
+		return firstCellRow + 2 * j;
+	}
+
+	/*
+	 * House i has its top wall (with the door) in an odd row such that the surrounding corridor lies
+	 * on cell rows. Cells inside the house area (including the surrounding corridor and the column
+	 * left of it) are excluded from the maze.
+	 */
+	private void placeHouses() {
+		houseTopRows = new int[numHouses];
+		int available = lastCellRow - firstCellRow;
+		for (int i = 0; i < numHouses; ++i) {
+			int center = firstCellRow + (2 * i + 1) * available / (2 * numHouses);
+			int hy = (center - 3) | 1;
+			houseTopRows[i] = hy;
+			for (int j = 0; j < cellsY; ++j) {
+				int row = cellRow(j);
+				if (hy - 1 <= row && row <= hy + 5) {
+					for (int k = 0; k < cellsX; ++k) {
+						if (cellCol(k) >= centerCol - 6) {
+							excludedCell[j * cellsX + k] = true;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void carveMaze() {
+		int numCells = cellsX * cellsY;
+		boolean[] visited = new boolean[numCells];
+		int[] stack = new int[numCells];
+		int[] candidates = new int[4];
+		int sp = 0;
+		// the top-left cell is never part of a house area
+		visited[0] = true;
+		carve(cellCol(0), cellRow(0));
+		stack[sp++] = 0;
+		while (sp > 0) {
+			int cell = stack[sp - 1];
+			int numCandidates = neighborCells(cell, candidates);
+			int unvisited = 0;
+			for (int n = 0; n < numCandidates; ++n) {
+				if (!visited[candidates[n]]) {
+					candidates[unvisited++] = candidates[n];
+				}
+			}
+			if (unvisited == 0) {
+				--sp;
+				continue;
+			}
+			int next = candidates[rnd.nextInt(unvisited)];
+			connect(cell, next);
+			visited[next] = true;
+			stack[sp++] = next;
+		}
+	}
+
+	/*
+	 * Stores the non-excluded neighbor cells of the given cell and returns their number.
+	 */
+	private int neighborCells(int cell, int[] neighbors) {
+		int i = cell % cellsX, j = cell / cellsX, n = 0;
+		if (j > 0 && !excludedCell[cell - cellsX]) {
+			neighbors[n++] = cell - cellsX;
+		}
+		if (i < cellsX - 1 && !excludedCell[cell + 1]) {
+			neighbors[n++] = cell + 1;
+		}
+		if (j < cellsY - 1 && !excludedCell[cell + cellsX]) {
+			neighbors[n++] = cell + cellsX;
+		}
+		if (i > 0 && !excludedCell[cell - 1]) {
+			neighbors[n++] = cell - 1;
+		}
+		return n;
+	}
+
+	private int wallIndex(int cell, int neighbor) {
+		int col = (cellCol(cell % cellsX) + cellCol(neighbor % cellsX)) / 2;
+		int row = (cellRow(cell / cellsX) + cellRow(neighbor / cellsX)) / 2;
+		return index(col, row);
+	}
+
+	private void connect(int cell, int neighbor) {
+		int wall = wallIndex(cell, neighbor);
+		carve(wall % width, wall / width);
+		carve(cellCol(neighbor % cellsX), cellRow(neighbor / cellsX));
+		cellDegree[cell] += 1;
+		cellDegree[neighbor] += 1;
+	}
+
+	/*
+	 * Opens an additional wall at each dead end, preferring walls to other dead ends.
+	 */
+	private void removeDeadEnds() {
+		int numCells = cellsX * cellsY;
+		int[] order = new int[numCells];
+		for (int cell = 0; cell < numCells; ++cell) {
+			order[cell] = cell;
+		}
+		for (int k = numCells - 1; k > 0; --k) {
+			int r = rnd.nextInt(k + 1);
+			int swap = order[k];
+			order[k] = order[r];
+			order[r] = swap;
+		}
+		int[] candidates = new int[4];
+		for (int cell : order) {
+			if (excludedCell[cell] || cellDegree[cell] != 1) {
+				continue;
+			}
+			int numCandidates = neighborCells(cell, candidates), closed = 0, deadEnds = 0;
+			for (int n = 0; n < numCandidates; ++n) {
+				if (!open[wallIndex(cell, candidates[n])]) {
+					int neighbor = candidates[n];
+					if (cellDegree[neighbor] == 1) {
+						// move dead ends to the front
+						candidates[closed] = candidates[deadEnds];
+						candidates[deadEnds++] = neighbor;
+						++closed;
+					} else {
+						candidates[closed++] = neighbor;
+					}
+				}
+			}
+			if (closed > 0) {
+				connect(cell, candidates[rnd.nextInt(deadEnds > 0 ? deadEnds : closed)]);
+			}
+		}
+	}
+
+	/*
+	 * Carves a house with the same layout as the Arcade house, the corridor around it and the
+	 * connections of this corridor to the maze.
+	 */
+	private House carveHouse(int hy) {
+		int left = centerCol - 5, right = centerCol + 4;
+		for (int row = hy - 1; row <= hy + 5; ++row) {
+			for (int col = left; col <= right; ++col) {
+				noFood[index(col, row)] = true;
+				boolean corridor = row == hy - 1 || row == hy + 5 || col == left || col == right;
+				boolean inside = hy < row && row < hy + 4 && left + 1 < col && col < right - 1;
+				boolean door = row == hy && (col == centerCol - 1 || col == centerCol);
+				if (corridor || inside || door) {
+					open[index(col, row)] = true;
+				}
+				if (inside || door) {
+					houseTile[index(col, row)] = true;
+				}
+			}
+		}
+		// connect upper and lower corridor sideways to the maze
+		for (int row : new int[] { hy - 1, hy + 5 }) {
+			for (int col = left - 1; col > 0 && !open[index(col, row)]; --col) {
+				carve(col, row);
+			}
+		}
+		// connect upper and lower corridor to the rows above and below
+		carve(centerCol - 2, hy - 2);
+		carve(centerCol - 2, hy + 6);
+		carveCenterRow(hy - 3);
+		carveCenterRow(hy + 7);
+		//@formatter:off
+		return House.construct()
+			.layout(centerCol - 3, hy + 1, 6, 4)
+			.door(new Door(Direction.DOWN, centerCol - 1, hy, 2, 1))
+			.bed(centerCol - 1, hy - 1, Direction.LEFT)
+			.bed(centerCol - 3, hy + 2, Direction.UP)
+			.bed(centerCol - 1, hy + 2, Direction.DOWN)
+			.bed(centerCol + 1, hy + 2, Direction.UP)
+		.build();
+		//@formatter:on
+	}
+
+	private void carveCenterRow(int row) {
+		for (int col = cellCol(cellsX - 1) + 1; col < centerCol; ++col) {
+			carve(col, row);
+		}
+	}
+
+	/*
+	 * Connects the two halves of the maze in Pac-Man's row and in about every fourth row outside of
+	 * the house areas.
+	 */
+	private void carveCenterConnectors(int pacManRow) {
+		carveCenterRow(pacManRow);
+		for (int j = 0; j < cellsY; ++j) {
+			int row = cellRow(j);
+			boolean nearHouse = false;
+			for (int hy : houseTopRows) {
+				nearHouse |= hy - 3 <= row && row <= hy + 7;
+			}
+			if (!nearHouse && rnd.nextInt(4) == 0) {
+				carveCenterRow(row);
+			}
+		}
+	}
+
+	private int[] carvePortals() {
+		int[] rows = new int[numPortals];
+		int available = lastCellRow - firstCellRow;
+		for (int i = 0; i < numPortals; ++i) {
+			int row = (firstCellRow + (2 * i + 1) * available / (2 * numPortals)) & ~1;
+			rows[i] = row;
+			carve(0, row);
+			noFood[index(0, row)] = noFood[index(mirror(0), row)] = true;
+		}
+		return rows;
+	}
+
+	private int accessibleNeighbors(int col, int row) {
+		int count = 0;
+		if (row > 0 && open[index(col, row - 1)] && !houseTile[index(col, row - 1)]) {
+			++count;
+		}
+		if (row < height - 1 && open[index(col, row + 1)] && !houseTile[index(col, row + 1)]) {
+			++count;
+		}
+		if (col > 0 && open[index(col - 1, row)] && !houseTile[index(col - 1, row)]) {
+			++count;
+		}
+		if (col < width - 1 && open[index(col + 1, row)] && !houseTile[index(col + 1, row)]) {
+			++count;
+		}
+		return count;
+	}
+
+	private byte[][] encode() {
+		byte[][] data = new byte[height][width];
+		int[] foodTilesLeft = new int[width * height / 2];
+		int numFoodTilesLeft = 0;
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				int i = index(col, row);
+				if (!open[i]) {
+					data[row][col] = WALL;
+					continue;
+				}
+				if (col == 0 || col == width - 1) {
+					data[row][col] |= TUNNEL;
+				}
+				if (!houseTile[i] && accessibleNeighbors(col, row) >= 3) {
+					data[row][col] |= INTERSECTION;
+				}
+				if (!noFood[i] && !houseTile[i]) {
+					data[row][col] |= FOOD;
+					if (col < centerCol) {
+						foodTilesLeft[numFoodTilesLeft++] = i;
+					}
+				}
+			}
+		}
+		// energizers near the corners and, in larger mazes, one pair for about 120 pellets
+		int[] energizerRows = { cellRow(1), cellRow(cellsY - 2) };
+		for (int row : energizerRows) {
+			data[row][1] |= ENERGIZER;
+			data[row][mirror(1)] |= ENERGIZER;
+		}
+		int pairs = Math.max(0, numFoodTilesLeft / 61 - energizerRows.length);
+		for (int k = 0; k < pairs; ++k) {
+			int i = foodTilesLeft[rnd.nextInt(numFoodTilesLeft)];
+			int col = i % width, row = i / width;
+			data[row][col] |= ENERGIZER;
+			data[row][mirror(col)] |= ENERGIZER;
+		}
+		return data;
+	}
+}
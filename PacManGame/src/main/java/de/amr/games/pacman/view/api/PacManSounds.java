@@ -3,8 +3,6 @@ package de.amr.games.pacman.view.api;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-import de.amr.easy.game.assets.SoundClip;
-
 /**
  * Clips and music.
  * 
@@ -12,52 +10,59 @@ import de.amr.easy.game.assets.SoundClip;
  */
 public interface PacManSounds {
 
-	SoundClip clipCrunching();
+	Sound clipCrunching();
 
-	SoundClip clipEatFruit();
+	Sound clipEatFruit();
 
-	SoundClip clipEatGhost();
+	Sound clipEatGhost();
 
-	SoundClip clipExtraLife();
+	Sound clipExtraLife();
 
-	SoundClip clipGhostChase();
+	Sound clipGhostChase();
 
-	SoundClip clipGhostDead();
+	Sound clipGhostDead();
 
-	SoundClip clipInsertCoin();
+	Sound clipInsertCoin();
 
-	SoundClip clipPacManDies();
+	Sound clipPacManDies();
 
-	SoundClip clipWaza();
+	Sound clipWaza();
 
-	Stream<SoundClip> clips();
+	Stream<Sound> clips();
 
 	void loadMusic();
 
 	boolean isMusicLoaded();
 
-	Stream<SoundClip> loadedMusic();
+	Stream<Sound> loadedMusic();
 
-	Optional<SoundClip> musicGameReady();
+	Optional<Sound> musicGameReady();
 
-	Optional<SoundClip> musicGameRunning();
+	Optional<Sound> musicGameRunning();
 
-	Optional<SoundClip> musicGameOver();
+	Optional<Sound> musicGameOver();
 
-	default void playMusic(Optional<SoundClip> music) {
-		music.ifPresent(SoundClip::play);
+	default void playMusic(Optional<Sound> music) {
+		music.ifPresent(Sound::play);
 	}
 
-	default void stopMusic(Optional<SoundClip> music) {
-		music.ifPresent(SoundClip::stop);
+	default void stopMusic(Optional<Sound> music) {
+		music.ifPresent(Sound::stop);
 	}
 
-	default boolean isMusicRunning(Optional<SoundClip> music) {
-		return music.map(SoundClip::isRunning).orElse(false);
+	default boolean isMusicRunning(Optional<Sound> music) {
+		return music.map(Sound::isRunning).orElse(false);
 	}
 
 	default void stopAll() {
-		clips().forEach(SoundClip::stop);
-		loadedMusic().forEach(SoundClip::stop);
+		clips().forEach(Sound::stop);
+		loadedMusic().forEach(Sound::stop);
+	}
+
+	/**
+	 * Stops all sounds and releases the audio resources.
+	 */
+	default void close() {
+		stopAll();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package de.amr.games.pacman.view.api;
+
+/**
+ * A sound clip or music that can be played.
+ * <p>
+ * Calls only request the change of the playing state, they never block the caller.
+ *
+ * @author Armin Reichert
+ */
+public interface Sound {
+
+	/**
+	 * Plays the sound once from its start.
+	 */
+	void play();
+
+	/**
+	 * Plays the sound repeatedly. If the sound is already playing, it continues from its current
+	 * position.
+	 */
+	void loop();
+
+	/**
+	 * Stops playing the sound.
+	 */
+	void stop();
+
+	/**
+	 * @return if the sound is playing or has been requested to play
+	 */
+	boolean isRunning();
+
+	/**
+	 * @param volume volume between 0 (silent) and 1 (full volume)
+	 */
+	void setVolume(float volume);
+}
@@ -17,14 +17,17 @@ public interface ISpriteRenderer {
 	 */
 	default void drawEntitySprite(Graphics2D g, Entity entity, Sprite sprite, int scaling) {
 		if (entity.visible) {
-			Graphics2D g2 = (Graphics2D) g.create();
 			int w = entity.tf.width, h = entity.tf.height;
-			if (sprite.getWidth() != scaling * w || sprite.getHeight() != scaling * h) {
-				g2.scale(scaling, scaling);
+			boolean scaled = sprite.getWidth() != scaling * w || sprite.getHeight() != scaling * h;
+			if (scaled) {
+				g.scale(scaling, scaling);
 			}
 			float x = entity.tf.x - (sprite.getWidth() - w) / 2, y = entity.tf.y - (sprite.getHeight() - h) / 2;
-			sprite.draw(g2, x, y);
-			g2.dispose();
+			sprite.draw(g, x, y);
+			if (scaled) {
+				// exact for power of two scalings
+				g.scale(1.0 / scaling, 1.0 / scaling);
+			}
 		}
 	}
 }
\ No newline at end of file
@@ -1,37 +1,42 @@
 package de.amr.games.pacman.view.common;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Composite;
 import java.awt.Font;
 import java.awt.Graphics2D;
 
-import de.amr.easy.game.view.Pen;
 import de.amr.games.pacman.model.world.api.Tile;
 
 public class MessagesRenderer {
 
 	private int row;
 	private Color textColor;
+	private Color opaqueTextColor;
 	private Font font;
 	private int fontSize;
 	private boolean smoothText;
 
 	public MessagesRenderer() {
 		row = 21;
-		textColor = Color.YELLOW;
+		setTextColor(Color.YELLOW);
 		font = new Font(Font.MONOSPACED, Font.PLAIN, Tile.SIZE);
 		smoothText = false;
 	}
 
 	public void drawCentered(Graphics2D g, String text, int widthInTiles) {
 		if (text != null) {
-			try (Pen pen = new Pen(g)) {
-				if (smoothText) {
-					pen.turnSmoothRenderingOn();
-				}
-				pen.font(font);
-				pen.color(textColor);
-				pen.move(0, row * Tile.SIZE);
-				pen.hcenter(text, widthInTiles * Tile.SIZE);
+			TextImageCache cache = TextImageCache.SHARED;
+			float width = cache.width(text, font, smoothText);
+			int x = Math.round((widthInTiles * Tile.SIZE - width) / 2);
+			// fading text is drawn from the image of the opaque text
+			if (textColor.getAlpha() < 255) {
+				Composite composite = g.getComposite();
+				g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, textColor.getAlpha() / 255f));
+				cache.draw(g, text, font, opaqueTextColor, smoothText, x, row * Tile.SIZE);
+				g.setComposite(composite);
+			} else {
+				cache.draw(g, text, font, textColor, smoothText, x, row * Tile.SIZE);
 			}
 		}
 	}
@@ -59,6 +64,7 @@ public class MessagesRenderer {
 
 	public void setTextColor(Color color) {
 		this.textColor = color;
+		opaqueTextColor = color.getAlpha() < 255 ? new Color(color.getRGB() & 0xffffff) : color;
 	}
 
 	public void setRow(int row) {
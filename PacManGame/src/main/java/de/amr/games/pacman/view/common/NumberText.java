@@ -0,0 +1,70 @@
+package de.amr.games.pacman.view.common;
+
+/**
+ * Decimal text of a number, padded to a minimum width like {@code String.format("%7d")} or
+ * {@code String.format("%07d")}.
+ * <p>
+ * The text is only recomputed when the number changes, so drawing a counter each frame does not
+ * create a new string each frame.
+ *
+ * @author Armin Reichert
+ */
+public class NumberText {
+
+	private final String prefix;
+	private final int width;
+	private final boolean zeroPadding;
+	private long value;
+	private String text;
+
+	/**
+	 * @param width       minimum width of the text
+	 * @param zeroPadding if the text is padded with zeroes, else with spaces
+	 */
+	public NumberText(int width, boolean zeroPadding) {
+		this("", width, zeroPadding);
+	}
+
+	/**
+	 * @param prefix      text preceding the number
+	 * @param width       minimum width of the number text
+	 * @param zeroPadding if the number text is padded with zeroes, else with spaces
+	 */
+	public NumberText(String prefix, int width, boolean zeroPadding) {
+		this.prefix = prefix;
+		this.width = width;
+		this.zeroPadding = zeroPadding;
+	}
+
+	/**
+	 * @param value a number
+	 * @return the prefix followed by the padded text of the number
+	 */
+	public String of(long value) {
+		if (text == null || value != this.value) {
+			this.value = value;
+			text = format(value);
+		}
+		return text;
+	}
+
+	private String format(long value) {
+		String digits = Long.toString(value);
+		StringBuilder sb = new StringBuilder(prefix.length() + Math.max(width, digits.length()));
+		sb.append(prefix);
+		if (zeroPadding) {
+			if (value < 0) {
+				sb.append('-');
+				digits = digits.substring(1);
+			}
+			while (sb.length() - prefix.length() + digits.length() < width) {
+				sb.append('0');
+			}
+		} else {
+			while (sb.length() - prefix.length() + digits.length() < width) {
+				sb.append(' ');
+			}
+		}
+		return sb.append(digits).toString();
+	}
+}
@@ -5,7 +5,6 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 
-import de.amr.easy.game.view.Pen;
 import de.amr.games.pacman.model.game.Game;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.view.api.IGameScoreRenderer;
@@ -15,66 +14,54 @@ public class PointsCounterRenderer implements IGameScoreRenderer {
 	private Font font = new Font(Font.MONOSPACED, Font.PLAIN, Tile.SIZE);
 	private int topMargin = 1;
 	private int baselineOffset = Tile.SIZE;
+	private final NumberText scoreText = new NumberText(7, false);
+	private final NumberText hiscoreText = new NumberText(7, false);
+	private final NumberText hiscoreLevelText = new NumberText("L", 2, true);
+	private final NumberText levelText = new NumberText(2, true);
+	private final NumberText remainingFoodText = new NumberText(3, true);
 
 	@Override
 	public void render(Graphics2D g, Game game) {
 		g.translate(0, topMargin);
-		try (Pen pen = new Pen(g)) {
-			Color hilight = Color.YELLOW;
-			int interlineSpacing = 2;
-			int col;
-			pen.down(baselineOffset);
-			pen.font(font);
-			pen.turnSmoothRenderingOn();
-	
-			// Game score
-			col = 1;
-			pen.color(hilight);
-			pen.drawAtGridPosition("Score".toUpperCase(), col, 0);
-	
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%7d", game.score), col, 1);
-			pen.up(interlineSpacing);
-	
-			// Highscore
-			col = 9;
-			pen.color(hilight);
-			pen.drawAtGridPosition("High Score".toUpperCase(), col, 0);
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%7d", game.hiscore.points), col, 1);
-			pen.color(Color.LIGHT_GRAY);
-			pen.drawAtGridPosition(String.format("L%02d", game.hiscore.level), col + 7, 1);
-			pen.up(interlineSpacing);
-	
-			col = 21;
-			pen.color(hilight);
-			pen.drawAtGridPosition(String.format("Level".toUpperCase()), col, 0);
-			// Level number
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%02d", game.level.number), col, 1);
-			pen.up(interlineSpacing);
-	
-			// Number of remaining pellets
-			// dot image
-			int size = 4;
-			int dotX = (col + 3) * Tile.SIZE - size - 1;
-			int dotY = topMargin + Tile.SIZE + interlineSpacing + 1;
-			g.setColor(Color.PINK);
-			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-			g.fillOval(dotX, dotY, size, size);
-			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-	
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%03d", game.level.remainingFoodCount()), col + 3, 1);
-			pen.up(interlineSpacing);
-		}
+		Color hilight = Color.YELLOW;
+		int interlineSpacing = 2;
+		int labelY = baselineOffset, valueY = baselineOffset + Tile.SIZE + interlineSpacing;
+		int col;
+
+		// Game score
+		col = 1;
+		drawText(g, "SCORE", hilight, col, labelY);
+		drawText(g, scoreText.of(game.score), Color.WHITE, col, valueY);
+
+		// Highscore
+		col = 9;
+		drawText(g, "HIGH SCORE", hilight, col, labelY);
+		drawText(g, hiscoreText.of(game.hiscore.points), Color.WHITE, col, valueY);
+		drawText(g, hiscoreLevelText.of(game.hiscore.level), Color.LIGHT_GRAY, col + 7, valueY);
+
+		col = 21;
+		drawText(g, "LEVEL", hilight, col, labelY);
+		// Level number
+		drawText(g, levelText.of(game.level.number), Color.WHITE, col, valueY);
+
+		// Number of remaining pellets
+		// dot image
+		int size = 4;
+		int dotX = (col + 3) * Tile.SIZE - size - 1;
+		int dotY = topMargin + Tile.SIZE + interlineSpacing + 1;
+		g.setColor(Color.PINK);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.fillOval(dotX, dotY, size, size);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+
+		drawText(g, remainingFoodText.of(game.level.remainingFoodCount()), Color.WHITE, col + 3, valueY);
 		g.translate(0, -topMargin);
 	}
 
+	private void drawText(Graphics2D g, String text, Color color, int col, int y) {
+		TextImageCache.SHARED.draw(g, text, font, color, true, col * Tile.SIZE, y);
+	}
+
 	public void setFont(Font font) {
 		this.font = font;
 	}
@@ -8,6 +8,7 @@ import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
 import java.awt.RenderingHints;
+import java.awt.Stroke;
 
 import de.amr.easy.game.math.Vector2f;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
@@ -20,6 +21,8 @@ public class Rendering {
 
 	public static final Color[] GRID_PATTERN = { Color.BLACK, new Color(40, 40, 40) };
 
+	private static final Stroke HAIRLINE = new BasicStroke(0.1f);
+
 	private static final Polygon TRIANGLE = new Polygon(new int[] { -4, 4, 0 }, new int[] { 0, 0, 4 }, 3);
 
 	public static void smoothOn(Graphics2D g) {
@@ -70,16 +73,19 @@ public class Rendering {
 	}
 
 	public static void drawDirectionIndicator(Graphics2D g, Color color, boolean fill, Direction dir, int x, int y) {
-		g = (Graphics2D) g.create();
-		g.setStroke(new BasicStroke(0.1f));
+		Stroke stroke = g.getStroke();
+		double angle = (dir.ordinal() - 2) * (PI / 2);
+		g.setStroke(HAIRLINE);
 		g.translate(x, y);
-		g.rotate((dir.ordinal() - 2) * (PI / 2));
+		g.rotate(angle);
 		g.setColor(color);
 		if (fill) {
 			g.fillPolygon(TRIANGLE);
 		} else {
 			g.drawPolygon(TRIANGLE);
 		}
-		g.dispose();
+		g.rotate(-angle);
+		g.translate(-x, -y);
+		g.setStroke(stroke);
 	}
 }
\ No newline at end of file
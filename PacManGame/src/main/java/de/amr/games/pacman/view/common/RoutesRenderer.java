@@ -9,9 +9,10 @@ import static de.amr.games.pacman.view.common.Rendering.ghostColor;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.Stroke;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import de.amr.easy.game.math.Vector2f;
@@ -29,19 +30,42 @@ import de.amr.games.pacman.model.world.api.Tile;
  */
 public class RoutesRenderer {
 
+	private static final Stroke DASHED = new BasicStroke(0.8f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0,
+			new float[] { 3 }, 0);
+	private static final Stroke THIN = new BasicStroke(0.5f);
+	private static final Stroke FINE = new BasicStroke(0.2f);
+
+	private final Map<Color, Color> translucentColors = new HashMap<>();
+	private Folks folks;
+	private Ghost[] ghosts;
+
+	private Color translucent(Color color) {
+		return translucentColors.computeIfAbsent(color, c -> alpha(c, 200));
+	}
+
 	public void renderRoutes(Graphics2D g, Folks folks) {
-		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		if (this.folks != folks) {
+			this.folks = folks;
+			ghosts = folks.ghosts().toArray(Ghost[]::new);
+		}
+		Stroke stroke = g.getStroke();
+		Rendering.smoothOn(g);
 		if (folks.pacMan.isVisible()) {
 			drawPacManRoute(g, folks.pacMan);
 		}
-		folks.ghostsInWorld().filter(Ghost::isVisible).forEach(ghost -> drawGhostRoute(g, ghost));
+		for (Ghost ghost : ghosts) {
+			if (ghost.isVisible() && ghost.world().contains(ghost)) {
+				drawGhostRoute(g, ghost);
+			}
+		}
 		if (folks.inky.isInsideWorld() && folks.inky.isVisible()) {
 			drawInkyChasing(g, folks);
 		}
 		if (folks.clyde.isInsideWorld() && folks.clyde.isVisible()) {
 			drawClydeChasingArea(g, folks);
 		}
-		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+		Rendering.smoothOff(g);
+		g.setStroke(stroke);
 	}
 
 	public void drawPacManRoute(Graphics2D g, PacMan pacMan) {
@@ -68,47 +92,36 @@ public class RoutesRenderer {
 		if (targetTile.isEmpty()) {
 			return;
 		}
-		g = (Graphics2D) g.create();
-		Rendering.smoothOn(g);
-
 		// draw dashed line from ghost position to target tile
-		Stroke dashed = new BasicStroke(0.8f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[] { 3 }, 0);
 		int x1 = ghost.entity.tf.getCenter().roundedX(), y1 = ghost.entity.tf.getCenter().roundedY();
 		int x2 = targetTile.get().centerX(), y2 = targetTile.get().centerY();
-		g.setStroke(dashed);
-		g.setColor(alpha(ghostColor(ghost), 200));
+		g.setStroke(DASHED);
+		g.setColor(translucent(ghostColor(ghost)));
 		g.drawLine(x1, y1, x2, y2);
 
 		// draw solid rectangle indicating target tile
-		g.translate(targetTile.get().x(), targetTile.get().y());
 		g.setColor(ghostColor(ghost));
-		g.setStroke(new BasicStroke(0.5f));
-		g.fillRect(2, 2, 4, 4);
-		g.dispose();
+		g.setStroke(THIN);
+		g.fillRect(targetTile.get().x() + 2, targetTile.get().y() + 2, 4, 4);
 	}
 
 	private void drawTargetTilePath(Graphics2D g, List<Tile> path, Color ghostColor) {
 		if (path == null || path.size() <= 1) {
 			return;
 		}
-		g = (Graphics2D) g.create();
-		Rendering.smoothOn(g);
-		g.setStroke(new BasicStroke(0.5f));
-		g.setColor(alpha(ghostColor, 200));
-		Tile[] tiles = path.toArray(Tile[]::new);
-		int from = 0, to = 1;
-		while (to < tiles.length) {
-			g.drawLine(tiles[from].centerX(), tiles[from].centerY(), tiles[to].centerX(), tiles[to].centerY());
-			if (to == tiles.length - 1) {
-				Optional<Direction> optDir = tiles[from].dirTo(tiles[to]);
-				if (optDir.isPresent()) {
-					drawDirectionIndicator(g, ghostColor, true, optDir.get(), tiles[to].centerX(), tiles[to].centerY());
-				}
-			}
-			++from;
-			++to;
+		g.setStroke(THIN);
+		g.setColor(translucent(ghostColor));
+		Tile from = path.get(0);
+		for (int i = 1; i < path.size(); ++i) {
+			Tile to = path.get(i);
+			g.drawLine(from.centerX(), from.centerY(), to.centerX(), to.centerY());
+			from = to;
+		}
+		Tile last = path.get(path.size() - 1), beforeLast = path.get(path.size() - 2);
+		Optional<Direction> optDir = beforeLast.dirTo(last);
+		if (optDir.isPresent()) {
+			drawDirectionIndicator(g, ghostColor, true, optDir.get(), last.centerX(), last.centerY());
 		}
-		g.dispose();
 	}
 
 	private void drawInkyChasing(Graphics2D g, Folks folks) {
@@ -159,8 +172,8 @@ public class RoutesRenderer {
 		Color ghostColor = ghostColor(clyde);
 		int cx = clyde.tileLocation().centerX(), cy = clyde.tileLocation().centerY();
 		int r = 8 * Tile.SIZE;
-		g.setColor(alpha(ghostColor, 200));
-		g.setStroke(new BasicStroke(0.2f));
+		g.setColor(translucent(ghostColor));
+		g.setStroke(FINE);
 		g.drawOval(cx - r, cy - r, 2 * r, 2 * r);
 	}
 }
\ No newline at end of file
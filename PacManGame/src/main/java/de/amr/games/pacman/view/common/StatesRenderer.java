@@ -15,12 +15,13 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Stroke;
+import java.util.EnumSet;
 
 import de.amr.easy.game.entity.Entity;
-import de.amr.easy.game.view.Pen;
 import de.amr.games.pacman.controller.creatures.Creature;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.game.GhostCommand;
 import de.amr.games.pacman.model.world.api.Direction;
@@ -29,14 +30,29 @@ import de.amr.games.pacman.model.world.api.Tile;
 public class StatesRenderer {
 
 	private static final Font SMALL_FONT = new Font("Arial", Font.PLAIN, 6);
+	private static final Stroke FINE = new BasicStroke(0.2f);
+	private static final EnumSet<GhostState> NAME_SHOWING_STATES = EnumSet.of(DEAD, FRIGHTENED, ENTERING_HOUSE);
+
+	private final StringBuilder text = new StringBuilder();
+	private char[] chars = new char[64];
+	private Folks folks;
+	private Ghost[] ghosts;
 
 	public void renderStates(Graphics2D g, Folks folks, GhostCommand ghostCommand) {
+		if (this.folks != folks) {
+			this.folks = folks;
+			ghosts = folks.ghosts().toArray(Ghost[]::new);
+		}
 		drawActorStates(g, folks, ghostCommand);
 		drawActorsOffTrack(g, folks);
 	}
 
 	private void drawActorStates(Graphics2D g, Folks folks, GhostCommand ghostCommand) {
-		folks.ghostsInWorld().forEach(ghost -> drawGhostState(g, ghost, ghostCommand));
+		for (Ghost ghost : ghosts) {
+			if (ghost.world().contains(ghost)) {
+				drawGhostState(g, ghost, ghostCommand);
+			}
+		}
 		drawPacManState(g, folks.pacMan);
 	}
 
@@ -44,25 +60,32 @@ public class StatesRenderer {
 		if (!pacMan.isVisible() || pacMan.getState() == null) {
 			return;
 		}
-		String text = pacMan.getState().name();
-		if (pacMan.is(POWERFUL)) {
-			text += String.format("(%d)", pacMan.getPowerTicks());
+		text.setLength(0);
+		text.append(pacMan.getState().name());
+		if (pacMan.getState() == POWERFUL) {
+			text.append('(').append(pacMan.getPowerTicks()).append(')');
 		}
 		if (pacMan.state().hasTimer()) {
-			text += String.format("(%d of %d)", pacMan.state().getTicksConsumed(), pacMan.state().getDuration());
+			text.append('(').append(pacMan.state().getTicksConsumed()).append(" of ").append(pacMan.state().getDuration())
+					.append(')');
 		}
 		if (settings.pacManImmortable) {
-			text += " lives " + Rendering.INFTY;
+			text.append(" lives ").append(Rendering.INFTY);
 		}
-		drawEntityState(g, pacMan.entity, text, Color.YELLOW);
+		drawEntityState(g, pacMan.entity, Color.YELLOW);
 	}
 
-	private void drawEntityState(Graphics2D g, Entity entity, String text, Color color) {
-		try (Pen pen = new Pen(g)) {
-			pen.color(color);
-			pen.font(SMALL_FONT);
-			pen.drawCentered(text, entity.tf.getCenter().x, entity.tf.getCenter().y - 2);
+	/* Draws the text buffer centered over the entity from cached glyph images without creating a string. */
+	private void drawEntityState(Graphics2D g, Entity entity, Color color) {
+		int length = text.length();
+		if (chars.length < length) {
+			chars = new char[2 * length];
 		}
+		text.getChars(0, length, chars, 0);
+		TextImageCache cache = TextImageCache.SHARED;
+		float width = cache.charsWidth(chars, 0, length, SMALL_FONT, false);
+		float x = entity.tf.x + entity.tf.width / 2f, y = entity.tf.y + entity.tf.height / 2f - 2;
+		cache.drawChars(g, chars, 0, length, SMALL_FONT, color, false, Math.round(x - width / 2f), Math.round(y));
 	}
 
 	private void drawGhostState(Graphics2D g, Ghost ghost, GhostCommand ghostCommand) {
@@ -72,43 +95,49 @@ public class StatesRenderer {
 		if (ghost.getState() == null) {
 			return; // may happen in test applications where not all ghosts are used
 		}
-		StringBuilder text = new StringBuilder();
+		GhostState state = ghost.getState();
+		text.setLength(0);
 		// show ghost name if not obvious
-		text.append(ghost.is(DEAD, FRIGHTENED, ENTERING_HOUSE) ? ghost.name : "");
+		if (NAME_SHOWING_STATES.contains(state)) {
+			text.append(ghost.name);
+		}
 		// chasing or scattering time
-		if (ghostCommand != null && ghost.is(SCATTERING, CHASING)) {
-			long remaining = ghostCommand.state().getTicksRemaining();
-			String remainingText = formatLargeTicks(remaining);
-			long duration = ghostCommand.state().getDuration();
-			String durationText = formatLargeTicks(duration);
-			text.append(String.format("(%s,%s|%s)", ghost.getState(), remainingText, durationText));
+		if (ghostCommand != null && (state == SCATTERING || state == CHASING)) {
+			text.append('(').append(state).append(',');
+			appendLargeTicks(ghostCommand.state().getTicksRemaining());
+			text.append('|');
+			appendLargeTicks(ghostCommand.state().getDuration());
+			text.append(')');
 		} else {
 			if (ghost.state().hasTimer()) {
-				text.append(String.format("(%s,%d|%d)", ghost.getState(), ghost.state().getTicksRemaining(),
-						ghost.state().getDuration()));
+				text.append('(').append(state).append(',').append(ghost.state().getTicksRemaining()).append('|')
+						.append(ghost.state().getDuration()).append(')');
 			} else {
-				text.append(ghost.getState());
+				text.append(state);
 			}
 		}
-		drawEntityState(g, ghost.entity, text.toString(), ghostColor(ghost));
+		drawEntityState(g, ghost.entity, ghostColor(ghost));
 	}
 
-	private String formatLargeTicks(long ticks) {
+	private void appendLargeTicks(long ticks) {
 		if (ticks <= 1000) {
-			return String.valueOf(ticks);
-		}
-		if (ticks <= 10_000) {
-			return ">1000";
-		}
-		if (ticks <= 100_000) {
-			return ">10_000";
+			text.append(ticks);
+		} else if (ticks <= 10_000) {
+			text.append(">1000");
+		} else if (ticks <= 100_000) {
+			text.append(">10_000");
+		} else {
+			text.append(">100_000");
 		}
-		return ">100_000";
 	}
 
 	private void drawActorsOffTrack(Graphics2D g, Folks folks) {
 		drawActorOffTrack(g, folks.pacMan);
-		folks.ghostsInWorld().forEach(ghost -> drawActorOffTrack(g, ghost));
+		for (Ghost ghost : ghosts) {
+			if (ghost.world().contains(ghost)) {
+				drawActorOffTrack(g, ghost);
+			}
+		}
 	}
 
 	private void drawActorOffTrack(Graphics2D g, Creature<?, ?> creature) {
@@ -116,8 +145,7 @@ public class StatesRenderer {
 			return;
 		}
 		Stroke normal = g.getStroke();
-		Stroke fine = new BasicStroke(0.2f);
-		g.setStroke(fine);
+		g.setStroke(FINE);
 		g.setColor(Color.RED);
 		g.translate(creature.entity.tf.x, creature.entity.tf.y);
 		int w = creature.entity.tf.width, h = creature.entity.tf.height;
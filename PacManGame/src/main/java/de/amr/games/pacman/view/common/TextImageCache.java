@@ -0,0 +1,259 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.amr.easy.game.assets.Assets;
+
+/**
+ * Cache of prerendered text images.
+ * <p>
+ * Drawing a string with {@link Graphics2D#drawString(String, int, int)} shapes and rasterizes the
+ * glyphs each time. Texts that are drawn repeatedly (letters, labels, counters, messages) are
+ * rendered once into a translucent image per font, color and text and then just blitted. The images
+ * are rendered at the scaling of the graphics they are drawn to (see {@link #setScale(int)}), so a
+ * blit maps image pixels 1:1 to screen pixels. The least recently used images are evicted when the
+ * capacity is exceeded.
+ * <p>
+ * Texts that change every frame can be drawn glyph by glyph (see
+ * {@link #drawChars(Graphics2D, char[], int, int, Font, Color, boolean, int, int)}), each glyph is
+ * a cached image then.
+ *
+ * @author Armin Reichert
+ */
+public class TextImageCache {
+
+	/** Cache shared by all renderers, the application sets its scaling. */
+	public static final TextImageCache SHARED = new TextImageCache(512, 1);
+
+	private static final String[] ASCII = new String[128];
+
+	static {
+		for (char c = 0; c < ASCII.length; ++c) {
+			ASCII[c] = String.valueOf(c);
+		}
+	}
+
+	/**
+	 * Prerendered text.
+	 */
+	public static class TextImage {
+
+		final BufferedImage image;
+		final int x, y, width, height;
+		final float advance;
+
+		TextImage(BufferedImage image, int x, int y, int width, int height, float advance) {
+			this.image = image;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.advance = advance;
+		}
+
+		/**
+		 * @return the advance width of the text in unscaled pixels
+		 */
+		public float advance() {
+			return advance;
+		}
+	}
+
+	private static class Key {
+
+		String text;
+		Font font;
+		int rgb;
+		boolean smooth;
+
+		Key set(String text, Font font, Color color, boolean smooth) {
+			this.text = text;
+			this.font = font;
+			this.rgb = color.getRGB();
+			this.smooth = smooth;
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * (31 * text.hashCode() + font.hashCode()) + rgb) + Boolean.hashCode(smooth);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return rgb == other.rgb && smooth == other.smooth && text.equals(other.text) && font.equals(other.font);
+		}
+	}
+
+	private int scale;
+	private final Map<Key, TextImage> images;
+	private final Key probe = new Key();
+	private final Graphics2D measuring;
+
+	/**
+	 * @param capacity maximum number of cached images
+	 * @param scale    scaling of the graphics the images are drawn to
+	 */
+	public TextImageCache(int capacity, int scale) {
+		this.scale = scale;
+		images = new LinkedHashMap<>(2 * capacity, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, TextImage> eldest) {
+				return size() > capacity;
+			}
+		};
+		measuring = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+	}
+
+	/**
+	 * Sets the scaling of the graphics the images are drawn to. Images rendered at another scaling
+	 * are discarded.
+	 *
+	 * @param scale scaling, at least 1
+	 */
+	public void setScale(int scale) {
+		if (scale < 1) {
+			throw new IllegalArgumentException("Scaling must be at least 1, but is " + scale);
+		}
+		if (scale != this.scale) {
+			this.scale = scale;
+			images.clear();
+		}
+	}
+
+	/**
+	 * @return number of cached images
+	 */
+	public int size() {
+		return images.size();
+	}
+
+	/**
+	 * Returns the cached image of a text, rendering it if not yet cached.
+	 *
+	 * @param text   text
+	 * @param font   font
+	 * @param color  text color
+	 * @param smooth if text antialiasing is used
+	 * @return the text image
+	 */
+	public TextImage get(String text, Font font, Color color, boolean smooth) {
+		TextImage textImage = images.get(probe.set(text, font, color, smooth));
+		if (textImage == null) {
+			textImage = render(text, font, color, smooth);
+			images.put(new Key().set(text, font, color, smooth), textImage);
+		}
+		return textImage;
+	}
+
+	private TextImage render(String text, Font font, Color color, boolean smooth) {
+		Font scaledFont = scale == 1 ? font : font.deriveFont(font.getSize2D() * scale);
+		FontMetrics fm = measuring.getFontMetrics(scaledFont);
+		int ascent = (fm.getAscent() + scale - 1) / scale;
+		int height = ascent + (fm.getDescent() + scale - 1) / scale;
+		int advance = fm.stringWidth(text);
+		// one pixel margin left and right for glyphs exceeding their advance
+		int width = (advance + scale - 1) / scale + 2;
+		BufferedImage image = Assets.createBufferedImage(width * scale, Math.max(1, height) * scale,
+				Transparency.TRANSLUCENT);
+		Graphics2D g = image.createGraphics();
+		if (smooth) {
+			Rendering.smoothOn(g);
+		}
+		g.setFont(scaledFont);
+		g.setColor(color);
+		g.drawString(text, scale, ascent * scale);
+		g.dispose();
+		return new TextImage(image, -1, -ascent, width, Math.max(1, height), (float) advance / scale);
+	}
+
+	/**
+	 * Draws a text.
+	 *
+	 * @param g      graphics context
+	 * @param text   text
+	 * @param font   font
+	 * @param color  text color
+	 * @param smooth if text antialiasing is used
+	 * @param x      x-coordinate of the text start
+	 * @param y      y-coordinate of the baseline
+	 * @return the advance width of the text
+	 */
+	public float draw(Graphics2D g, String text, Font font, Color color, boolean smooth, int x, int y) {
+		TextImage textImage = get(text, font, color, smooth);
+		g.drawImage(textImage.image, x + textImage.x, y + textImage.y, textImage.width, textImage.height, null);
+		return textImage.advance;
+	}
+
+	/**
+	 * @param text   text
+	 * @param font   font
+	 * @param smooth if text antialiasing is used
+	 * @return the advance width of the text
+	 */
+	public float width(String text, Font font, boolean smooth) {
+		return get(text, font, Color.WHITE, smooth).advance;
+	}
+
+	/**
+	 * Draws characters glyph by glyph using a cached image for each ASCII glyph. Other characters are
+	 * drawn directly.
+	 *
+	 * @param g      graphics context
+	 * @param chars  characters
+	 * @param offset index of first character
+	 * @param length number of characters
+	 * @param font   font
+	 * @param color  text color
+	 * @param smooth if text antialiasing is used
+	 * @param x      x-coordinate of the text start
+	 * @param y      y-coordinate of the baseline
+	 */
+	public void drawChars(Graphics2D g, char[] chars, int offset, int length, Font font, Color color, boolean smooth,
+			int x, int y) {
+		float cursor = x;
+		for (int i = offset; i < offset + length; ++i) {
+			char c = chars[i];
+			if (c < ASCII.length) {
+				cursor += draw(g, ASCII[c], font, color, smooth, Math.round(cursor), y);
+			} else {
+				g.setFont(font);
+				g.setColor(color);
+				g.drawChars(chars, i, 1, Math.round(cursor), y);
+				cursor += measuring.getFontMetrics(font).charWidth(c);
+			}
+		}
+	}
+
+	/**
+	 * @param chars  characters
+	 * @param offset index of first character
+	 * @param length number of characters
+	 * @param font   font
+	 * @param smooth if text antialiasing is used
+	 * @return the width of the characters when drawn glyph by glyph
+	 */
+	public float charsWidth(char[] chars, int offset, int length, Font font, boolean smooth) {
+		float width = 0;
+		for (int i = offset; i < offset + length; ++i) {
+			char c = chars[i];
+			width += c < ASCII.length ? width(ASCII[c], font, smooth) : measuring.getFontMetrics(font).charWidth(c);
+		}
+		return width;
+	}
+}
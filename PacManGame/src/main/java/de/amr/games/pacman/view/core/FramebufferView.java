@@ -0,0 +1,97 @@
+package de.amr.games.pacman.view.core;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import de.amr.easy.game.assets.Assets;
+import de.amr.games.pacman.view.api.PacManGameView;
+import de.amr.games.pacman.view.api.Theme;
+
+/**
+ * Draws a game view at its native resolution into an offscreen image and draws this image scaled
+ * to the screen in a single blit using nearest-neighbor interpolation.
+ * <p>
+ * All sprites, shapes and texts of the view are rasterized at native resolution, only the final
+ * image is scaled. This makes the rendering cost of the view independent of the scaling and window
+ * size. The lifecycle and theme methods are delegated to the content view.
+ *
+ * @author Armin Reichert
+ */
+public class FramebufferView implements PacManGameView {
+
+	private final int width;
+	private final int height;
+	private BufferedImage frame;
+	private PacManGameView content;
+
+	/**
+	 * @param width  native width of the views in pixels
+	 * @param height native height of the views in pixels
+	 */
+	public FramebufferView(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	public PacManGameView getContent() {
+		return content;
+	}
+
+	public void setContent(PacManGameView content) {
+		this.content = content;
+	}
+
+	@Override
+	public void draw(Graphics2D g) {
+		if (content == null) {
+			return;
+		}
+		if (frame == null) {
+			frame = Assets.createBufferedImage(width, height, Transparency.OPAQUE);
+		}
+		Graphics2D frameGraphics = frame.createGraphics();
+		frameGraphics.setColor(Color.BLACK);
+		frameGraphics.fillRect(0, 0, width, height);
+		content.draw(frameGraphics);
+		frameGraphics.dispose();
+		Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		g.drawImage(frame, 0, 0, null);
+		if (interpolation != null) {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		}
+	}
+
+	@Override
+	public void init() {
+		content.init();
+	}
+
+	@Override
+	public void update() {
+		content.update();
+	}
+
+	@Override
+	public void exit() {
+		content.exit();
+	}
+
+	@Override
+	public boolean isComplete() {
+		return content.isComplete();
+	}
+
+	@Override
+	public Theme getTheme() {
+		return content.getTheme();
+	}
+
+	@Override
+	public void setTheme(Theme theme) {
+		content.setTheme(theme);
+	}
+}
@@ -0,0 +1,354 @@
+package de.amr.games.pacman.view.core;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import de.amr.games.pacman.view.api.Sound;
+
+/**
+ * Plays sounds decoded to PCM samples by mixing them on a thread of its own.
+ * <p>
+ * Sounds are decoded once when they are loaded. The mixer thread is started when the first sound is
+ * played. It mixes the playing sounds in periods of {@value #PERIOD_FRAMES} frames into preallocated
+ * buffers and writes them to an audio line holding {@value #LINE_PERIODS} periods, which bounds the
+ * latency of a sound to about 50 milliseconds. Play, loop and stop requests are passed to the mixer
+ * thread through a preallocated ring buffer, so requesting a sound allocates nothing and the game
+ * loop never waits for the audio system. Requests exceeding the {@value #QUEUE_SIZE} pending ones are
+ * ignored. {@link #close()} stops the mixer thread and closes the line, playing a sound afterwards
+ * starts a new mixer thread.
+ * <p>
+ * Requesting a sound takes no lock: a requesting thread reserves a slot of the ring buffer by a
+ * compare-and-set on its tail and then publishes the command in the slot. The mixer thread executes
+ * the published commands in slot order. Each state flag of a sound is written by one side only: the
+ * requesting side records the requested state and the number of the latest play request, the mixer
+ * thread records which play request has ended.
+ * <p>
+ * If no audio line is available, all sounds stay silent.
+ *
+ * @author Armin Reichert
+ */
+public class SoundMixer {
+
+	/** Format of the mixed output: 44.1 kHz, 16 bit signed, stereo, little endian. */
+	public static final AudioFormat FORMAT = new AudioFormat(44100, 16, 2, true, false);
+
+	private static final int PERIOD_FRAMES = 512;
+	private static final int LINE_PERIODS = 4;
+
+	// number of pending commands, power of two
+	private static final int QUEUE_SIZE = 256;
+
+	private static final int PLAY = 0, LOOP = 1, STOP = 2;
+
+	private class Voice implements Sound {
+
+		final int index;
+		final short[] samples; // interleaved stereo samples
+		volatile float volume = 1;
+
+		// only written on the requesting side
+		volatile boolean requested;
+		final AtomicInteger starts = new AtomicInteger();
+
+		// only written by the mixer thread
+		volatile int ended;
+		boolean active;
+		boolean looping;
+		int position;
+		int playing;
+
+		Voice(int index, short[] samples) {
+			this.index = index;
+			this.samples = samples;
+		}
+
+		@Override
+		public void play() {
+			request(this, PLAY);
+		}
+
+		@Override
+		public void loop() {
+			request(this, LOOP);
+		}
+
+		@Override
+		public void stop() {
+			request(this, STOP);
+		}
+
+		@Override
+		public boolean isRunning() {
+			return available && requested && ended != starts.get();
+		}
+
+		@Override
+		public void setVolume(float volume) {
+			this.volume = Math.max(0, Math.min(volume, 1));
+		}
+	}
+
+	// command = play request number << 32 | voice index << 2 | operation
+	private final long[] queue = new long[QUEUE_SIZE];
+	// slot i holds the command with sequence number n once published[i] == n + 1
+	private final AtomicIntegerArray published = new AtomicIntegerArray(QUEUE_SIZE);
+	private volatile int queueHead; // written by the mixer thread
+	private final AtomicInteger queueTail = new AtomicInteger(); // reserved on the requesting side
+	private volatile Voice[] voices = new Voice[0];
+	private volatile boolean available = true;
+	private final AtomicReference<Thread> thread = new AtomicReference<>();
+	private volatile boolean queueOverflow;
+
+	/**
+	 * Loads and decodes a sound from a class path resource.
+	 *
+	 * @param path resource path of the sound file, the format must be supported by the audio system
+	 * @return the sound
+	 * @throws IllegalArgumentException if the sound cannot be loaded
+	 */
+	public Sound load(String path) {
+		InputStream stream = getClass().getResourceAsStream(path.startsWith("/") ? path : "/" + path);
+		if (stream == null) {
+			throw new IllegalArgumentException("Sound not found: " + path);
+		}
+		short[] samples;
+		try (InputStream in = new BufferedInputStream(stream)) {
+			samples = decode(in);
+		} catch (IOException | UnsupportedAudioFileException x) {
+			throw new IllegalArgumentException("Sound cannot be decoded: " + path, x);
+		}
+		synchronized (this) {
+			Voice voice = new Voice(voices.length, samples);
+			Voice[] extended = Arrays.copyOf(voices, voices.length + 1);
+			extended[voices.length] = voice;
+			voices = extended;
+			return voice;
+		}
+	}
+
+	/**
+	 * Stops all sounds.
+	 */
+	public void stopAll() {
+		for (Voice voice : voices) {
+			voice.stop();
+		}
+	}
+
+	/**
+	 * Stops the mixer thread after the sound written to the line has been played and closes the line.
+	 * Waits until the mixer thread has ended.
+	 */
+	public void close() {
+		Thread mixerThread = thread.getAndSet(null);
+		if (mixerThread == null) {
+			return;
+		}
+		try {
+			mixerThread.join();
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void request(Voice voice, int op) {
+		if (!available) {
+			return;
+		}
+		if (thread.get() == null) {
+			if (op == STOP) {
+				voice.requested = false; // nothing is playing
+				return;
+			}
+			Thread mixerThread = new Thread(this::mix, "SoundMixer");
+			mixerThread.setDaemon(true);
+			mixerThread.setPriority(Thread.MAX_PRIORITY);
+			if (thread.compareAndSet(null, mixerThread)) {
+				mixerThread.start();
+			}
+		}
+		int tail;
+		do {
+			tail = queueTail.get();
+			if (tail - queueHead >= QUEUE_SIZE) {
+				if (!queueOverflow) {
+					loginfo("Sound requests dropped, mixer is not responding");
+					queueOverflow = true;
+				}
+				return;
+			}
+		} while (!queueTail.compareAndSet(tail, tail + 1));
+		queueOverflow = false;
+		// the sequence number of the command is the play request number, so the latest play request
+		// executed by the mixer is also the one with the highest number
+		int start = tail + 1;
+		if (op == STOP) {
+			voice.requested = false;
+		} else {
+			voice.starts.accumulateAndGet(start, SoundMixer::later);
+			voice.requested = true;
+		}
+		queue[tail & (QUEUE_SIZE - 1)] = (long) start << 32 | voice.index << 2 | op;
+		published.set(tail & (QUEUE_SIZE - 1), start);
+	}
+
+	private static int later(int number, int other) {
+		return other - number > 0 ? other : number;
+	}
+
+	private void mix() {
+		SourceDataLine line;
+		try {
+			line = AudioSystem.getSourceDataLine(FORMAT);
+			line.open(FORMAT, LINE_PERIODS * PERIOD_FRAMES * FORMAT.getFrameSize());
+		} catch (LineUnavailableException | IllegalArgumentException | SecurityException x) {
+			loginfo("No audio line available, sounds are off: %s", x.getMessage());
+			available = false;
+			return;
+		}
+		line.start();
+		int[] mixed = new int[2 * PERIOD_FRAMES];
+		byte[] output = new byte[PERIOD_FRAMES * FORMAT.getFrameSize()];
+		Thread self = Thread.currentThread();
+		while (thread.get() == self) {
+			executeCommands();
+			Arrays.fill(mixed, 0);
+			for (Voice voice : voices) {
+				if (voice.active) {
+					mixVoice(voice, mixed);
+				}
+			}
+			for (int i = 0; i < mixed.length; ++i) {
+				int sample = Math.max(Short.MIN_VALUE, Math.min(mixed[i], Short.MAX_VALUE));
+				output[2 * i] = (byte) sample;
+				output[2 * i + 1] = (byte) (sample >> 8);
+			}
+			// blocks until the line has room for the period
+			line.write(output, 0, output.length);
+		}
+		line.drain();
+		line.stop();
+		line.close();
+		// the sounds end with the line, requests not yet executed are discarded
+		executeCommands();
+		for (Voice voice : voices) {
+			if (voice.active) {
+				end(voice);
+			}
+		}
+	}
+
+	private void executeCommands() {
+		int head = queueHead;
+		while (published.get(head & (QUEUE_SIZE - 1)) == head + 1) {
+			execute(queue[head & (QUEUE_SIZE - 1)]);
+			queueHead = ++head;
+		}
+	}
+
+	private void execute(long command) {
+		Voice voice = voices[(int) command >>> 2];
+		int start = (int) (command >>> 32);
+		switch ((int) command & 3) {
+		case PLAY:
+			voice.position = 0;
+			voice.looping = false;
+			voice.active = true;
+			voice.playing = start;
+			break;
+		case LOOP:
+			if (!voice.active) {
+				voice.position = 0;
+				voice.active = true;
+			}
+			voice.looping = true;
+			voice.playing = start;
+			break;
+		case STOP:
+			voice.active = false;
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void end(Voice voice) {
+		voice.active = false;
+		voice.ended = voice.playing;
+	}
+
+	private void mixVoice(Voice voice, int[] mixed) {
+		short[] samples = voice.samples;
+		int gain = Math.round(voice.volume * 256);
+		int i = 0;
+		while (i < mixed.length) {
+			if (voice.position == samples.length) {
+				if (voice.looping && samples.length > 0) {
+					voice.position = 0;
+				} else {
+					end(voice);
+					return;
+				}
+			}
+			int count = Math.min(mixed.length - i, samples.length - voice.position);
+			for (int k = 0; k < count; ++k) {
+				mixed[i + k] += (samples[voice.position + k] * gain) >> 8;
+			}
+			i += count;
+			voice.position += count;
+		}
+	}
+
+	/*
+	 * Decodes a sound into 16 bit stereo samples at the output sample rate. Mono sounds are played on
+	 * both channels, other sample rates are converted by linear interpolation.
+	 */
+	private static short[] decode(InputStream in) throws IOException, UnsupportedAudioFileException {
+		try (AudioInputStream encoded = AudioSystem.getAudioInputStream(in)) {
+			AudioFormat base = encoded.getFormat();
+			int channels = base.getChannels();
+			float rate = base.getSampleRate();
+			AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, rate, 16, channels, 2 * channels, rate,
+					false);
+			try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, encoded)) {
+				byte[] bytes = pcm.readAllBytes();
+				int frames = bytes.length / (2 * channels);
+				if (frames == 0) {
+					return new short[0];
+				}
+				double step = rate / FORMAT.getSampleRate();
+				int outFrames = (int) (frames / step);
+				short[] samples = new short[2 * outFrames];
+				for (int frame = 0; frame < outFrames; ++frame) {
+					double pos = frame * step;
+					int frame0 = (int) pos, frame1 = Math.min(frame0 + 1, frames - 1);
+					double t = pos - frame0;
+					for (int ch = 0; ch < 2; ++ch) {
+						int source = Math.min(ch, channels - 1);
+						int a = sample(bytes, frame0 * channels + source), b = sample(bytes, frame1 * channels + source);
+						samples[2 * frame + ch] = (short) Math.round(a + (b - a) * t);
+					}
+				}
+				return samples;
+			}
+		}
+	}
+
+	private static int sample(byte[] bytes, int index) {
+		return (short) ((bytes[2 * index] & 0xff) | (bytes[2 * index + 1] << 8));
+	}
+}
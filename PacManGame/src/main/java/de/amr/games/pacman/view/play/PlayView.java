@@ -13,6 +13,10 @@ import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.model.game.Game;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.view.api.IGameScoreRenderer;
+import de.amr.games.pacman.view.api.IGhostRenderer;
+import de.amr.games.pacman.view.api.IPacManRenderer;
+import de.amr.games.pacman.view.api.IWorldRenderer;
 import de.amr.games.pacman.view.api.PacManGameView;
 import de.amr.games.pacman.view.api.Theme;
 import de.amr.games.pacman.view.common.MessagesRenderer;
@@ -45,6 +49,15 @@ public class PlayView implements PacManGameView {
 
 	protected Theme theme;
 	protected MessagesRenderer messagesRenderer;
+	protected IWorldRenderer worldRenderer;
+	protected IPacManRenderer pacManRenderer;
+	protected IGhostRenderer[] ghostRenderers;
+	protected IGameScoreRenderer pointsCounterRenderer;
+	protected IGameScoreRenderer livesCounterRenderer;
+	protected IGameScoreRenderer levelCounterRenderer;
+
+	/** The ghosts, renderers are held at the same index. */
+	protected final Ghost[] ghosts;
 
 	protected boolean showingScores = true;
 
@@ -53,6 +66,7 @@ public class PlayView implements PacManGameView {
 		this.folks = folks;
 		this.game = game;
 		messages = new Message[] { new Message(15), new Message(21) };
+		ghosts = folks.ghosts().toArray(Ghost[]::new);
 		setTheme(theme);
 	}
 
@@ -76,6 +90,16 @@ public class PlayView implements PacManGameView {
 			messagesRenderer = theme.messagesRenderer();
 			folks.pacMan.setTheme(theme);
 			folks.ghosts().forEach(ghost -> ghost.setTheme(theme));
+			// renderers are held by the view, so drawing a frame does not create renderers
+			worldRenderer = theme.worldRenderer(world);
+			pacManRenderer = theme.pacManRenderer(folks.pacMan);
+			ghostRenderers = new IGhostRenderer[ghosts.length];
+			for (int i = 0; i < ghosts.length; ++i) {
+				ghostRenderers[i] = theme.ghostRenderer(ghosts[i]);
+			}
+			pointsCounterRenderer = theme.pointsCounterRenderer();
+			livesCounterRenderer = theme.livesCounterRenderer();
+			levelCounterRenderer = theme.levelCounterRenderer();
 		}
 	}
 
@@ -131,7 +155,7 @@ public class PlayView implements PacManGameView {
 	}
 
 	protected void drawWorld(Graphics2D g) {
-		theme.worldRenderer(world).render(g, world);
+		worldRenderer.render(g, world);
 	}
 
 	protected void drawMessages(Graphics2D g) {
@@ -145,34 +169,47 @@ public class PlayView implements PacManGameView {
 	}
 
 	protected void drawPacMan(Graphics2D g, PacMan pacMan) {
-		theme.pacManRenderer(pacMan).render(g, pacMan);
+		pacManRenderer.render(g, pacMan);
 	}
 
-	protected void drawGhost(Graphics2D g, Ghost ghost) {
-		theme.ghostRenderer(ghost).render(g, ghost);
+	protected void drawGhost(Graphics2D g, int i) {
+		ghostRenderers[i].render(g, ghosts[i]);
 	}
 
 	protected void drawActors(Graphics2D g) {
 		drawPacMan(g, folks.pacMan);
-		ghostsInsideWorld().filter(ghost -> ghost.is(DEAD, ENTERING_HOUSE)).forEach(ghost -> drawGhost(g, ghost));
-		ghostsInsideWorld().filter(ghost -> !ghost.is(DEAD, ENTERING_HOUSE)).forEach(ghost -> drawGhost(g, ghost));
+		// dead ghosts first, so they are drawn below the others
+		for (int i = 0; i < ghosts.length; ++i) {
+			if (world.contains(ghosts[i]) && isDeadOrEnteringHouse(ghosts[i])) {
+				drawGhost(g, i);
+			}
+		}
+		for (int i = 0; i < ghosts.length; ++i) {
+			if (world.contains(ghosts[i]) && !isDeadOrEnteringHouse(ghosts[i])) {
+				drawGhost(g, i);
+			}
+		}
+	}
+
+	private boolean isDeadOrEnteringHouse(Ghost ghost) {
+		return ghost.getState() == DEAD || ghost.getState() == ENTERING_HOUSE;
 	}
 
 	protected void drawScores(Graphics2D g) {
 		if (showingScores) {
-			theme.pointsCounterRenderer().render(g, game);
+			pointsCounterRenderer.render(g, game);
 		}
 	}
 
 	protected void drawLiveCounter(Graphics2D g) {
 		g.translate(Tile.SIZE, (world.height() - 2) * Tile.SIZE);
-		theme.livesCounterRenderer().render(g, game);
+		livesCounterRenderer.render(g, game);
 		g.translate(-Tile.SIZE, -(world.height() - 2) * Tile.SIZE);
 	}
 
 	protected void drawLevelCounter(Graphics2D g) {
 		g.translate(world.width() * Tile.SIZE, (world.height() - 2) * Tile.SIZE);
-		theme.levelCounterRenderer().render(g, game);
+		levelCounterRenderer.render(g, game);
 		g.translate(-world.width() * Tile.SIZE, -(world.height() - 2) * Tile.SIZE);
 	}
 }
\ No newline at end of file
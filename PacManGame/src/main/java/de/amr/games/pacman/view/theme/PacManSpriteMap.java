@@ -1,5 +1,6 @@
 package de.amr.games.pacman.view.theme;
 
+import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.SpriteMap;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.view.theme.arcade.ArcadeSprites;
@@ -7,10 +8,36 @@ import de.amr.games.pacman.view.theme.arcade.ArcadeTheme;
 
 public class PacManSpriteMap extends SpriteMap {
 
+	// walking sprites indexed by direction ordinal, the renderer needs no key lookup per frame
+	private final Sprite[] walking = new Sprite[Direction.values().length];
+	private final Sprite collapsing;
+	private final Sprite full;
+
 	public PacManSpriteMap() {
 		ArcadeSprites sprites = ArcadeTheme.THEME.$value("sprites");
-		Direction.dirs().forEach(dir -> set("walking-" + dir, sprites.makeSprite_pacManWalking(dir)));
-		set("collapsing", sprites.makeSprite_pacManCollapsing());
-		set("full", sprites.makeSprite_pacManFull());
+		Direction.dirs().forEach(dir -> {
+			walking[dir.ordinal()] = sprites.makeSprite_pacManWalking(dir);
+			set("walking-" + dir, walking[dir.ordinal()]);
+		});
+		collapsing = sprites.makeSprite_pacManCollapsing();
+		set("collapsing", collapsing);
+		full = sprites.makeSprite_pacManFull();
+		set("full", full);
+	}
+
+	/**
+	 * @param dir move direction
+	 * @return the walking sprite for this direction
+	 */
+	public Sprite walking(Direction dir) {
+		return walking[dir.ordinal()];
+	}
+
+	public Sprite collapsing() {
+		return collapsing;
+	}
+
+	public Sprite full() {
+		return full;
 	}
 }
@@ -1,16 +1,21 @@
 package de.amr.games.pacman.view.theme.arcade;
 
+import static de.amr.easy.game.Application.loginfo;
+
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
-import de.amr.easy.game.assets.Assets;
-import de.amr.easy.game.assets.SoundClip;
 import de.amr.games.pacman.view.api.PacManSounds;
+import de.amr.games.pacman.view.api.Sound;
+import de.amr.games.pacman.view.core.SoundMixer;
 
 /**
  * Clips and music.
+ * <p>
+ * All clips are decoded when the sounds are created, the music when it is loaded. They are played
+ * by a sound mixer. If the music cannot be loaded, the game runs without music.
  * 
  * @author Armin Reichert
  */
@@ -18,66 +23,91 @@ public class ArcadeSounds implements PacManSounds {
 
 	public static final ArcadeSounds SOUNDS = new ArcadeSounds();
 
-	private static SoundClip mp3(String name) {
-		return Assets.sound("themes/arcade/sounds/" + name + ".mp3");
+	private final SoundMixer mixer = new SoundMixer();
+	private final Sound crunching, eatFruit, eatGhost, extraLife, ghostChase, ghostDead, insertCoin, pacManDies, waza;
+	private volatile Sound musicGameReady, musicGameRunning, musicGameOver;
+	private volatile boolean musicUnavailable;
+
+	private ArcadeSounds() {
+		crunching = mp3("eating");
+		eatFruit = mp3("eat-fruit");
+		eatGhost = mp3("eat-ghost");
+		extraLife = mp3("extra-life");
+		ghostChase = mp3("ghost-chase");
+		ghostDead = mp3("ghost-dead");
+		insertCoin = mp3("insert-coin");
+		pacManDies = mp3("die");
+		waza = mp3("waza");
 	}
 
-	private SoundClip musicGameReady, musicGameRunning, musicGameOver;
+	private Sound mp3(String name) {
+		return mixer.load("themes/arcade/sounds/" + name + ".mp3");
+	}
+
+	@Override
+	public Stream<Sound> clips() {
+		return Stream.of(crunching, eatFruit, eatGhost, extraLife, ghostChase, ghostDead, insertCoin, pacManDies, waza);
+	}
+
+	@Override
+	public Sound clipEatFruit() {
+		return eatFruit;
+	}
 
 	@Override
-	public Stream<SoundClip> clips() {
-		return Stream.of(clipCrunching(), clipEatFruit(), clipEatGhost(), clipExtraLife(), clipGhostChase(), clipGhostDead(),
-				clipInsertCoin(), clipPacManDies(), clipWaza());
+	public Sound clipEatGhost() {
+		return eatGhost;
 	}
 
 	@Override
-	public SoundClip clipEatFruit() {
-		return mp3("eat-fruit");
+	public Sound clipCrunching() {
+		return crunching;
 	}
 
 	@Override
-	public SoundClip clipEatGhost() {
-		return mp3("eat-ghost");
+	public Sound clipExtraLife() {
+		return extraLife;
 	}
 
 	@Override
-	public SoundClip clipCrunching() {
-		return mp3("eating");
+	public Sound clipGhostChase() {
+		return ghostChase;
 	}
 
 	@Override
-	public SoundClip clipExtraLife() {
-		return mp3("extra-life");
+	public Sound clipGhostDead() {
+		return ghostDead;
 	}
 
 	@Override
-	public SoundClip clipGhostChase() {
-		return mp3("ghost-chase");
+	public Sound clipInsertCoin() {
+		return insertCoin;
 	}
 
 	@Override
-	public SoundClip clipGhostDead() {
-		return mp3("ghost-dead");
+	public Sound clipPacManDies() {
+		return pacManDies;
 	}
 
 	@Override
-	public SoundClip clipInsertCoin() {
-		return mp3("insert-coin");
+	public Sound clipWaza() {
+		return waza;
 	}
 
 	@Override
-	public SoundClip clipPacManDies() {
-		return mp3("die");
+	public void stopAll() {
+		mixer.stopAll();
 	}
 
 	@Override
-	public SoundClip clipWaza() {
-		return mp3("waza");
+	public void close() {
+		mixer.close();
 	}
 
 	@Override
 	public boolean isMusicLoaded() {
-		return musicGameReady().isPresent() && musicGameRunning().isPresent() && musicGameOver().isPresent();
+		return musicUnavailable
+				|| musicGameReady().isPresent() && musicGameRunning().isPresent() && musicGameOver().isPresent();
 	}
 
 	@Override
@@ -86,26 +116,30 @@ public class ArcadeSounds implements PacManSounds {
 			musicGameReady = mp3("ready");
 			musicGameRunning = mp3("bgmusic");
 			musicGameOver = mp3("ending");
+		}).exceptionally(x -> {
+			loginfo("Music could not be loaded, playing without music: %s", x.getMessage());
+			musicUnavailable = true;
+			return null;
 		});
 	}
 
 	@Override
-	public Stream<SoundClip> loadedMusic() {
+	public Stream<Sound> loadedMusic() {
 		return Stream.of(musicGameReady, musicGameRunning, musicGameOver).filter(Objects::nonNull);
 	}
 
 	@Override
-	public Optional<SoundClip> musicGameOver() {
+	public Optional<Sound> musicGameOver() {
 		return Optional.ofNullable(musicGameOver);
 	}
 
 	@Override
-	public Optional<SoundClip> musicGameReady() {
+	public Optional<Sound> musicGameReady() {
 		return Optional.ofNullable(musicGameReady);
 	}
 
 	@Override
-	public Optional<SoundClip> musicGameRunning() {
+	public Optional<Sound> musicGameRunning() {
 		return Optional.ofNullable(musicGameRunning);
 	}
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ import static de.amr.easy.game.ui.sprites.AnimationType.CYCLIC;
 import static de.amr.easy.game.ui.sprites.AnimationType.LINEAR;
 
 import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,9 +26,9 @@ public class ArcadeSprites {
 
 	private static final int TILE_SIZE = 16;
 
-	private final BufferedImage spriteSheet = Assets.readImage("themes/arcade/sprites.png");
-	private final BufferedImage imageMazeEmpty = Assets.readImage("themes/arcade/maze_empty.png");
-	private final BufferedImage imageMazeFull = Assets.readImage("themes/arcade/maze_full.png");
+	private final SpriteAtlas atlas = new SpriteAtlas(Assets.readImage("themes/arcade/sprites.png"));
+	private final BufferedImage imageMazeEmpty = SpriteAtlas.copy(Assets.readImage("themes/arcade/maze_empty.png"));
+	private final BufferedImage imageMazeFull = SpriteAtlas.copy(Assets.readImage("themes/arcade/maze_full.png"));
 	private final BufferedImage imageMazeEmptyWhite;
 	private final BufferedImage imagePacManFull;
 	private final BufferedImage imagePacManWalking[][];
@@ -65,7 +64,7 @@ public class ArcadeSprites {
 	}
 
 	private BufferedImage section(int x, int y, int w, int h) {
-		return spriteSheet.getSubimage(x, y, w, h);
+		return atlas.frame(atlas.add(x, y, w, h));
 	}
 
 	private BufferedImage tile(int col, int row) {
@@ -76,25 +75,10 @@ public class ArcadeSprites {
 		return IntStream.range(0, n).mapToObj(i -> tile(col + i, row)).toArray(BufferedImage[]::new);
 	}
 
-	private static BufferedImage exchangeColor(BufferedImage img, int oldColorRGB, int newColorRGB) {
-		BufferedImage copy = new BufferedImage(img.getWidth(), img.getHeight(), img.getType());
-		Graphics2D g = copy.createGraphics();
-		g.drawImage(img, 0, 0, null);
-		for (int x = 0; x < copy.getWidth(); ++x) {
-			for (int y = 0; y < copy.getHeight(); ++y) {
-				if (copy.getRGB(x, y) == oldColorRGB) {
-					copy.setRGB(x, y, newColorRGB);
-				}
-			}
-		}
-		g.dispose();
-		return copy;
-	}
-
 	ArcadeSprites() {
 
 		// debugger told me RGB value of blue color in maze image
-		imageMazeEmptyWhite = exchangeColor(imageMazeEmpty, -14605825, Color.WHITE.getRGB());
+		imageMazeEmptyWhite = SpriteAtlas.exchangeColor(imageMazeEmpty, -14605825, Color.WHITE.getRGB());
 
 		// Symbols
 		BufferedImage[] symbolImages = tilesHorizontally(8, 2, 3);
@@ -26,6 +26,7 @@ public class ArcadeTheme extends AbstractTheme {
 
 	private ArcadeSprites sprites = new ArcadeSprites();
 	private Map<World, WorldSpriteMap> worldSprites = new HashMap<>();
+	private Map<World, MazeLayer> mazeLayers = new HashMap<>();
 	private Map<PacMan, PacManSpriteMap> pacManSprites = new HashMap<>();
 	private Map<Ghost, GhostSpriteMap> ghostSprites = new HashMap<>();
 	private MessagesRenderer messagesRenderer;
@@ -51,7 +52,12 @@ public class ArcadeTheme extends AbstractTheme {
 			spriteMap = new WorldSpriteMap(world);
 			worldSprites.put(world, spriteMap);
 		}
-		return new WorldRenderer(spriteMap);
+		MazeLayer mazeLayer = mazeLayers.get(world);
+		if (mazeLayer == null) {
+			mazeLayer = new MazeLayer(world, spriteMap.mazeFull());
+			mazeLayers.put(world, mazeLayer);
+		}
+		return new WorldRenderer(spriteMap, mazeLayer);
 	}
 
 	@Override
@@ -18,6 +18,7 @@ import de.amr.games.pacman.view.common.ISpriteRenderer;
 public class GhostRenderer implements IGhostRenderer, ISpriteRenderer {
 
 	private GhostSpriteMap spriteMap;
+	private Sprite sprite;
 
 	public GhostRenderer(GhostSpriteMap spriteMap) {
 		this.spriteMap = spriteMap;
@@ -26,7 +27,6 @@ public class GhostRenderer implements IGhostRenderer, ISpriteRenderer {
 	@Override
 	public void render(Graphics2D g, Ghost ghost) {
 		selectSprite(ghost);
-		Sprite sprite = spriteMap.current().get();
 		sprite.enableAnimation(ghost.isEnabled());
 		drawEntitySprite(g, ghost.entity, sprite, 2);
 	}
@@ -36,24 +36,23 @@ public class GhostRenderer implements IGhostRenderer, ISpriteRenderer {
 		GhostPersonality personality = ghost.getPersonality();
 		Direction dir = ghost.moveDir();
 		if (state == null) {
-			spriteMap.select(GhostSpriteMap.keyColor(personality, dir));
+			sprite = spriteMap.colored(personality, dir);
 		} else {
 			switch (state) {
 			case LOCKED:
 			case LEAVING_HOUSE:
 			case CHASING:
 			case SCATTERING:
-				spriteMap.select(GhostSpriteMap.keyColor(personality, dir));
+				sprite = spriteMap.colored(personality, dir);
 				break;
 			case ENTERING_HOUSE:
-				spriteMap.select(GhostSpriteMap.keyEyes(dir));
+				sprite = spriteMap.eyes(dir);
 				break;
 			case FRIGHTENED:
-				spriteMap.select(ghost.isFlashing() ? "flashing" : "frightened");
+				sprite = ghost.isFlashing() ? spriteMap.flashing() : spriteMap.frightened();
 				break;
 			case DEAD:
-				spriteMap
-						.select(ghost.getBounty() == 0 ? GhostSpriteMap.keyEyes(dir) : GhostSpriteMap.keyPoints(ghost.getBounty()));
+				sprite = ghost.getBounty() == 0 ? spriteMap.eyes(dir) : spriteMap.points(ghost.getBounty());
 				break;
 			default:
 				break;
@@ -1,5 +1,6 @@
 package de.amr.games.pacman.view.theme.arcade;
 
+import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.SpriteMap;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
@@ -8,30 +9,56 @@ import de.amr.games.pacman.model.world.api.Direction;
 
 class GhostSpriteMap extends SpriteMap {
 
-	static String keyColor(GhostPersonality personality, Direction dir) {
-		return String.format("color-%s-%s", personality, dir);
-	}
-
-	static String keyEyes(Direction dir) {
-		return String.format("eyes-%s", dir);
-	}
-
-	static String keyPoints(int points) {
-		return String.format("points-%d", points);
-	}
+	// sprites indexed by personality and direction ordinal, the renderer needs no key lookup per frame
+	private final Sprite[][] colored = new Sprite[GhostPersonality.values().length][Direction.values().length];
+	private final Sprite[] eyes = new Sprite[Direction.values().length];
+	private final Sprite[] points = new Sprite[Game.GHOST_BOUNTIES.length];
+	private final Sprite frightened;
+	private final Sprite flashing;
 
 	GhostSpriteMap(Ghost ghost) {
 		ArcadeSprites arcadeSprites = ArcadeTheme.THEME.$value("sprites");
 		for (Direction dir : Direction.values()) {
 			for (GhostPersonality personality : GhostPersonality.values()) {
-				set(keyColor(personality, dir), arcadeSprites.makeSprite_ghostColored(personality, dir));
+				Sprite sprite = arcadeSprites.makeSprite_ghostColored(personality, dir);
+				colored[personality.ordinal()][dir.ordinal()] = sprite;
+				set(String.format("color-%s-%s", personality, dir), sprite);
 			}
-			set(keyEyes(dir), arcadeSprites.makeSprite_ghostEyes(dir));
+			eyes[dir.ordinal()] = arcadeSprites.makeSprite_ghostEyes(dir);
+			set(String.format("eyes-%s", dir), eyes[dir.ordinal()]);
 		}
-		set("frightened", arcadeSprites.makeSprite_ghostFrightened());
-		set("flashing", arcadeSprites.makeSprite_ghostFlashing());
-		for (int bounty : Game.GHOST_BOUNTIES) {
-			set(keyPoints(bounty), arcadeSprites.makeSprite_number(bounty));
+		frightened = arcadeSprites.makeSprite_ghostFrightened();
+		set("frightened", frightened);
+		flashing = arcadeSprites.makeSprite_ghostFlashing();
+		set("flashing", flashing);
+		for (int i = 0; i < Game.GHOST_BOUNTIES.length; ++i) {
+			points[i] = arcadeSprites.makeSprite_number(Game.GHOST_BOUNTIES[i]);
+			set(String.format("points-%d", Game.GHOST_BOUNTIES[i]), points[i]);
+		}
+	}
+
+	Sprite colored(GhostPersonality personality, Direction dir) {
+		return colored[personality.ordinal()][dir.ordinal()];
+	}
+
+	Sprite eyes(Direction dir) {
+		return eyes[dir.ordinal()];
+	}
+
+	Sprite frightened() {
+		return frightened;
+	}
+
+	Sprite flashing() {
+		return flashing;
+	}
+
+	Sprite points(int bounty) {
+		for (int i = 0; i < Game.GHOST_BOUNTIES.length; ++i) {
+			if (Game.GHOST_BOUNTIES[i] == bounty) {
+				return points[i];
+			}
 		}
+		throw new IllegalArgumentException("No sprite found for ghost bounty " + bounty);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package de.amr.games.pacman.view.theme.arcade;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import de.amr.easy.game.assets.Assets;
+import de.amr.easy.game.ui.sprites.Sprite;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+
+/**
+ * Offscreen image of the maze with the food that has not been eaten yet.
+ * <p>
+ * The image is created from the full maze sprite when the layer is first drawn and whenever food
+ * reappears (new level) or the world layout changes. In between, the food locations changed since the
+ * last frame are taken from the food journal of the world (see {@link World#foodChangeLocation(int)})
+ * and erased from the image, so drawing the maze is a single image blit, however much food has been
+ * eaten.
+ *
+ * @author Armin Reichert
+ */
+public class MazeLayer {
+
+	private final World world;
+	private final Sprite mazeSprite;
+	private BufferedImage image;
+	private int layoutVersion;
+	private int foodChangeCount;
+	private Tile[] energizerTiles;
+
+	public MazeLayer(World world, Sprite mazeSprite) {
+		this.world = world;
+		this.mazeSprite = mazeSprite;
+	}
+
+	/**
+	 * Draws the maze with its remaining food.
+	 *
+	 * @param g              graphics context
+	 * @param hideEnergizers if the remaining energizers are hidden (blinking)
+	 */
+	public void draw(Graphics2D g, boolean hideEnergizers) {
+		update();
+		g.drawImage(image, 0, 0, null);
+		if (hideEnergizers) {
+			g.setColor(Color.BLACK);
+			for (Tile tile : energizerTiles) {
+				if (world.hasFood(tile)) {
+					g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
+				}
+			}
+		}
+	}
+
+	private void update() {
+		if (image == null || layoutVersion != world.layoutVersion() || !eraseChangedFood()) {
+			rebuild();
+		}
+	}
+
+	/*
+	 * Erases the food eaten since the last frame. Returns false if the image has to be rebuilt because
+	 * food has reappeared or the changes are no longer in the journal.
+	 */
+	private boolean eraseChangedFood() {
+		int count = world.foodChangeCount();
+		if (count == foodChangeCount) {
+			return true;
+		}
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.BLACK);
+		try {
+			for (int change = foodChangeCount; change != count; ++change) {
+				Tile tile = world.foodChangeLocation(change);
+				if (tile == null || !world.hasEatenFood(tile)) {
+					return false;
+				}
+				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
+			}
+		} finally {
+			g.dispose();
+		}
+		foodChangeCount = count;
+		return true;
+	}
+
+	private void rebuild() {
+		if (image == null || image.getWidth() != world.width() * Tile.SIZE
+				|| image.getHeight() != world.height() * Tile.SIZE) {
+			image = Assets.createBufferedImage(world.width() * Tile.SIZE, world.height() * Tile.SIZE,
+					Transparency.OPAQUE);
+		}
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, image.getWidth(), image.getHeight());
+		mazeSprite.draw(g, 0, 3 * Tile.SIZE);
+		g.setColor(Color.BLACK);
+		world.eatenFoodLocations().forEach(tile -> g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE));
+		g.dispose();
+		layoutVersion = world.layoutVersion();
+		foodChangeCount = world.foodChangeCount();
+		energizerTiles = world.energizerLocations().toArray(Tile[]::new);
+	}
+}
@@ -7,7 +7,6 @@ import static de.amr.games.pacman.controller.creatures.pacman.PacManState.POWERF
 import static de.amr.games.pacman.controller.creatures.pacman.PacManState.SLEEPING;
 
 import java.awt.Graphics2D;
-import java.util.Optional;
 
 import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
@@ -31,22 +30,21 @@ public class PacManRenderer implements IPacManRenderer, ISpriteRenderer {
 
 	@Override
 	public void render(Graphics2D g, PacMan pacMan) {
-		selectSprite(pacMan).ifPresent(sprite -> {
-			sprite.enableAnimation(pacMan.isEnabled());
-			drawEntitySprite(g, pacMan.entity, sprite, 2);
-		});
+		Sprite sprite = selectSprite(pacMan);
+		sprite.enableAnimation(pacMan.isEnabled());
+		drawEntitySprite(g, pacMan.entity, sprite, 2);
 	}
 
-	private Optional<Sprite> selectSprite(PacMan pacMan) {
+	private Sprite selectSprite(PacMan pacMan) {
 		if (pacMan.getState() == null || pacMan.is(IN_BED, SLEEPING)) {
-			return spriteMap.select("full");
+			return spriteMap.full();
 		} else if (pacMan.is(AWAKE, POWERFUL)) {
-			return spriteMap.select("walking-" + pacMan.moveDir());
+			return spriteMap.walking(pacMan.moveDir());
 		} else if (pacMan.is(DEAD)) {
-			spriteMap.get("collapsing").resetAnimation();
-			return spriteMap.select("full");
+			spriteMap.collapsing().resetAnimation();
+			return spriteMap.full();
 		} else if (pacMan.is(PacManState.COLLAPSING)) {
-			return spriteMap.select("collapsing");
+			return spriteMap.collapsing();
 		}
 		throw new IllegalStateException();
 	}
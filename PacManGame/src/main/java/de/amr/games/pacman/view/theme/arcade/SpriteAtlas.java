@@ -0,0 +1,120 @@
+package de.amr.games.pacman.view.theme.arcade;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.amr.easy.game.assets.Assets;
+
+/**
+ * Frames cut out of a sprite sheet, each one copied into an image of its own that is compatible
+ * with the screen device.
+ * <p>
+ * Images returned by {@link BufferedImage#getSubimage(int, int, int, int)} share the raster of the
+ * sprite sheet, so Java2D cannot cache them as accelerated images and every blit reads from the
+ * whole sheet. The frames of an atlas are separate images that Java2D can cache in video memory.
+ * Frames are addressed by index; a section of the sheet that is requested more than once is copied
+ * only once.
+ *
+ * @author Armin Reichert
+ */
+class SpriteAtlas {
+
+	private final BufferedImage sheet;
+	private final List<BufferedImage> frames = new ArrayList<>();
+	private final Map<Long, Integer> indexBySection = new HashMap<>();
+
+	/**
+	 * @param sheet the sprite sheet
+	 */
+	SpriteAtlas(BufferedImage sheet) {
+		this.sheet = sheet;
+	}
+
+	/**
+	 * Adds a section of the sprite sheet as frame.
+	 *
+	 * @param x x-coordinate of the section
+	 * @param y y-coordinate of the section
+	 * @param w width of the section
+	 * @param h height of the section
+	 * @return index of the frame
+	 */
+	int add(int x, int y, int w, int h) {
+		long key = ((long) x << 48) | ((long) y << 32) | ((long) w << 16) | h;
+		Integer index = indexBySection.get(key);
+		if (index == null) {
+			index = frames.size();
+			frames.add(copy(sheet, x, y, w, h));
+			indexBySection.put(key, index);
+		}
+		return index;
+	}
+
+	/**
+	 * @param index frame index
+	 * @return the frame image
+	 */
+	BufferedImage frame(int index) {
+		return frames.get(index);
+	}
+
+	/**
+	 * @return number of frames
+	 */
+	int size() {
+		return frames.size();
+	}
+
+	/**
+	 * Copies a section of an image into a new image compatible with the screen device.
+	 *
+	 * @param source source image
+	 * @param x      x-coordinate of the section
+	 * @param y      y-coordinate of the section
+	 * @param w      width of the section
+	 * @param h      height of the section
+	 * @return the copy
+	 */
+	static BufferedImage copy(BufferedImage source, int x, int y, int w, int h) {
+		BufferedImage copy = Assets.createBufferedImage(w, h, Transparency.TRANSLUCENT);
+		Graphics2D g = copy.createGraphics();
+		g.drawImage(source, 0, 0, w, h, x, y, x + w, y + h, null);
+		g.dispose();
+		return copy;
+	}
+
+	/**
+	 * @param source source image
+	 * @return copy of the image compatible with the screen device
+	 */
+	static BufferedImage copy(BufferedImage source) {
+		return copy(source, 0, 0, source.getWidth(), source.getHeight());
+	}
+
+	/**
+	 * Creates a copy of an image where all pixels of some color get a new color. The pixels are read
+	 * and written in bulk.
+	 *
+	 * @param source      source image
+	 * @param oldColorRGB ARGB value of the color to replace
+	 * @param newColorRGB ARGB value of the new color
+	 * @return the recolored copy, compatible with the screen device
+	 */
+	static BufferedImage exchangeColor(BufferedImage source, int oldColorRGB, int newColorRGB) {
+		int w = source.getWidth(), h = source.getHeight();
+		int[] pixels = source.getRGB(0, 0, w, h, null, 0, w);
+		for (int i = 0; i < pixels.length; ++i) {
+			if (pixels[i] == oldColorRGB) {
+				pixels[i] = newColorRGB;
+			}
+		}
+		BufferedImage copy = Assets.createBufferedImage(w, h, Transparency.TRANSLUCENT);
+		copy.setRGB(0, 0, w, h, pixels, 0, w);
+		return copy;
+	}
+}
@@ -4,23 +4,40 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 
-import de.amr.easy.game.math.Vector2f;
 import de.amr.easy.game.ui.sprites.CyclicAnimation;
+import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.SpriteAnimation;
+import de.amr.games.pacman.model.world.api.BonusFood;
+import de.amr.games.pacman.model.world.api.BonusFoodState;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
-import de.amr.games.pacman.model.world.arcade.Pellet;
+import de.amr.games.pacman.model.world.components.Door;
 import de.amr.games.pacman.model.world.components.Door.DoorState;
 import de.amr.games.pacman.view.api.IWorldRenderer;
 
+/**
+ * Renders the world using the Arcade sprites.
+ * <p>
+ * The doors of the house are looked up again only when the world or its layout changes. The image of
+ * the bonus is looked up once when the bonus appears and once when it is consumed.
+ */
 public class WorldRenderer implements IWorldRenderer {
 
 	private WorldSpriteMap spriteMap;
+	private MazeLayer mazeLayer;
 	private SpriteAnimation energizerAnimation;
+	private boolean flashing;
+	private World doorsWorld;
+	private int doorsLayoutVersion;
+	private Door[] doors;
+	private BonusFood imageBonus;
+	private BonusFoodState imageBonusState;
+	private Image bonusImage;
 
-	public WorldRenderer(WorldSpriteMap spriteMap) {
+	public WorldRenderer(WorldSpriteMap spriteMap, MazeLayer mazeLayer) {
 		this.spriteMap = spriteMap;
+		this.mazeLayer = mazeLayer;
 		energizerAnimation = new CyclicAnimation(2);
 		energizerAnimation.setFrameDuration(150);
 		energizerAnimation.setEnabled(false);
@@ -29,52 +46,53 @@ public class WorldRenderer implements IWorldRenderer {
 	@Override
 	public void render(Graphics2D g, World world) {
 		if (world.isChanging()) {
-			String selectedKey = spriteMap.selectedKey();
-			if (!"maze-flashing".equals(selectedKey)) {
-				spriteMap.select("maze-flashing");
-				spriteMap.current().get().resetAnimation();
-				spriteMap.current().get().enableAnimation(true);
+			Sprite mazeFlashing = spriteMap.mazeFlashing();
+			if (!flashing) {
+				flashing = true;
+				mazeFlashing.resetAnimation();
+				mazeFlashing.enableAnimation(true);
 			}
-			spriteMap.current().get().draw(g, 0, 3 * Tile.SIZE);
+			mazeFlashing.draw(g, 0, 3 * Tile.SIZE);
 		} else {
-			spriteMap.select("maze-full");
-			spriteMap.current().get().draw(g, 0, 3 * Tile.SIZE);
-			drawContent(g, world);
-			world.house(0).doors().filter(door -> door.state == DoorState.OPEN).forEach(door -> {
-				g.setColor(Color.BLACK);
-				door.tiles().forEach(tile -> g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE));
-			});
+			flashing = false;
+			// maze with remaining food, energizers hidden in blinking animation
+			mazeLayer.draw(g, energizerAnimation.isEnabled() && energizerAnimation.currentFrameIndex() == 1);
+			drawBonus(g, world);
+			drawOpenDoors(g, world);
 		}
 		energizerAnimation.setEnabled(!world.isFrozen());
 		energizerAnimation.update();
 	}
 
-	private void drawContent(Graphics2D g, World world) {
-		// hide eaten food
-		Color eatenFoodColor = Color.BLACK;
-		world.tiles().filter(world::hasEatenFood).forEach(tile -> {
-			g.setColor(eatenFoodColor);
-			g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
-		});
-		// simulate energizer blinking animation
-		if (energizerAnimation.isEnabled() && energizerAnimation.currentFrameIndex() == 1) {
-			world.tiles().filter(tile -> world.hasFood(Pellet.ENERGIZER, tile)).forEach(tile -> {
-				g.setColor(eatenFoodColor);
-				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
-			});
+	private void drawOpenDoors(Graphics2D g, World world) {
+		if (world != doorsWorld || world.layoutVersion() != doorsLayoutVersion) {
+			doors = world.house(0).doors().toArray(Door[]::new);
+			doorsWorld = world;
+			doorsLayoutVersion = world.layoutVersion();
 		}
+		g.setColor(Color.BLACK);
+		for (Door door : doors) {
+			if (door.state == DoorState.OPEN) {
+				g.fillRect(door.col() * Tile.SIZE, door.row() * Tile.SIZE, door.width() * Tile.SIZE, door.height() * Tile.SIZE);
+			}
+		}
+	}
+
+	private void drawBonus(Graphics2D g, World world) {
 		// draw bonus as image when active or as number when consumed
-		world.bonusFood().ifPresent(bonus -> {
+		BonusFood bonus = world.bonusFood().orElse(null);
+		if (bonus == null || !bonus.isPresent() && !bonus.isConsumed()) {
+			return;
+		}
+		if (bonus != imageBonus || bonus.state() != imageBonusState) {
 			if (bonus.isPresent()) {
-				ArcadeBonus arcadeBonus = (ArcadeBonus) bonus;
-				Vector2f position = Vector2f.of(bonus.location().x(), bonus.location().y() - Tile.SIZE / 2);
-				Image img = ArcadeTheme.THEME.$image("symbol-" + arcadeBonus.symbol.name());
-				g.drawImage(img, position.roundedX(), position.roundedY(), null);
-			} else if (bonus.isConsumed()) {
-				Vector2f position = Vector2f.of(bonus.location().x(), bonus.location().y() - Tile.SIZE / 2);
-				Image img = ArcadeTheme.THEME.$image("points-" + bonus.value());
-				g.drawImage(img, position.roundedX(), position.roundedY(), null);
+				bonusImage = ArcadeTheme.THEME.$image("symbol-" + ((ArcadeBonus) bonus).symbol.name());
+			} else {
+				bonusImage = ArcadeTheme.THEME.$image("points-" + bonus.value());
 			}
-		});
+			imageBonus = bonus;
+			imageBonusState = bonus.state();
+		}
+		g.drawImage(bonusImage, bonus.location().x(), bonus.location().y() - Tile.SIZE / 2, null);
 	}
 }
\ No newline at end of file
@@ -1,13 +1,27 @@
 package de.amr.games.pacman.view.theme.arcade;
 
+import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.SpriteMap;
 import de.amr.games.pacman.model.world.api.World;
 
 public class WorldSpriteMap extends SpriteMap {
 
+	private final Sprite mazeFull;
+	private final Sprite mazeFlashing;
+
 	public WorldSpriteMap(World world) {
 		ArcadeSprites sprites = ArcadeTheme.THEME.$value("sprites");
-		set("maze-full", sprites.makeSprite_fullMaze());
-		set("maze-flashing", sprites.makeSprite_flashingMaze());
+		mazeFull = sprites.makeSprite_fullMaze();
+		set("maze-full", mazeFull);
+		mazeFlashing = sprites.makeSprite_flashingMaze();
+		set("maze-flashing", mazeFlashing);
+	}
+
+	public Sprite mazeFull() {
+		return mazeFull;
+	}
+
+	public Sprite mazeFlashing() {
+		return mazeFlashing;
 	}
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package de.amr.games.pacman.view.theme.blocks;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.util.HashMap;
 import java.util.Map;
 
 import de.amr.easy.game.assets.Assets;
@@ -31,6 +32,7 @@ public class BlocksTheme extends AbstractTheme {
 	public static final BlocksTheme THEME = new BlocksTheme();
 
 	private MessagesRenderer messagesRenderer;
+	private Map<World, WorldRenderer> worldRenderers = new HashMap<>();
 
 	private BlocksTheme() {
 		super("BLOCKS");
@@ -72,7 +74,12 @@ public class BlocksTheme extends AbstractTheme {
 
 	@Override
 	public IWorldRenderer worldRenderer(World world) {
-		return new WorldRenderer();
+		WorldRenderer renderer = worldRenderers.get(world);
+		if (renderer == null) {
+			renderer = new WorldRenderer(world);
+			worldRenderers.put(world, renderer);
+		}
+		return renderer;
 	}
 
 	@Override
@@ -4,121 +4,207 @@ import static de.amr.easy.game.Application.app;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
-import de.amr.easy.game.math.Vector2f;
+import de.amr.easy.game.assets.Assets;
 import de.amr.easy.game.view.Pen;
+import de.amr.games.pacman.model.world.api.BonusFood;
+import de.amr.games.pacman.model.world.api.BonusFoodState;
 import de.amr.games.pacman.model.world.api.Symbol;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 import de.amr.games.pacman.model.world.arcade.Pellet;
+import de.amr.games.pacman.model.world.components.Door;
 import de.amr.games.pacman.model.world.components.Door.DoorState;
 import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.view.api.IWorldRenderer;
 import de.amr.games.pacman.view.common.Rendering;
 
+/**
+ * Renders the world using blocks for the walls and circles for the food.
+ * <p>
+ * The walls are drawn once into an image (and a white variant for the flashing maze) that is
+ * recreated only when the layout of the world or the wall color changes. The remaining pellets are
+ * kept in a list that is compacted when food has been eaten. Pellets and energizers are drawn from
+ * prerendered images. The doors are collected together with the walls, the text of the bonus is
+ * created once when the bonus appears and once when it is consumed.
+ */
 class WorldRenderer implements IWorldRenderer {
 
+	private final World world;
+	private BufferedImage wallsImage;
+	private BufferedImage wallsFlashingImage;
+	private int layoutVersion;
+	private Color wallColor;
+	private final BufferedImage pelletImage;
+	private final BufferedImage energizerImage;
+	private Tile[] foodTiles = new Tile[0];
+	private boolean[] energizer = new boolean[0];
+	private int foodCount;
+	private int remainingFoodCount;
+	private Door[] doors;
+	private BonusFood textBonus;
+	private BonusFoodState textBonusState;
+	private String bonusText;
+
+	public WorldRenderer(World world) {
+		this.world = world;
+		pelletImage = createFoodImage(3, 2);
+		energizerImage = createFoodImage(0, Tile.SIZE);
+	}
+
 	@Override
 	public void render(Graphics2D g, World world) {
-		drawEmptyWorld(g, world);
+		updateWalls();
+		if (world.isChanging() && app().clock().getTotalTicks() % 30 < 15) {
+			g.drawImage(wallsFlashingImage, 0, 0, null);
+		} else {
+			g.drawImage(wallsImage, 0, 0, null);
+		}
 		if (!world.isChanging()) {
 			drawFood(g, world);
 		}
 		// draw doors depending on their state
-		world.houses().flatMap(House::doors).forEach(door -> {
+		for (Door door : doors) {
 			g.setColor(door.state == DoorState.CLOSED ? Color.PINK : Color.BLACK);
-			door.tiles().forEach(tile -> g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE / 4));
-		});
+			for (int row = door.row(); row < door.row() + door.height(); ++row) {
+				for (int col = door.col(); col < door.col() + door.width(); ++col) {
+					g.fillRect(col * Tile.SIZE, row * Tile.SIZE, Tile.SIZE, Tile.SIZE / 4);
+				}
+			}
+		}
 	}
 
-	private void drawFood(Graphics2D g, World world) {
+	private void updateWalls() {
+		Color color = BlocksTheme.THEME.$color("wall-color");
+		if (wallsImage == null || layoutVersion != world.layoutVersion() || !color.equals(wallColor)) {
+			wallsImage = createWallsImage(color);
+			wallsFlashingImage = createWallsImage(Color.WHITE);
+			doors = world.houses().flatMap(House::doors).toArray(Door[]::new);
+			wallColor = color;
+			layoutVersion = world.layoutVersion();
+			foodCount = -1; // food locations may have changed too
+		}
+	}
+
+	private BufferedImage createWallsImage(Color color) {
+		BufferedImage img = Assets.createBufferedImage(world.width() * Tile.SIZE, world.height() * Tile.SIZE,
+				Transparency.OPAQUE);
+		Graphics2D g = img.createGraphics();
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, img.getWidth(), img.getHeight());
+		g.setColor(color);
+		for (int row = 0; row < world.height(); ++row) {
+			for (int col = 0; col < world.width(); ++col) {
+				if (!world.isAccessible(Tile.at(col, row))) {
+					g.fillRect(col * Tile.SIZE, row * Tile.SIZE, Tile.SIZE, Tile.SIZE);
+				}
+			}
+		}
+		g.dispose();
+		return img;
+	}
+
+	private static BufferedImage createFoodImage(int offset, int size) {
+		BufferedImage img = Assets.createBufferedImage(Tile.SIZE, Tile.SIZE, Transparency.TRANSLUCENT);
+		Graphics2D g = img.createGraphics();
 		Rendering.smoothOn(g);
-		world.tiles().forEach(location -> {
-			if (world.hasFood(Pellet.ENERGIZER, location)) {
-				drawEnergizer(g, world, location);
-			} else if (world.hasFood(Pellet.SNACK, location)) {
-				drawSimplePellet(g, location);
+		g.setColor(Color.PINK);
+		g.fillOval(offset, offset, size, size);
+		g.dispose();
+		return img;
+	}
+
+	private void updateFoodTiles() {
+		int remaining = world.remainingFoodCount();
+		if (foodCount == -1 || remaining > remainingFoodCount) {
+			foodTiles = world.foodLocations()
+					.filter(tile -> world.hasFood(Pellet.SNACK, tile) || world.hasFood(Pellet.ENERGIZER, tile))
+					.toArray(Tile[]::new);
+			energizer = new boolean[foodTiles.length];
+			for (int i = 0; i < foodTiles.length; ++i) {
+				energizer[i] = world.hasFood(Pellet.ENERGIZER, foodTiles[i]);
+			}
+			foodCount = foodTiles.length;
+		} else if (remaining < remainingFoodCount) {
+			int n = 0;
+			for (int i = 0; i < foodCount; ++i) {
+				if (world.hasFood(foodTiles[i])) {
+					foodTiles[n] = foodTiles[i];
+					energizer[n] = energizer[i];
+					++n;
+				}
 			}
-		});
-		world.bonusFood().ifPresent(bonus -> {
-			Vector2f center = Vector2f.of(bonus.location().x() + Tile.SIZE, bonus.location().y() + Tile.SIZE / 2);
-			if (bonus.isPresent() && bonus instanceof ArcadeBonus) {
-				drawActiveBonus(g, center, ((ArcadeBonus) bonus).symbol());
-			} else if (bonus.isConsumed()) {
-				drawConsumedBonus(g, center, bonus.value());
+			foodCount = n;
+		}
+		remainingFoodCount = remaining;
+	}
+
+	private void drawFood(Graphics2D g, World world) {
+		updateFoodTiles();
+		// create blink effect
+		boolean energizersVisible = world.isFrozen() || app().clock().getTotalTicks() % 60 >= 30;
+		for (int i = 0; i < foodCount; ++i) {
+			Tile tile = foodTiles[i];
+			if (!energizer[i]) {
+				g.drawImage(pelletImage, tile.x(), tile.y(), null);
+			} else if (energizersVisible) {
+				g.drawImage(energizerImage, tile.x(), tile.y(), null);
 			}
-		});
+		}
+		Rendering.smoothOn(g);
+		drawBonus(g, world);
 		Rendering.smoothOff(g);
 	}
 
-	private void drawActiveBonus(Graphics2D g, Vector2f center, Symbol symbol) {
+	private void drawBonus(Graphics2D g, World world) {
+		BonusFood bonus = world.bonusFood().orElse(null);
+		if (bonus == null || !(bonus.isPresent() && bonus instanceof ArcadeBonus) && !bonus.isConsumed()) {
+			return;
+		}
+		if (bonus != textBonus || bonus.state() != textBonusState) {
+			if (bonus.isPresent()) {
+				String name = ((ArcadeBonus) bonus).symbol().name();
+				bonusText = name.substring(0, 1) + name.substring(1).toLowerCase();
+			} else {
+				bonusText = String.valueOf(bonus.value());
+			}
+			textBonus = bonus;
+			textBonusState = bonus.state();
+		}
+		int centerX = bonus.location().x() + Tile.SIZE, centerY = bonus.location().y() + Tile.SIZE / 2;
+		if (bonus.isPresent()) {
+			drawActiveBonus(g, centerX, centerY, ((ArcadeBonus) bonus).symbol());
+		} else {
+			drawConsumedBonus(g, centerX, centerY);
+		}
+	}
+
+	private void drawActiveBonus(Graphics2D g, int centerX, int centerY, Symbol symbol) {
 		if (app().clock().getTotalTicks() % 60 < 30) {
 			return; // blink effect
 		}
-		drawBonusSymbol(g, center, symbol);
+		drawBonusSymbol(g, centerX, centerY, symbol);
 		try (Pen pen = new Pen(g)) {
 			pen.color(Color.GREEN);
 			pen.font(BlocksTheme.THEME.$font("font"));
-			String text = symbol.name().substring(0, 1) + symbol.name().substring(1).toLowerCase();
-			pen.drawCentered(text, center.x, center.y + Tile.SIZE / 2);
+			pen.drawCentered(bonusText, centerX, centerY + Tile.SIZE / 2);
 		}
 	}
 
-	private void drawConsumedBonus(Graphics2D g, Vector2f center, int value) {
+	private void drawConsumedBonus(Graphics2D g, int centerX, int centerY) {
 		try (Pen pen = new Pen(g)) {
 			pen.color(Color.GREEN);
 			pen.font(BlocksTheme.THEME.$font("font"));
-			String text = String.valueOf(value);
-			pen.drawCentered(text, center.x, center.y + 4);
+			pen.drawCentered(bonusText, centerX, centerY + 4);
 		}
 	}
 
-	private void drawBonusSymbol(Graphics2D g, Vector2f center, Symbol symbol) {
+	private void drawBonusSymbol(Graphics2D g, int centerX, int centerY, Symbol symbol) {
 		int radius = 4;
 		g.setColor(BlocksTheme.THEME.symbolColor(symbol.name()));
-		g.fillOval(center.roundedX() - radius, center.roundedY() - radius, 2 * radius, 2 * radius);
-	}
-
-	private void drawSimplePellet(Graphics2D g, Tile location) {
-		g.setColor(Color.PINK);
-		g.fillOval(location.x() + 3, location.y() + 3, 2, 2);
-	}
-
-	private void drawEnergizer(Graphics2D g, World world, Tile location) {
-		int size = Tile.SIZE;
-		int x = location.x() + (Tile.SIZE - size) / 2;
-		int y = location.y() + (Tile.SIZE - size) / 2;
-		g.translate(x, y);
-		// create blink effect
-		if (!world.isFrozen() && app().clock().getTotalTicks() % 60 < 30) {
-			g.setColor(Color.BLACK);
-			g.fillRect(0, 0, size, size);
-		} else {
-			g.setColor(Color.PINK);
-			g.fillOval(0, 0, size, size);
-		}
-		g.translate(-x, -y);
-	}
-
-	private void drawEmptyWorld(Graphics2D g, World world) {
-		g.setColor(Color.BLACK);
-		g.fillRect(0, 0, world.width() * Tile.SIZE, world.height() * Tile.SIZE);
-		for (int row = 0; row < world.height(); ++row) {
-			for (int col = 0; col < world.width(); ++col) {
-				if (!world.isAccessible(Tile.at(col, row))) {
-					drawWall(g, world, row, col);
-				}
-			}
-		}
-	}
-
-	private void drawWall(Graphics2D g, World world, int row, int col) {
-		if (world.isChanging() && app().clock().getTotalTicks() % 30 < 15) {
-			g.setColor(Color.WHITE);
-		} else {
-			g.setColor(BlocksTheme.THEME.$color("wall-color"));
-		}
-		g.fillRect(col * Tile.SIZE, row * Tile.SIZE, Tile.SIZE, Tile.SIZE);
+		g.fillOval(centerX - radius, centerY - radius, 2 * radius, 2 * radius);
 	}
 }
\ No newline at end of file
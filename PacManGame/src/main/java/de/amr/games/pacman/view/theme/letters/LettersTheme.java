@@ -2,6 +2,8 @@ package de.amr.games.pacman.view.theme.letters;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.util.HashMap;
 import java.util.Map;
 
 import de.amr.easy.game.Application;
@@ -9,6 +11,8 @@ import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.Game;
+import de.amr.games.pacman.model.world.api.Symbol;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
 import de.amr.games.pacman.model.world.arcade.Pellet;
@@ -20,7 +24,9 @@ import de.amr.games.pacman.view.api.IPacManRenderer;
 import de.amr.games.pacman.view.api.IWorldRenderer;
 import de.amr.games.pacman.view.api.PacManSounds;
 import de.amr.games.pacman.view.common.MessagesRenderer;
+import de.amr.games.pacman.view.common.NumberText;
 import de.amr.games.pacman.view.common.Rendering;
+import de.amr.games.pacman.view.common.TextImageCache;
 import de.amr.games.pacman.view.core.AbstractTheme;
 import de.amr.games.pacman.view.theme.arcade.ArcadeSounds;
 
@@ -33,7 +39,35 @@ public class LettersTheme extends AbstractTheme {
 
 	public static final LettersTheme THEME = new LettersTheme();
 
+	private static final Color WALL_COLOR = Rendering.alpha(Color.GREEN, 80);
+
 	private MessagesRenderer messagesRenderer;
+	private final IGhostRenderer ghostRenderer = this::drawGhost;
+	private final IPacManRenderer pacManRenderer = this::drawPacMan;
+	private final IGameScoreRenderer levelCounterRenderer = this::drawLevelCounter;
+	private final IGameScoreRenderer livesCounterRenderer = this::drawLivesCounter;
+	private final IGameScoreRenderer pointsCounterRenderer = this::drawPointsCounter;
+	private final IWorldRenderer worldRenderer = this::drawWorld;
+
+	// texts are only recomputed when their content changes
+	private final NumberText bountyText = new NumberText(0, false);
+	private final NumberText livesText = new NumberText("Lives: ", 0, false);
+	private final NumberText scoreText = new NumberText(8, true);
+	private final NumberText hiscoreText = new NumberText(8, true);
+	private final NumberText remainingFoodText = new NumberText(3, true);
+	private String levelText;
+	private int levelTextNumber;
+	private Symbol levelTextSymbol;
+	private String bonusText;
+	private int bonusTextValue;
+	private boolean bonusTextConsumed;
+
+	// fonts derived from the theme font, by size
+	private final Map<Integer, Font> fontsBySize = new HashMap<>();
+	private Font fontsBySizeBase;
+
+	// upper and lower case letters of the ghosts, by name
+	private final Map<String, String[]> ghostLetters = new HashMap<>();
 
 	private LettersTheme() {
 		super("LETTERS");
@@ -56,134 +90,159 @@ public class LettersTheme extends AbstractTheme {
 	}
 
 	String ghostLetter(Ghost ghost) {
+		String[] letters = ghostLetters.get(ghost.name);
+		if (letters == null) {
+			String letter = ghost.name.substring(0, 1);
+			letters = new String[] { letter, letter.toLowerCase() };
+			ghostLetters.put(ghost.name, letters);
+		}
 		if (ghost.getState() == null) {
-			return ghost.name.substring(0, 1);
+			return letters[0];
 		}
 		switch (ghost.getState()) {
 		case FRIGHTENED:
-			return ghost.name.substring(0, 1).toLowerCase();
+			return letters[1];
 		case DEAD:
 		case ENTERING_HOUSE:
 			return Rendering.INFTY;
 		default:
-			return ghost.name.substring(0, 1);
+			return letters[0];
 		}
 	}
 
+	/* Returns the theme font in the given size, each size is derived only once. */
+	private Font font(int size) {
+		Font font = $font("font");
+		if (fontsBySizeBase != font) {
+			fontsBySizeBase = font;
+			fontsBySize.clear();
+		}
+		Font sizedFont = fontsBySize.get(size);
+		if (sizedFont == null) {
+			sizedFont = font.deriveFont((float) size);
+			fontsBySize.put(size, sizedFont);
+		}
+		return sizedFont;
+	}
+
+	private void drawText(Graphics2D g, String text, Font font, Color color, float x, float y) {
+		TextImageCache.SHARED.draw(g, text, font, color, false, Math.round(x), Math.round(y));
+	}
+
 	@Override
-	public IGhostRenderer ghostRenderer(Ghost ghost_) {
-		return (g, ghost) -> {
-			if (ghost.isVisible()) {
-				Font font = $font("font");
-				int offset_baseline = $int("offset-baseline");
-				g.setFont(font.deriveFont((float) ghost.entity.tf.width));
-				g.setColor(ghostColor(ghost));
-				if (ghost.getBounty() > 0) {
-					g.drawString("" + ghost.getBounty(), ghost.entity.tf.x, ghost.entity.tf.y + offset_baseline);
-				} else {
-					g.drawString(ghostLetter(ghost), ghost.entity.tf.x, ghost.entity.tf.y + offset_baseline);
-				}
-			}
-		};
+	public IGhostRenderer ghostRenderer(Ghost ghost) {
+		return ghostRenderer;
+	}
+
+	private void drawGhost(Graphics2D g, Ghost ghost) {
+		if (ghost.isVisible()) {
+			Font font = font(ghost.entity.tf.width);
+			int offset_baseline = $int("offset-baseline");
+			String text = ghost.getBounty() > 0 ? bountyText.of(ghost.getBounty()) : ghostLetter(ghost);
+			drawText(g, text, font, ghostColor(ghost), ghost.entity.tf.x, ghost.entity.tf.y + offset_baseline);
+		}
 	}
 
 	@Override
-	public IPacManRenderer pacManRenderer(PacMan pacMan_) {
-		return (g, pacMan) -> {
-			if (pacMan.isVisible()) {
-				int offset_baseline = $int("offset-baseline");
-				Font font = $font("font");
-				g.setFont(font.deriveFont((float) pacMan.entity.tf.width));
-				g.setColor(Color.YELLOW);
-				String letter = pacMan.is(PacManState.DEAD) ? "\u2668" : "O";
-				g.drawString(letter, pacMan.entity.tf.x, pacMan.entity.tf.y + offset_baseline);
-			}
-		};
+	public IPacManRenderer pacManRenderer(PacMan pacMan) {
+		return pacManRenderer;
+	}
+
+	private void drawPacMan(Graphics2D g, PacMan pacMan) {
+		if (pacMan.isVisible()) {
+			int offset_baseline = $int("offset-baseline");
+			Font font = font(pacMan.entity.tf.width);
+			String letter = pacMan.is(PacManState.DEAD) ? "\u2668" : "O";
+			drawText(g, letter, font, Color.YELLOW, pacMan.entity.tf.x, pacMan.entity.tf.y + offset_baseline);
+		}
 	}
 
 	@Override
 	public IGameScoreRenderer levelCounterRenderer() {
-		return (g, game) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			String text = String.format("Level: %d (%s)", game.level.number, game.level.bonusSymbol);
-			g.setColor(Color.YELLOW);
-			g.setFont(font);
-			g.drawString(text, -15 * Tile.SIZE, Tile.SIZE + offset_baseline);
-		};
+		return levelCounterRenderer;
+	}
+
+	private void drawLevelCounter(Graphics2D g, Game game) {
+		Font font = $font("font");
+		int offset_baseline = $int("offset-baseline");
+		if (levelText == null || levelTextNumber != game.level.number || levelTextSymbol != game.level.bonusSymbol) {
+			levelTextNumber = game.level.number;
+			levelTextSymbol = game.level.bonusSymbol;
+			levelText = "Level: " + levelTextNumber + " (" + levelTextSymbol + ")";
+		}
+		drawText(g, levelText, font, Color.YELLOW, -15 * Tile.SIZE, Tile.SIZE + offset_baseline);
 	}
 
 	@Override
 	public IGameScoreRenderer livesCounterRenderer() {
-		return (g, game) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			g.setColor(Color.YELLOW);
-			g.setFont(font);
-			g.drawString(String.format("Lives: %d", game.lives), 0, Tile.SIZE + offset_baseline);
-		};
+		return livesCounterRenderer;
+	}
+
+	private void drawLivesCounter(Graphics2D g, Game game) {
+		Font font = $font("font");
+		int offset_baseline = $int("offset-baseline");
+		drawText(g, livesText.of(game.lives), font, Color.YELLOW, 0, Tile.SIZE + offset_baseline);
 	}
 
 	@Override
 	public IGameScoreRenderer pointsCounterRenderer() {
-		return (g, game) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			g.setColor(Color.YELLOW);
-			g.setFont(font);
-			g.drawString(" Score          Highscore        Pellets", 0, offset_baseline);
-			g.drawString(String.format(" %08d       %08d         %03d", game.score, game.hiscore.points,
-					game.level.remainingFoodCount()), 0, Tile.SIZE + offset_baseline);
-		};
+		return pointsCounterRenderer;
+	}
+
+	private void drawPointsCounter(Graphics2D g, Game game) {
+		Font font = $font("font");
+		int offset_baseline = $int("offset-baseline");
+		drawText(g, " Score          Highscore        Pellets", font, Color.YELLOW, 0, offset_baseline);
+		// the font is monospaced, numbers are drawn at the character columns of the header
+		float charWidth = TextImageCache.SHARED.width(" ", font, false);
+		int y = Tile.SIZE + offset_baseline;
+		drawText(g, scoreText.of(game.score), font, Color.YELLOW, charWidth, y);
+		drawText(g, hiscoreText.of(game.hiscore.points), font, Color.YELLOW, 16 * charWidth, y);
+		drawText(g, remainingFoodText.of(game.level.remainingFoodCount()), font, Color.YELLOW, 33 * charWidth, y);
 	}
 
 	@Override
-	public IWorldRenderer worldRenderer(World world_) {
-		return (g, world) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			g.setFont(font);
-			for (int row = 3; row < world.height() - 2; ++row) {
-				for (int col = 0; col < world.width(); ++col) {
-					Tile tile = Tile.at(col, row);
-					if (world.isAccessible(tile)) {
-						if (world.hasFood(Pellet.ENERGIZER, tile) && Application.app().clock().getTotalTicks() % 60 < 30) {
-							g.setColor(Color.PINK);
-							g.drawString("Ö", col * Tile.SIZE + 2, row * Tile.SIZE + offset_baseline);
-						}
-						if (world.hasFood(Pellet.SNACK, tile)) {
-							g.setColor(Color.PINK);
-							g.drawString(".", col * Tile.SIZE + 1, row * Tile.SIZE - 3 + offset_baseline);
-						}
-					} else {
-						g.setColor(Rendering.alpha(Color.GREEN, 80));
-						g.drawString("#", col * Tile.SIZE + 1, row * Tile.SIZE + offset_baseline - 1);
+	public IWorldRenderer worldRenderer(World world) {
+		return worldRenderer;
+	}
+
+	private void drawWorld(Graphics2D g, World world) {
+		Font font = $font("font");
+		int offset_baseline = $int("offset-baseline");
+		for (int row = 3; row < world.height() - 2; ++row) {
+			for (int col = 0; col < world.width(); ++col) {
+				Tile tile = Tile.at(col, row);
+				if (world.isAccessible(tile)) {
+					if (world.hasFood(Pellet.ENERGIZER, tile) && Application.app().clock().getTotalTicks() % 60 < 30) {
+						drawText(g, "Ö", font, Color.PINK, col * Tile.SIZE + 2, row * Tile.SIZE + offset_baseline);
 					}
-				}
-				world.bonusFood().ifPresent(bonus -> {
-					Tile tile = bonus.location();
-					g.setColor(Color.GREEN);
-					String text = "";
-					int col = tile.col;
-					if (bonus.isPresent()) {
-						text = "WIN " + bonus.value();
-						col -= 1;
-					} else if (bonus.isConsumed()) {
-						text = "WON " + bonus.value() + " POINTS!";
-						col -= 2;
+					if (world.hasFood(Pellet.SNACK, tile)) {
+						drawText(g, ".", font, Color.PINK, col * Tile.SIZE + 1, row * Tile.SIZE - 3 + offset_baseline);
 					}
-					g.drawString(text, col * Tile.SIZE, tile.row * Tile.SIZE + offset_baseline - 1);
-				});
+				} else {
+					drawText(g, "#", font, WALL_COLOR, col * Tile.SIZE + 1, row * Tile.SIZE + offset_baseline - 1);
+				}
 			}
-			world.houses().flatMap(House::doors).forEach(door -> {
-				if (door.state == DoorState.CLOSED) {
-					g.setColor(Color.PINK);
-					door.tiles().forEach(tile -> {
-						g.drawString("_", tile.x() + 1, tile.y());
-					});
+		}
+		world.bonusFood().ifPresent(bonus -> {
+			if (bonus.isPresent() || bonus.isConsumed()) {
+				if (bonusText == null || bonusTextValue != bonus.value() || bonusTextConsumed != bonus.isConsumed()) {
+					bonusTextValue = bonus.value();
+					bonusTextConsumed = bonus.isConsumed();
+					bonusText = bonusTextConsumed ? "WON " + bonusTextValue + " POINTS!" : "WIN " + bonusTextValue;
 				}
-			});
-		};
+				Tile tile = bonus.location();
+				int col = bonus.isPresent() ? tile.col - 1 : tile.col - 2;
+				drawText(g, bonusText, font, Color.GREEN, col * Tile.SIZE, tile.row * Tile.SIZE + offset_baseline - 1);
+			}
+		});
+		world.houses().flatMap(House::doors).forEach(door -> {
+			if (door.state == DoorState.CLOSED) {
+				door.tiles().forEach(tile -> {
+					drawText(g, "_", font, Color.PINK, tile.x() + 1, tile.y());
+				});
+			}
+		});
 	}
 
 	@Override
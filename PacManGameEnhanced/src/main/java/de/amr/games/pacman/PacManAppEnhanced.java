@@ -33,7 +33,7 @@ public class PacManAppEnhanced extends PacManApp {
 	@Override
 	public void init() {
 		setIcon("/images/pacman-icon.png");
-		setController(new EnhancedGameController(Themes.all().toArray(Theme[]::new)));
+		installController(new EnhancedGameController(Themes.all().toArray(Theme[]::new)));
 	}
 
 	@Override
@@ -0,0 +1,219 @@
+package de.amr.games.pacman.controller.game;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import de.amr.games.pacman.PacManApp;
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.steering.api.Steering;
+import de.amr.games.pacman.controller.steering.common.RandomMovement;
+import de.amr.games.pacman.controller.steering.pacman.SearchingForFoodAndAvoidingGhosts;
+import de.amr.games.pacman.model.game.Game;
+
+/**
+ * Runs a batch of independent headless games concurrently and aggregates their results per
+ * steering strategy.
+ * <p>
+ * Each game has its own settings, world, folks and random generator (see {@link SimulationEngine}),
+ * so the games do not interfere with each other. Games with the same seed, start level and strategy
+ * produce the same result, no matter how many games run in parallel.
+ *
+ * @author Armin Reichert
+ */
+public class BatchRunner {
+
+	/**
+	 * Usage: {@code BatchRunner [gamesPerStrategy [parallelism [maxTicks]]]}
+	 */
+	public static void main(String[] args) {
+		int gamesPerStrategy = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long maxTicks = args.length > 2 ? Long.parseLong(args[2]) : 60 * 60 * 60;
+		BatchRunner runner = new BatchRunner(parallelism, maxTicks);
+		for (int seed = 0; seed < gamesPerStrategy; ++seed) {
+			runner.add(new GameSpec("SearchingForFood", seed, 1, SearchingForFoodAndAvoidingGhosts::new));
+			runner.add(new GameSpec("RandomMovement", seed, 1, folks -> new RandomMovement<>(folks.rnd)));
+		}
+		long start = System.nanoTime();
+		List<GameResult> results = runner.run();
+		loginfo("Simulated %d games in %.2f sec using %d threads", results.size(),
+				(System.nanoTime() - start) / 1e9, parallelism);
+		summarize(results).forEach((strategy, summary) -> loginfo("%s", summary));
+	}
+
+	/**
+	 * Specification of a single game.
+	 */
+	public static class GameSpec {
+
+		public final String strategy;
+		public final long seed;
+		public final int startLevel;
+		public final Function<Folks, Steering<PacMan>> fnPacManSteering;
+
+		/**
+		 * @param strategy         name of the steering strategy, used for grouping results
+		 * @param seed             random seed of the game
+		 * @param startLevel       start level of the game
+		 * @param fnPacManSteering function creating Pac-Man's steering
+		 */
+		public GameSpec(String strategy, long seed, int startLevel, Function<Folks, Steering<PacMan>> fnPacManSteering) {
+			this.strategy = Objects.requireNonNull(strategy);
+			this.seed = seed;
+			this.startLevel = startLevel;
+			this.fnPacManSteering = Objects.requireNonNull(fnPacManSteering);
+		}
+	}
+
+	/**
+	 * Result of a single game.
+	 */
+	public static class GameResult {
+
+		public final GameSpec spec;
+		public final int score;
+		public final int level;
+		public final int deaths;
+		public final long ticks;
+		public final boolean gameOver;
+		public final long nanos;
+
+		public GameResult(GameSpec spec, int score, int level, int deaths, long ticks, boolean gameOver, long nanos) {
+			this.spec = spec;
+			this.score = score;
+			this.level = level;
+			this.deaths = deaths;
+			this.ticks = ticks;
+			this.gameOver = gameOver;
+			this.nanos = nanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s seed=%d: score=%d level=%d deaths=%d ticks=%d%s", spec.strategy, spec.seed, score,
+					level, deaths, ticks, gameOver ? "" : " (not finished)");
+		}
+	}
+
+	/**
+	 * Aggregated results of all games using the same strategy.
+	 */
+	public static class StrategySummary {
+
+		public final String strategy;
+		public final IntSummaryStatistics score;
+		public final IntSummaryStatistics level;
+		public final IntSummaryStatistics deaths;
+
+		public StrategySummary(String strategy, List<GameResult> results) {
+			this.strategy = strategy;
+			score = results.stream().mapToInt(result -> result.score).summaryStatistics();
+			level = results.stream().mapToInt(result -> result.level).summaryStatistics();
+			deaths = results.stream().mapToInt(result -> result.deaths).summaryStatistics();
+		}
+
+		@Override
+		public String toString() {
+			//@formatter:off
+			return String.format(
+					"%s (%d games): score avg=%.1f min=%d max=%d, level avg=%.2f max=%d, deaths avg=%.2f",
+					strategy, score.getCount(),
+					score.getAverage(), score.getMin(), score.getMax(),
+					level.getAverage(), level.getMax(),
+					deaths.getAverage());
+			//@formatter:on
+		}
+	}
+
+	/**
+	 * Groups the results by strategy, in order of first occurrence.
+	 *
+	 * @param results game results
+	 * @return summary for each strategy
+	 */
+	public static Map<String, StrategySummary> summarize(List<GameResult> results) {
+		Map<String, List<GameResult>> byStrategy = results.stream()
+				.collect(Collectors.groupingBy(result -> result.spec.strategy, LinkedHashMap::new, Collectors.toList()));
+		Map<String, StrategySummary> summaries = new LinkedHashMap<>();
+		byStrategy.forEach((strategy, list) -> summaries.put(strategy, new StrategySummary(strategy, list)));
+		return summaries;
+	}
+
+	private final int parallelism;
+	private final long maxTicks;
+	private final List<GameSpec> specs = new ArrayList<>();
+
+	/**
+	 * @param parallelism number of games running at the same time
+	 * @param maxTicks    maximum number of ticks simulated per game
+	 */
+	public BatchRunner(int parallelism, long maxTicks) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive but is " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.maxTicks = maxTicks;
+	}
+
+	public void add(GameSpec spec) {
+		specs.add(Objects.requireNonNull(spec));
+	}
+
+	/**
+	 * Runs all added games and waits until they are finished.
+	 *
+	 * @return the game results in the order the games have been added
+	 */
+	public List<GameResult> run() {
+		List<Callable<GameResult>> tasks = specs.stream().map(spec -> (Callable<GameResult>) () -> play(spec))
+				.collect(Collectors.toList());
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<GameResult> results = new ArrayList<>(tasks.size());
+			for (Future<GameResult> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Batch run has been interrupted", x);
+		} catch (ExecutionException x) {
+			throw new IllegalStateException("Simulated game failed", x.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a single game in the calling thread.
+	 *
+	 * @param spec game specification
+	 * @return game result
+	 */
+	public GameResult play(GameSpec spec) {
+		PacManApp.Settings settings = new PacManApp.Settings();
+		settings.startLevel = spec.startLevel;
+		SimulationEngine engine = new SimulationEngine(settings, spec.fnPacManSteering);
+		engine.setRandomSeed(spec.seed);
+		engine.init();
+		long start = System.nanoTime();
+		engine.run(maxTicks);
+		long nanos = System.nanoTime() - start;
+		Game game = engine.game().get();
+		return new GameResult(spec, game.score, game.level.number, engine.deaths(), engine.ticks(), engine.isGameOver(),
+				nanos);
+	}
+}
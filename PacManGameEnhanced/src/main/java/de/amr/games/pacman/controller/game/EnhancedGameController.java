@@ -2,7 +2,6 @@ package de.amr.games.pacman.controller.game;
 
 import static de.amr.easy.game.Application.app;
 import static de.amr.easy.game.Application.loginfo;
-import static de.amr.games.pacman.PacManApp.settings;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
@@ -15,6 +14,8 @@ import static java.awt.event.KeyEvent.VK_UP;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.controller.StateMachineRegistry;
@@ -25,7 +26,9 @@ import de.amr.games.pacman.controller.event.GhostKilledEvent;
 import de.amr.games.pacman.controller.event.LevelCompletedEvent;
 import de.amr.games.pacman.controller.steering.ghost.FleeingToSafeTile;
 import de.amr.games.pacman.controller.steering.pacman.SearchingForFoodAndAvoidingGhosts;
+import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.arcade.Pellet;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
 import de.amr.games.pacman.view.api.Theme;
 import de.amr.games.pacman.view.play.EnhancedPlayView;
 import de.amr.games.pacman.view.play.PlayView;
@@ -171,10 +174,17 @@ public class EnhancedGameController extends GameController {
 
 	}
 
+	/**
+	 * @return the path finder selected by the "-pathFinder" option of this game
+	 */
+	private PathFinder pathFinder() {
+		return PathFinder.of(settings.pathFinder);
+	}
+
 	protected void setDemoMode(boolean demoMode) {
 		if (demoMode) {
 			settings.pacManImmortable = true;
-			folks.pacMan.behavior(new SearchingForFoodAndAvoidingGhosts(folks));
+			folks.pacMan.behavior(new SearchingForFoodAndAvoidingGhosts(folks, pathFinder()));
 			playView.showMessage(1, "Demo Mode", Color.LIGHT_GRAY);
 		} else {
 			settings.pacManImmortable = false;
@@ -252,11 +262,11 @@ public class EnhancedGameController extends GameController {
 	private void toggleGhostFrightenedBehavior() {
 		if (settings.ghostsSafeCorner) {
 			settings.ghostsSafeCorner = false;
-			folks.ghosts().forEach(ghost -> you(ghost).when(FRIGHTENED).moveRandomly().ok());
+			folks.ghosts().forEach(ghost -> you(ghost).when(FRIGHTENED).moveRandomly().random(rnd).ok());
 			loginfo("Ghost escape behavior is: Random movement");
 		} else {
 			settings.ghostsSafeCorner = true;
-			folks.ghosts().forEach(ghost -> ghost.behavior(FRIGHTENED, new FleeingToSafeTile(ghost, folks.pacMan)));
+			folks.ghosts().forEach(ghost -> ghost.behavior(FRIGHTENED, new FleeingToSafeTile(ghost, folks.pacMan, rnd, pathFinder())));
 			loginfo("Ghosts escape behavior is: Fleeing to safe corners");
 		}
 	}
@@ -286,7 +296,9 @@ public class EnhancedGameController extends GameController {
 		if (getState() != PLAYING) {
 			return;
 		}
-		world.tiles().filter(location -> world.hasFood(Pellet.SNACK, location)).forEach(tile -> {
+		List<Tile> snacks = world.foodLocations().filter(location -> world.hasFood(Pellet.SNACK, location))
+				.collect(Collectors.toList());
+		snacks.forEach(tile -> {
 			world.clearFood(tile);
 			game.scoreSimplePelletFound();
 			doorMan().ifPresent(doorMan -> {
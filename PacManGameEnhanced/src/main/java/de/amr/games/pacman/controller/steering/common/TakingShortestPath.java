@@ -5,6 +5,7 @@ import java.util.function.Supplier;
 import de.amr.games.pacman.model.world.api.MobileLifeform;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
 
 /**
  * Lets a lifeform follow the shortest path (using graph path finding) to the target tile.
@@ -17,9 +18,18 @@ public class TakingShortestPath<M extends MobileLifeform> extends FollowingPath<
 	private final Supplier<Tile> fnTargetTile;
 
 	public TakingShortestPath(M mover, Supplier<Tile> fnTargetTile) {
+		this(mover, fnTargetTile, PathFinder.ASTAR);
+	}
+
+	/**
+	 * @param mover        the moving lifeform
+	 * @param fnTargetTile supplies the target tile
+	 * @param pathFinder   path finder used for computing the path
+	 */
+	public TakingShortestPath(M mover, Supplier<Tile> fnTargetTile, PathFinder pathFinder) {
 		super(mover);
 		this.fnTargetTile = fnTargetTile;
-		graph = new WorldGraph(mover.world());
+		graph = new WorldGraph(mover.world(), pathFinder);
 	}
 
 	@Override
@@ -1,23 +1,28 @@
 package de.amr.games.pacman.controller.steering.ghost;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
-import de.amr.datastruct.StreamUtils;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.steering.common.FollowingPath;
 import de.amr.games.pacman.model.world.api.MobileLifeform;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.model.world.graph.DistanceField;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
 import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
 
 /**
  * Lets a refugee escape to the "safest" of some dedicated maze tiles depending on the attackers'
  * current position. The "safest" corner is defined by the maximum distance of the attacker to any
- * tile on the path from the refugees' current position to the corner. When the target corner is
- * reached the next corner is computed.
+ * tile on the path from the refugees' current position to the corner. The distances of the attacker
+ * to all tiles are computed at once by a {@link DistanceField}. When the target corner is reached the
+ * next corner is computed.
  * 
  * @author Armin Reichert
  */
@@ -28,15 +33,35 @@ public class FleeingToSafeTile extends FollowingPath<Ghost> {
 	private final List<Tile> capes;
 	private final List<Tile> portalEntries;
 	private final List<Tile> safeTiles;
+	private final Random rnd;
 	private Tile safeTile;
 	private boolean passingPortal;
 
 	public FleeingToSafeTile(Ghost refugee, MobileLifeform attacker) {
+		this(refugee, attacker, new Random());
+	}
+
+	/**
+	 * @param refugee  the fleeing ghost
+	 * @param attacker the attacker
+	 * @param rnd      random source used for breaking ties between equally safe tiles
+	 */
+	public FleeingToSafeTile(Ghost refugee, MobileLifeform attacker, Random rnd) {
+		this(refugee, attacker, rnd, PathFinder.BEST_FIRST_SEARCH);
+	}
+
+	/**
+	 * @param refugee    the fleeing ghost
+	 * @param attacker   the attacker
+	 * @param rnd        random source used for breaking ties between equally safe tiles
+	 * @param pathFinder path finder used for computing the path to the safe tile
+	 */
+	public FleeingToSafeTile(Ghost refugee, MobileLifeform attacker, Random rnd, PathFinder pathFinder) {
 		super(refugee);
 		this.attacker = attacker;
+		this.rnd = rnd;
 		World world = refugee.world();
-		graph = new WorldGraph(world);
-		graph.setPathFinder(PathFinder.BEST_FIRST_SEARCH);
+		graph = new WorldGraph(world, pathFinder);
 		capes = world.capes();
 		portalEntries = new ArrayList<Tile>();
 		world.portals().forEach(portal -> {
@@ -86,26 +111,39 @@ public class FleeingToSafeTile extends FollowingPath<Ghost> {
 	}
 
 	private Tile computeSafestCorner() {
-		return StreamUtils.permute(safeTiles.stream()).filter(tile -> tile != safeTile).sorted(byTileSafety()).findFirst()
-				.get();
+		List<Tile> candidates = new ArrayList<>(safeTiles);
+		Collections.shuffle(candidates, rnd);
+		candidates.removeIf(tile -> tile == safeTile);
+		return candidates.stream().sorted(byTileSafety(candidates)).findFirst().get();
 	}
 
-	private Comparator<Tile> byTileSafety() {
-		return (t1, t2) -> {
-			Tile refugeeLocation = mover.tileLocation();
-			Tile attackerLocation = attacker.tileLocation();
-			double d1 = distanceFromPath(graph.shortestPath(refugeeLocation, t1), attackerLocation);
-			double d2 = distanceFromPath(graph.shortestPath(refugeeLocation, t2), attackerLocation);
-			return Double.compare(d2, d1); // larger distance comes first
-		};
+	/*
+	 * Computes the path to each candidate only once instead of twice per comparison.
+	 */
+	private Comparator<Tile> byTileSafety(List<Tile> candidates) {
+		Tile refugeeLocation = mover.tileLocation();
+		Tile attackerLocation = attacker.tileLocation();
+		DistanceField attackerDistance = graph.distanceField();
+		attackerDistance.compute(attackerLocation);
+		Map<Tile, Integer> safety = new HashMap<>();
+		for (Tile candidate : candidates) {
+			safety.put(candidate,
+					distanceFromPath(graph.shortestPath(refugeeLocation, candidate), attackerDistance, attackerLocation));
+		}
+		// larger distance comes first
+		return (t1, t2) -> Integer.compare(safety.get(t2), safety.get(t1));
 	}
 
 	/*
-	 * The distance of a tile from a path is the minimum of all distances between the tile and any path
-	 * tile.
+	 * The distance of the attacker from a path is the minimum of all distances between the attacker
+	 * and any path tile. If the attacker cannot reach a path tile (e.g. when it is outside of the world),
+	 * the Manhattan distance is used.
 	 */
-	private int distanceFromPath(List<Tile> path, Tile tile) {
-		return path.stream().map(pathTile -> manhattanDist(pathTile, tile)).min(Integer::compare).orElse(Integer.MAX_VALUE);
+	private int distanceFromPath(List<Tile> path, DistanceField attackerDistance, Tile attackerLocation) {
+		return path.stream().mapToInt(pathTile -> {
+			int distance = attackerDistance.distance(pathTile);
+			return distance != DistanceField.UNREACHABLE ? distance : manhattanDist(pathTile, attackerLocation);
+		}).min().orElse(Integer.MAX_VALUE);
 	}
 
 	private static int manhattanDist(Tile t1, Tile t2) {
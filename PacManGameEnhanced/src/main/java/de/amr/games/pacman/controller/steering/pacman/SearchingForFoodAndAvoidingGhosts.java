@@ -3,7 +3,6 @@ package de.amr.games.pacman.controller.steering.pacman;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
-import static java.util.Comparator.comparingInt;
 
 import java.util.Collections;
 import java.util.List;
@@ -19,7 +18,7 @@ import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.MobileLifeform;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
-import de.amr.games.pacman.model.world.arcade.Pellet;
+import de.amr.games.pacman.model.world.graph.DistanceField;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
 import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
 
@@ -30,6 +29,9 @@ import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
  */
 public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<PacMan> {
 
+	/** Maximum number of tiles on a path to a ghost considered in range. */
+	static final int MAX_GHOST_RANGE = 10;
+
 	static class Target {
 		Direction dir;
 		Tile tile;
@@ -43,14 +45,22 @@ public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<
 	private final Folks folks;
 	private final PacMan me;
 	private final WorldGraph graph;
+	private DistanceField ghostRangeField;
 	private Tile target;
 
 	public SearchingForFoodAndAvoidingGhosts(Folks folks) {
+		this(folks, PathFinder.ASTAR);
+	}
+
+	/**
+	 * @param folks      the folks
+	 * @param pathFinder path finder used for computing the paths to the food
+	 */
+	public SearchingForFoodAndAvoidingGhosts(Folks folks, PathFinder pathFinder) {
 		me = folks.pacMan;
 		this.folks = folks;
 		this.world = folks.pacMan.world();
-		graph = new WorldGraph(world);
-		graph.setPathFinder(PathFinder.ASTAR);
+		graph = new WorldGraph(world, pathFinder);
 	}
 
 	@Override
@@ -58,7 +68,10 @@ public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<
 		if (!pacMan.enteredNewTile() && pacMan.canCrossBorderTo(pacMan.moveDir()) || pacMan.isTeleporting()) {
 			return;
 		}
-		boolean acted = avoidTouchingGhostAhead() || avoidOncomingGhost() || chaseFrightenedGhost(10);
+		// distances from Pac-Man to all tiles in ghost range, computed once for all range queries
+		ghostRangeField = graph.distanceField();
+		ghostRangeField.compute(pacMan.tileLocation(), MAX_GHOST_RANGE - 1);
+		boolean acted = avoidTouchingGhostAhead() || avoidOncomingGhost() || chaseFrightenedGhost(MAX_GHOST_RANGE);
 		if (!acted) {
 			searchFood();
 		}
@@ -139,10 +152,6 @@ public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<
 		//@formatter:on
 	}
 
-	private Stream<Tile> foodTiles() {
-		return world.tiles().filter(world::hasFood);
-	}
-
 	private Optional<Tile> preferredFoodLocationFrom(Tile here) {
 		//@formatter:off
 		double nearestEnemyDist = nearestDistanceToDangerousGhost(here);
@@ -173,19 +182,14 @@ public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<
 
 	private Optional<Tile> energizerAtMostAway(Tile here, int distance) {
 		//@formatter:off
-		return foodTiles()
-				.filter(tile -> world.hasFood(Pellet.ENERGIZER, tile))
+		return world.energizerLocations()
 				.filter(energizer -> here.manhattanDistance(energizer) <= distance)
 				.findFirst();
 		//@formatter:on
 	}
 
 	private Optional<Tile> nearestFoodFrom(Tile here) {
-		//@formatter:off
-		return foodTiles()
-				.sorted(comparingInt(food -> here.manhattanDistance(food)))
-				.findFirst();
-		//@formatter:on
+		return world.nearestFood(here);
 	}
 
 	private boolean isGhostFrightened(Ghost ghost) {
@@ -196,8 +200,12 @@ public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<
 		return ghost.is(CHASING, SCATTERING);
 	}
 
+	/*
+	 * A ghost is in range if the path to it (including start and end tile) has at most the given
+	 * number of tiles.
+	 */
 	private boolean isGhostInRange(Ghost ghost, int numTiles) {
-		return shortestPathLength(ghost.tileLocation(), me.tileLocation()) <= numTiles;
+		return ghostRangeField.isWithin(ghost.tileLocation(), numTiles - 1);
 	}
 
 	private Stream<Ghost> dangerousGhosts() {
@@ -221,23 +229,13 @@ public class SearchingForFoodAndAvoidingGhosts implements PathProvidingSteering<
 		return Stream.of(me.moveDir(), me.moveDir().right(), me.moveDir().left());
 	}
 
-	private int shortestPathLength(Tile from, Tile to) {
-		return graph.shortestPath(from, to).size();
-	}
-
 	private Optional<Direction> directionTowards(Ghost enemy) {
-		Direction result = null;
-		double minDist = Integer.MAX_VALUE;
-		for (Direction dir : Direction.values()) {
-			if (me.canCrossBorderTo(dir)) {
-				List<Tile> path = graph.shortestPath(me.tileLocation(), enemy.tileLocation());
-				int dist = path.size();
-				if (dist < minDist && path.size() >= 2) {
-					minDist = dist;
-					result = path.get(0).dirTo(path.get(1)).get();
-				}
-			}
+		// the path does not depend on the direction, so compute it only once
+		if (Direction.dirs().noneMatch(me::canCrossBorderTo)) {
+			return Optional.empty();
 		}
-		return Optional.ofNullable(result);
+		List<Tile> path = graph.shortestPath(me.tileLocation(), enemy.tileLocation());
+		// the first hop may lead through a portal, so take its direction from the graph edge
+		return path.size() >= 2 ? graph.edgeDir(path.get(0), path.get(1)) : Optional.empty();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,248 @@
+package de.amr.games.pacman.model.world.graph;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+
+/**
+ * Immutable adjacency structure of a world in compressed sparse row (CSR) format.
+ * <p>
+ * Vertices are the tile indices of the world (see {@link World#index(Tile)}). The edges leaving
+ * vertex {@code v} are stored at positions {@code offset(v) .. offset(v + 1) - 1} of a single array.
+ * There is an edge from a tile to each accessible neighbor tile (see
+ * {@link World#neighbor(Tile, Direction)}), so the two tiles of a portal are connected like
+ * creatures move through the tunnel. Optionally, doors are closed and one-way tiles may not be
+ * entered against their direction, in which case the graph is directed.
+ * <p>
+ * Graphs are built on first request and shared by all users of the same world (see
+ * {@link #of(World, Constraint...)}). A graph is rebuilt when the layout of its world has changed.
+ * Graphs only weakly reference their world, so the cached graphs of a world are released together
+ * with the world.
+ *
+ * @author Armin Reichert
+ */
+public class CompactGraph {
+
+	/**
+	 * Optional movement constraints.
+	 */
+	public enum Constraint {
+		/** No edges lead into or out of house doors. */
+		CLOSED_DOORS,
+		/** One-way tiles cannot be entered against their direction (like chasing or scattering ghosts). */
+		ONE_WAY_TILES
+	}
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private static final Map<World, CompactGraph[]> CACHE = new WeakHashMap<>();
+
+	/**
+	 * Returns the shared graph for the given world and constraints.
+	 *
+	 * @param world       a world
+	 * @param constraints movement constraints
+	 * @return graph of the world, built on first request or when the layout of the world has changed
+	 */
+	public static CompactGraph of(World world, Constraint... constraints) {
+		int mask = 0;
+		for (Constraint constraint : constraints) {
+			mask |= 1 << constraint.ordinal();
+		}
+		synchronized (CACHE) {
+			CompactGraph[] graphs = CACHE.computeIfAbsent(world, w -> new CompactGraph[1 << Constraint.values().length]);
+			if (graphs[mask] == null || graphs[mask].isOutdated()) {
+				graphs[mask] = new CompactGraph(world, mask);
+			}
+			return graphs[mask];
+		}
+	}
+
+	private final WeakReference<World> worldRef;
+	private final int layoutVersion;
+	private final int width;
+	private final int numVertices;
+	private final int[] offsets;
+	private final int[] targets;
+	private final byte[] directions;
+	private final int[] portalVertices;
+	private final boolean undirected;
+	private IntersectionGraph intersectionGraph;
+	private DistanceTable distanceTable;
+
+	private CompactGraph(World world, int constraintMask) {
+		worldRef = new WeakReference<>(world);
+		layoutVersion = world.layoutVersion();
+		width = world.width();
+		numVertices = width * world.height();
+		boolean closedDoors = (constraintMask & (1 << Constraint.CLOSED_DOORS.ordinal())) != 0;
+		boolean oneWayTiles = (constraintMask & (1 << Constraint.ONE_WAY_TILES.ordinal())) != 0;
+		offsets = new int[numVertices + 1];
+		int[] edgeTargets = new int[4 * numVertices];
+		byte[] edgeDirections = new byte[4 * numVertices];
+		int numEdges = 0;
+		for (int v = 0; v < numVertices; ++v) {
+			offsets[v] = numEdges;
+			Tile tile = world.tile(v);
+			if (!world.isAccessible(tile) || closedDoors && isDoor(world, tile)) {
+				continue;
+			}
+			for (Direction dir : DIRECTIONS) {
+				Tile neighbor = world.neighbor(tile, dir);
+				if (!world.includes(neighbor) || neighbor.equals(tile) || !world.isAccessible(neighbor)) {
+					continue;
+				}
+				if (closedDoors && isDoor(world, neighbor)) {
+					continue;
+				}
+				if (oneWayTiles && world.isOneWay(neighbor, dir.opposite())) {
+					continue;
+				}
+				edgeTargets[numEdges] = world.index(neighbor);
+				edgeDirections[numEdges] = (byte) dir.ordinal();
+				++numEdges;
+			}
+		}
+		offsets[numVertices] = numEdges;
+		targets = new int[numEdges];
+		directions = new byte[numEdges];
+		System.arraycopy(edgeTargets, 0, targets, 0, numEdges);
+		System.arraycopy(edgeDirections, 0, directions, 0, numEdges);
+		portalVertices = world.portals().flatMap(portal -> Stream.of(portal.either, portal.other))
+				.filter(world::includes).mapToInt(world::index).toArray();
+		undirected = constraintMask == 0;
+	}
+
+	private static boolean isDoor(World world, Tile tile) {
+		return world.houses().anyMatch(house -> house.isDoor(tile));
+	}
+
+	/**
+	 * @return the world of this graph, {@code null} if the world is no longer used
+	 */
+	public World world() {
+		return worldRef.get();
+	}
+
+	/**
+	 * @return if the layout of the world has changed since this graph was built
+	 */
+	public boolean isOutdated() {
+		World world = worldRef.get();
+		return world == null || layoutVersion != world.layoutVersion();
+	}
+
+	/**
+	 * @return if each edge has a reverse edge, which is the case if there are no movement constraints
+	 */
+	public boolean isUndirected() {
+		return undirected;
+	}
+
+	/**
+	 * @return the abstraction of this graph where the nodes are intersections and the edges are
+	 *         corridors, built on first access. Only defined for undirected graphs.
+	 */
+	public synchronized IntersectionGraph intersectionGraph() {
+		if (!undirected) {
+			throw new IllegalStateException("Intersection graph is only defined for undirected graphs");
+		}
+		if (intersectionGraph == null) {
+			intersectionGraph = new IntersectionGraph(this);
+		}
+		return intersectionGraph;
+	}
+
+	/**
+	 * @return the distances between all pairs of tiles over the edges of this graph, computed on first
+	 *         access
+	 */
+	public synchronized DistanceTable distanceTable() {
+		if (distanceTable == null) {
+			distanceTable = new DistanceTable(this);
+		}
+		return distanceTable;
+	}
+
+	/**
+	 * @return number of vertices (= number of tiles of the world)
+	 */
+	public int numVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * @return number of (directed) edges
+	 */
+	public int numEdges() {
+		return targets.length;
+	}
+
+	/**
+	 * @param v vertex
+	 * @return position of the first edge leaving the vertex
+	 */
+	public int offset(int v) {
+		return offsets[v];
+	}
+
+	/**
+	 * @param v vertex
+	 * @return number of edges leaving the vertex
+	 */
+	public int degree(int v) {
+		return offsets[v + 1] - offsets[v];
+	}
+
+	/**
+	 * @param edge edge position
+	 * @return target vertex of the edge
+	 */
+	public int target(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * @param edge edge position
+	 * @return the direction leading from the source to the target of the edge
+	 */
+	public Direction direction(int edge) {
+		return DIRECTIONS[directions[edge]];
+	}
+
+	/**
+	 * @return number of portal tiles inside the world
+	 */
+	public int numPortalVertices() {
+		return portalVertices.length;
+	}
+
+	/**
+	 * @param i portal tile number
+	 * @return the vertex of the portal tile with the given number
+	 */
+	public int portalVertex(int i) {
+		return portalVertices[i];
+	}
+
+	/**
+	 * @param v vertex
+	 * @return column of the tile of this vertex
+	 */
+	public int col(int v) {
+		return v % width;
+	}
+
+	/**
+	 * @param v vertex
+	 * @return row of the tile of this vertex
+	 */
+	public int row(int v) {
+		return v / width;
+	}
+}
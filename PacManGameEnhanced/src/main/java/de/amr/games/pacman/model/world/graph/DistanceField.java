@@ -0,0 +1,249 @@
+package de.amr.games.pacman.model.world.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+
+/**
+ * Breadth-first distances from a single source tile to all tiles of a world, computed on bitboards.
+ * <p>
+ * Each row of the world is stored as one or more {@code long} words, one bit per tile. A
+ * breadth-first search step computes the next frontier for all tiles at once by shifting the current
+ * frontier one column to the left and right and one row up and down, masking the result with the
+ * accessible tiles and removing the already visited tiles. Portals are handled by connecting the two
+ * portal tiles of each portal, so the distances wrap around like the creature movement does.
+ * <p>
+ * A field is reused for any number of queries, {@link #compute(Tile, int)} does not allocate
+ * objects.
+ *
+ * @author Armin Reichert
+ */
+public class DistanceField {
+
+	/** Distance value for tiles not reached by the search. */
+	public static final int UNREACHABLE = -1;
+
+	private final World world;
+	private final int layoutVersion;
+	private final int width;
+	private final int height;
+	private final int wordsPerRow;
+	private final long[] accessible;
+
+	/** Word indices of the two tiles of each portal, at positions 2*i and 2*i+1. */
+	private final int[] portalWords;
+	private final long[] portalMasks;
+
+	private long[] frontier;
+	private long[] next;
+	private final long[] visited;
+	private final int[] distance;
+	private Tile source;
+	private int reachedCount;
+
+	public DistanceField(World world) {
+		this.world = world;
+		layoutVersion = world.layoutVersion();
+		width = world.width();
+		height = world.height();
+		wordsPerRow = (width + 63) >>> 6;
+		int numWords = wordsPerRow * height;
+		accessible = new long[numWords];
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				if (world.isAccessible(Tile.at(col, row))) {
+					accessible[word(col, row)] |= bit(col);
+				}
+			}
+		}
+		List<Tile> portalTiles = new ArrayList<>();
+		world.portals().filter(portal -> world.includes(portal.either) && world.includes(portal.other))
+				.forEach(portal -> {
+					portalTiles.add(portal.either);
+					portalTiles.add(portal.other);
+				});
+		portalWords = new int[portalTiles.size()];
+		portalMasks = new long[portalTiles.size()];
+		for (int i = 0; i < portalTiles.size(); ++i) {
+			Tile tile = portalTiles.get(i);
+			portalWords[i] = word(tile.col, tile.row);
+			portalMasks[i] = bit(tile.col);
+		}
+		frontier = new long[numWords];
+		next = new long[numWords];
+		visited = new long[numWords];
+		distance = new int[width * height];
+	}
+
+	private int word(int col, int row) {
+		return row * wordsPerRow + (col >>> 6);
+	}
+
+	private static long bit(int col) {
+		return 1L << col;
+	}
+
+	/**
+	 * @return the layout version of the world when this field was created
+	 */
+	public int layoutVersion() {
+		return layoutVersion;
+	}
+
+	/**
+	 * @return if the layout of the world has changed since this field was created
+	 */
+	public boolean isOutdated() {
+		return layoutVersion != world.layoutVersion();
+	}
+
+	/**
+	 * Computes the distances from the given tile to all tiles.
+	 *
+	 * @param source source tile
+	 */
+	public void compute(Tile source) {
+		compute(source, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Computes the distances from the given tile to all tiles that are at most the given number of
+	 * steps away. Tiles further away are treated as unreachable.
+	 *
+	 * @param source      source tile
+	 * @param maxDistance maximum distance
+	 */
+	public void compute(Tile source, int maxDistance) {
+		this.source = source;
+		Arrays.fill(visited, 0);
+		Arrays.fill(frontier, 0);
+		reachedCount = 0;
+		if (!world.includes(source)) {
+			return;
+		}
+		int sourceWord = word(source.col, source.row);
+		visited[sourceWord] |= bit(source.col);
+		distance[source.row * width + source.col] = 0;
+		reachedCount = 1;
+		if (!world.isAccessible(source)) {
+			return;
+		}
+		frontier[sourceWord] |= bit(source.col);
+		for (int d = 1; d <= maxDistance; ++d) {
+			if (!expandFrontier()) {
+				break;
+			}
+			recordDistance(d);
+			long[] swap = frontier;
+			frontier = next;
+			next = swap;
+		}
+	}
+
+	/*
+	 * Computes the next frontier from the current one. Returns false if it is empty.
+	 */
+	private boolean expandFrontier() {
+		boolean nonEmpty = false;
+		int lastWordInRow = wordsPerRow - 1;
+		for (int row = 0; row < height; ++row) {
+			int rowStart = row * wordsPerRow;
+			for (int k = 0; k < wordsPerRow; ++k) {
+				int w = rowStart + k;
+				long f = frontier[w];
+				long dilated = f << 1 | f >>> 1;
+				if (k > 0) {
+					dilated |= frontier[w - 1] >>> 63;
+				}
+				if (k < lastWordInRow) {
+					dilated |= frontier[w + 1] << 63;
+				}
+				if (row > 0) {
+					dilated |= frontier[w - wordsPerRow];
+				}
+				if (row < height - 1) {
+					dilated |= frontier[w + wordsPerRow];
+				}
+				long n = dilated & accessible[w] & ~visited[w];
+				next[w] = n;
+				nonEmpty |= n != 0;
+			}
+		}
+		for (int i = 0; i < portalWords.length; i += 2) {
+			nonEmpty |= connect(i, i + 1);
+			nonEmpty |= connect(i + 1, i);
+		}
+		return nonEmpty;
+	}
+
+	private boolean connect(int from, int to) {
+		if ((frontier[portalWords[from]] & portalMasks[from]) != 0) {
+			int w = portalWords[to];
+			long n = portalMasks[to] & accessible[w] & ~visited[w];
+			next[w] |= n;
+			return n != 0;
+		}
+		return false;
+	}
+
+	private void recordDistance(int d) {
+		for (int w = 0; w < next.length; ++w) {
+			long bits = next[w];
+			if (bits == 0) {
+				continue;
+			}
+			visited[w] |= bits;
+			reachedCount += Long.bitCount(bits);
+			int row = w / wordsPerRow, colBase = (w % wordsPerRow) << 6;
+			while (bits != 0) {
+				int col = colBase + Long.numberOfTrailingZeros(bits);
+				distance[row * width + col] = d;
+				bits &= bits - 1;
+			}
+		}
+	}
+
+	/**
+	 * @return the source tile of the last computation
+	 */
+	public Tile source() {
+		return source;
+	}
+
+	/**
+	 * @param tile a tile
+	 * @return the distance from the source tile or {@link #UNREACHABLE} if the tile has not been
+	 *         reached
+	 */
+	public int distance(Tile tile) {
+		return isReached(tile) ? distance[tile.row * width + tile.col] : UNREACHABLE;
+	}
+
+	/**
+	 * @param tile a tile
+	 * @return if the tile has been reached from the source tile
+	 */
+	public boolean isReached(Tile tile) {
+		return world.includes(tile) && (visited[word(tile.col, tile.row)] & bit(tile.col)) != 0;
+	}
+
+	/**
+	 * @param tile     a tile
+	 * @param maxSteps number of steps
+	 * @return if the tile can be reached from the source tile in at most the given number of steps
+	 */
+	public boolean isWithin(Tile tile, int maxSteps) {
+		int d = distance(tile);
+		return d != UNREACHABLE && d <= maxSteps;
+	}
+
+	/**
+	 * @return number of tiles reached from the source tile (including the source tile)
+	 */
+	public int reachedCount() {
+		return reachedCount;
+	}
+}
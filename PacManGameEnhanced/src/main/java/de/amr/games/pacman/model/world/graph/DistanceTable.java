@@ -0,0 +1,195 @@
+package de.amr.games.pacman.model.world.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+
+/**
+ * Precomputed shortest path distances and next-hop directions between all pairs of accessible
+ * tiles of a world.
+ * <p>
+ * The edges are taken from a {@link CompactGraph} of the world, so paths may lead through portals
+ * and follow the movement constraints of the graph. The table of a graph is shared (see
+ * {@link CompactGraph#distanceTable()}). It is computed by a breadth-first search starting at each
+ * accessible tile. Distances are stored as {@code short} values, next-hop directions as
+ * {@code byte} values (direction ordinal), so for the Arcade maze with about 300 accessible tiles
+ * the table uses less than 300 KB.
+ *
+ * @author Armin Reichert
+ */
+public class DistanceTable {
+
+	/** Distance value for tiles not connected by any path. */
+	public static final int UNREACHABLE = -1;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final CompactGraph graph;
+	private final int layoutVersion;
+
+	/** Vertex number for each tile index, -1 if the tile is not accessible. */
+	private final int[] vertexByTileIndex;
+	private final Tile[] tileByVertex;
+	private final int numVertices;
+
+	/** Distance from vertex u to vertex v at position {@code u * numVertices + v}. */
+	private final short[] distance;
+
+	/** Ordinal of the direction of the first step from vertex u towards vertex v, -1 if none. */
+	private final byte[] firstStep;
+
+	/**
+	 * @param world a world, paths are not constrained
+	 */
+	public DistanceTable(World world) {
+		this(CompactGraph.of(world));
+	}
+
+	/**
+	 * @param graph the graph providing the edges
+	 */
+	public DistanceTable(CompactGraph graph) {
+		this.graph = graph;
+		World world = graph.world();
+		layoutVersion = world.layoutVersion();
+		int numTiles = world.width() * world.height();
+		vertexByTileIndex = new int[numTiles];
+		Arrays.fill(vertexByTileIndex, -1);
+		List<Tile> accessibleTiles = new ArrayList<>();
+		for (int index = 0; index < numTiles; ++index) {
+			Tile tile = world.tile(index);
+			if (world.isAccessible(tile)) {
+				vertexByTileIndex[index] = accessibleTiles.size();
+				accessibleTiles.add(tile);
+			}
+		}
+		numVertices = accessibleTiles.size();
+		if ((long) numVertices * numVertices > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(
+					String.format("World has too many accessible tiles (%d) for a distance table", numVertices));
+		}
+		tileByVertex = accessibleTiles.toArray(new Tile[numVertices]);
+		distance = new short[numVertices * numVertices];
+		firstStep = new byte[numVertices * numVertices];
+		Arrays.fill(distance, (short) UNREACHABLE);
+		Arrays.fill(firstStep, (byte) -1);
+		int[] adjacency = computeAdjacency(world);
+		int[] queue = new int[numVertices];
+		for (int source = 0; source < numVertices; ++source) {
+			bfs(source, adjacency, queue);
+		}
+	}
+
+	/*
+	 * Neighbor vertex at position {@code 4 * vertex + dir.ordinal()}, -1 if there is no edge.
+	 */
+	private int[] computeAdjacency(World world) {
+		int[] adjacency = new int[4 * numVertices];
+		Arrays.fill(adjacency, -1);
+		for (int v = 0; v < numVertices; ++v) {
+			int tileIndex = world.index(tileByVertex[v]);
+			for (int e = graph.offset(tileIndex), end = e + graph.degree(tileIndex); e < end; ++e) {
+				adjacency[4 * v + graph.direction(e).ordinal()] = vertexByTileIndex[graph.target(e)];
+			}
+		}
+		return adjacency;
+	}
+
+	private void bfs(int source, int[] adjacency, int[] queue) {
+		int row = source * numVertices;
+		int head = 0, tail = 0;
+		distance[row + source] = 0;
+		queue[tail++] = source;
+		while (head < tail) {
+			int u = queue[head++];
+			int distU = distance[row + u];
+			for (int dir = 0; dir < 4; ++dir) {
+				int v = adjacency[4 * u + dir];
+				if (v != -1 && distance[row + v] == UNREACHABLE) {
+					if (distU + 1 > Short.MAX_VALUE) {
+						throw new IllegalStateException("Distance exceeds table capacity");
+					}
+					distance[row + v] = (short) (distU + 1);
+					firstStep[row + v] = u == source ? (byte) dir : firstStep[row + u];
+					queue[tail++] = v;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the layout version of the world when this table was computed
+	 */
+	public int layoutVersion() {
+		return layoutVersion;
+	}
+
+	/**
+	 * @return if the layout of the world has changed since this table was computed
+	 */
+	public boolean isOutdated() {
+		return layoutVersion != graph.world().layoutVersion();
+	}
+
+	private int vertex(Tile tile) {
+		int index = graph.world().index(tile);
+		return index != -1 ? vertexByTileIndex[index] : -1;
+	}
+
+	/**
+	 * @param from source tile
+	 * @param to   target tile
+	 * @return the number of steps on a shortest path between the tiles or {@link #UNREACHABLE} if
+	 *         there is no such path. Each tile of the world has distance 0 to itself.
+	 */
+	public int distance(Tile from, Tile to) {
+		int u = vertex(from), v = vertex(to);
+		if (u == -1 || v == -1) {
+			return from.equals(to) && graph.world().includes(from) ? 0 : UNREACHABLE;
+		}
+		return distance[u * numVertices + v];
+	}
+
+	/**
+	 * @param from source tile
+	 * @param to   target tile
+	 * @return the direction of the first step on a shortest path between the tiles or {@code null} if
+	 *         the tiles are equal or not connected
+	 */
+	public Direction nextDir(Tile from, Tile to) {
+		int u = vertex(from), v = vertex(to);
+		if (u == -1 || v == -1) {
+			return null;
+		}
+		byte dir = firstStep[u * numVertices + v];
+		return dir != -1 ? DIRECTIONS[dir] : null;
+	}
+
+	/**
+	 * @param from source tile
+	 * @param to   target tile
+	 * @return the tiles of a shortest path between the tiles, including both, or an empty list if
+	 *         there is no such path
+	 */
+	public List<Tile> path(Tile from, Tile to) {
+		int dist = distance(from, to);
+		if (dist == UNREACHABLE) {
+			return Collections.emptyList();
+		}
+		List<Tile> path = new ArrayList<>(dist + 1);
+		int v = vertex(to);
+		Tile current = from;
+		path.add(current);
+		for (int step = 0; step < dist; ++step) {
+			Direction dir = DIRECTIONS[firstStep[vertex(current) * numVertices + v]];
+			current = graph.world().neighbor(current, dir);
+			path.add(current);
+		}
+		return path;
+	}
+}
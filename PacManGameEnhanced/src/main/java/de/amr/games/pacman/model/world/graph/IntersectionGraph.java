@@ -0,0 +1,259 @@
+package de.amr.games.pacman.model.world.graph;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+
+/**
+ * Abstraction of a {@link CompactGraph} where the nodes are the intersections of the maze and the
+ * edges are the corridors between them.
+ * <p>
+ * A tile becomes a node if it is accessible and does not have exactly two neighbors (crossings,
+ * forks, dead ends), if it is marked as intersection by the world or if it is a portal tile. All
+ * other accessible tiles lie inside exactly one corridor. A corridor connects two nodes (which may
+ * be the same node for a loop) and knows its length and its inner tiles in order. A path search on
+ * this graph visits dozens of nodes instead of hundreds of tiles (see {@link PathSearch}).
+ * <p>
+ * The abstraction is only defined for undirected graphs, i.e. graphs without movement constraints.
+ *
+ * @author Armin Reichert
+ */
+public class IntersectionGraph {
+
+	private final int numNodes;
+	private final int[] nodeVertex;
+
+	/** Node number for each vertex, -1 if the vertex is no node. */
+	private final int[] nodeOfVertex;
+
+	/** Corridor containing each inner vertex, -1 for nodes and inaccessible vertices. */
+	private final int[] corridorOfVertex;
+
+	/** Position (1..length-1) of each inner vertex inside its corridor, counted from the start node. */
+	private final int[] positionOfVertex;
+
+	private final int numCorridors;
+	private final int[] corridorStart;
+	private final int[] corridorEnd;
+	private final int[] corridorLength;
+	private final int[] corridorTilesOffset;
+	private final int[] corridorTiles;
+
+	/** Corridors incident to node n are at positions {@code nodeCorridorsOffset[n] ..} */
+	private final int[] nodeCorridorsOffset;
+	private final int[] nodeCorridors;
+
+	IntersectionGraph(CompactGraph graph) {
+		World world = graph.world();
+		int numVertices = graph.numVertices();
+		nodeOfVertex = new int[numVertices];
+		corridorOfVertex = new int[numVertices];
+		positionOfVertex = new int[numVertices];
+		Arrays.fill(nodeOfVertex, -1);
+		Arrays.fill(corridorOfVertex, -1);
+		boolean[] accessible = new boolean[numVertices];
+		boolean[] isNode = new boolean[numVertices];
+		for (int v = 0; v < numVertices; ++v) {
+			Tile tile = world.tile(v);
+			accessible[v] = world.isAccessible(tile);
+			isNode[v] = accessible[v] && (graph.degree(v) != 2 || world.isIntersection(tile));
+		}
+		for (int i = 0; i < graph.numPortalVertices(); ++i) {
+			int v = graph.portalVertex(i);
+			isNode[v] = accessible[v];
+		}
+
+		int[] starts = new int[numVertices], ends = new int[numVertices], lengths = new int[numVertices];
+		int[] tilesOffset = new int[numVertices + 1];
+		int[] tiles = new int[numVertices];
+		int corridors = 0, tileCount = 0;
+		int[] nodes = new int[numVertices];
+		int nodeCount = 0;
+		for (int v = 0; v < numVertices; ++v) {
+			if (isNode[v]) {
+				nodeOfVertex[v] = nodeCount;
+				nodes[nodeCount++] = v;
+			}
+		}
+		// walk all corridors starting at a node, then break remaining loops without any node
+		for (int pass = 0; pass < 2; ++pass) {
+			for (int i = 0; i < (pass == 0 ? nodeCount : numVertices); ++i) {
+				int startVertex = pass == 0 ? nodes[i] : i;
+				if (pass == 1) {
+					if (!accessible[startVertex] || isNode[startVertex] || corridorOfVertex[startVertex] != -1) {
+						continue;
+					}
+					isNode[startVertex] = true;
+					nodeOfVertex[startVertex] = nodeCount;
+					nodes[nodeCount++] = startVertex;
+				}
+				for (int e = graph.offset(startVertex), end = e + graph.degree(startVertex); e < end; ++e) {
+					int first = graph.target(e);
+					if (isNode[first]) {
+						// corridor of length 1 between adjacent nodes, created once from the smaller node
+						if (startVertex < first) {
+							starts[corridors] = nodeOfVertex[startVertex];
+							ends[corridors] = nodeOfVertex[first];
+							lengths[corridors] = 1;
+							tilesOffset[corridors + 1] = tileCount;
+							++corridors;
+						}
+						continue;
+					}
+					if (corridorOfVertex[first] != -1) {
+						continue; // already walked from the other end
+					}
+					int prev = startVertex, current = first, length = 1;
+					while (!isNode[current]) {
+						corridorOfVertex[current] = corridors;
+						positionOfVertex[current] = length;
+						tiles[tileCount++] = current;
+						int next = -1;
+						for (int f = graph.offset(current), fEnd = f + graph.degree(current); f < fEnd; ++f) {
+							if (graph.target(f) != prev) {
+								next = graph.target(f);
+								break;
+							}
+						}
+						prev = current;
+						current = next;
+						++length;
+					}
+					starts[corridors] = nodeOfVertex[startVertex];
+					ends[corridors] = nodeOfVertex[current];
+					lengths[corridors] = length;
+					tilesOffset[corridors + 1] = tileCount;
+					++corridors;
+				}
+			}
+		}
+
+		numNodes = nodeCount;
+		nodeVertex = Arrays.copyOf(nodes, nodeCount);
+		numCorridors = corridors;
+		corridorStart = Arrays.copyOf(starts, corridors);
+		corridorEnd = Arrays.copyOf(ends, corridors);
+		corridorLength = Arrays.copyOf(lengths, corridors);
+		corridorTilesOffset = Arrays.copyOf(tilesOffset, corridors + 1);
+		corridorTiles = Arrays.copyOf(tiles, tileCount);
+
+		nodeCorridorsOffset = new int[numNodes + 1];
+		for (int c = 0; c < numCorridors; ++c) {
+			nodeCorridorsOffset[corridorStart[c] + 1]++;
+			nodeCorridorsOffset[corridorEnd[c] + 1]++;
+		}
+		for (int n = 0; n < numNodes; ++n) {
+			nodeCorridorsOffset[n + 1] += nodeCorridorsOffset[n];
+		}
+		nodeCorridors = new int[nodeCorridorsOffset[numNodes]];
+		int[] fill = Arrays.copyOf(nodeCorridorsOffset, numNodes);
+		for (int c = 0; c < numCorridors; ++c) {
+			nodeCorridors[fill[corridorStart[c]]++] = c;
+			nodeCorridors[fill[corridorEnd[c]]++] = c;
+		}
+	}
+
+	/**
+	 * @return number of nodes
+	 */
+	public int numNodes() {
+		return numNodes;
+	}
+
+	/**
+	 * @return number of corridors
+	 */
+	public int numCorridors() {
+		return numCorridors;
+	}
+
+	/**
+	 * @param node node number
+	 * @return the vertex of this node
+	 */
+	public int nodeVertex(int node) {
+		return nodeVertex[node];
+	}
+
+	/**
+	 * @param v vertex
+	 * @return the node number of the vertex or -1 if the vertex is no node
+	 */
+	public int nodeOf(int v) {
+		return nodeOfVertex[v];
+	}
+
+	/**
+	 * @param v vertex
+	 * @return the corridor containing the vertex or -1 if the vertex is a node or inaccessible
+	 */
+	public int corridorOf(int v) {
+		return corridorOfVertex[v];
+	}
+
+	/**
+	 * @param v vertex inside a corridor
+	 * @return the number of steps from the start node of the corridor to the vertex
+	 */
+	public int positionOf(int v) {
+		return positionOfVertex[v];
+	}
+
+	/**
+	 * @param c corridor
+	 * @return start node of the corridor
+	 */
+	public int start(int c) {
+		return corridorStart[c];
+	}
+
+	/**
+	 * @param c corridor
+	 * @return end node of the corridor
+	 */
+	public int end(int c) {
+		return corridorEnd[c];
+	}
+
+	/**
+	 * @param c corridor
+	 * @return number of steps from the start node to the end node
+	 */
+	public int length(int c) {
+		return corridorLength[c];
+	}
+
+	/**
+	 * @param c        corridor
+	 * @param position position 1..length-1
+	 * @return the inner vertex at the given position
+	 */
+	public int innerVertex(int c, int position) {
+		return corridorTiles[corridorTilesOffset[c] + position - 1];
+	}
+
+	/**
+	 * @param node node number
+	 * @return position of the first incident corridor
+	 */
+	public int corridorsOffset(int node) {
+		return nodeCorridorsOffset[node];
+	}
+
+	/**
+	 * @param node node number
+	 * @return number of incident corridors (loops are counted twice)
+	 */
+	public int numCorridors(int node) {
+		return nodeCorridorsOffset[node + 1] - nodeCorridorsOffset[node];
+	}
+
+	/**
+	 * @param i position of an incident corridor
+	 * @return the corridor
+	 */
+	public int incidentCorridor(int i) {
+		return nodeCorridors[i];
+	}
+}
@@ -0,0 +1,488 @@
+package de.amr.games.pacman.model.world.graph;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
+
+/**
+ * Path search engine working on a {@link CompactGraph} without allocating objects per search.
+ * <p>
+ * The per-vertex search state (visited mark, cost, parent) is kept in {@code int} arrays that are
+ * reused by all searches of the same thread (see {@link #ofCurrentThread()}). Instead of clearing
+ * the arrays before each search, a vertex counts as visited only if its stamp equals the generation
+ * number of the current search. Therefore the cost of a search only depends on the number of
+ * explored vertices, not on the size of the world. A* and best-first search use a binary heap of
+ * vertex numbers with decrease-key support.
+ * <p>
+ * The intersection graph search runs Dijkstra's algorithm on the {@link IntersectionGraph}: the
+ * source and target tiles are connected to the nodes at both ends of their corridors, the nodes are
+ * expanded in order of their distance and the tile path is assembled from the corridors in the end.
+ * It finds paths of the same length as breadth-first search. For graphs with movement constraints
+ * it falls back to A*.
+ * <p>
+ * The vertices of the path found by the last search can be read with {@link #pathVertex(int)} or
+ * copied into an array.
+ *
+ * @author Armin Reichert
+ */
+public class PathSearch {
+
+	private static final ThreadLocal<PathSearch> SEARCH = ThreadLocal.withInitial(PathSearch::new);
+
+	/**
+	 * @return the search engine of the current thread
+	 */
+	public static PathSearch ofCurrentThread() {
+		return SEARCH.get();
+	}
+
+	private int generation;
+	private int[] stamp = new int[0];
+	private int[] cost = new int[0];
+	private int[] parent = new int[0];
+	private int[] queue = new int[0];
+	private int[] path = new int[0];
+	private int pathLength;
+
+	// binary min-heap of vertices
+	private int[] heap = new int[0];
+	private int[] heapKey = new int[0];
+	private int[] heapPos = new int[0];
+	private int heapSize;
+
+	// heuristics data
+	private int width;
+	private int targetCol, targetRow;
+	private int[] portalCols, portalRows;
+	private int viaPortalToTarget;
+
+	private int explored;
+
+	private void prepare(int numVertices) {
+		if (stamp.length < numVertices) {
+			stamp = new int[numVertices];
+			cost = new int[numVertices];
+			parent = new int[numVertices];
+			queue = new int[numVertices];
+			path = new int[numVertices];
+			heap = new int[numVertices];
+			heapKey = new int[numVertices];
+			heapPos = new int[numVertices];
+			generation = 0;
+		}
+		if (++generation == 0) {
+			// stamps wrapped around, old marks could be mistaken for current ones
+			Arrays.fill(stamp, 0);
+			generation = 1;
+		}
+		heapSize = 0;
+		pathLength = 0;
+		explored = 0;
+	}
+
+	private boolean isVisited(int v) {
+		return stamp[v] == generation;
+	}
+
+	private void visit(int v, int parentVertex, int vertexCost) {
+		stamp[v] = generation;
+		parent[v] = parentVertex;
+		cost[v] = vertexCost;
+		heapPos[v] = -1;
+		++explored;
+	}
+
+	/**
+	 * Searches a path between the given vertices.
+	 *
+	 * @param graph      the graph
+	 * @param source     source vertex
+	 * @param target     target vertex
+	 * @param pathFinder search algorithm. Breadth-first search and A* find shortest paths, best-first
+	 *                   search finds some path guided by the heuristics.
+	 * @return number of vertices of the path found (including source and target), 0 if there is no path
+	 */
+	public int search(CompactGraph graph, int source, int target, PathFinder pathFinder) {
+		prepare(graph.numVertices());
+		visit(source, -1, 0);
+		boolean found = source == target;
+		if (!found) {
+			switch (pathFinder) {
+			case BREADTH_FIRST_SEARCH:
+				found = breadthFirstSearch(graph, source, target);
+				break;
+			case BEST_FIRST_SEARCH:
+				prepareHeuristics(graph, target);
+				found = bestFirstSearch(graph, source, target);
+				break;
+			case INTERSECTION_GRAPH:
+				if (graph.isUndirected()) {
+					// path is stored by the search itself
+					intersectionGraphSearch(graph.intersectionGraph(), source, target);
+					return pathLength;
+				}
+				prepareHeuristics(graph, target);
+				found = aStarSearch(graph, source, target);
+				break;
+			case ASTAR:
+			default:
+				prepareHeuristics(graph, target);
+				found = aStarSearch(graph, source, target);
+				break;
+			}
+		}
+		if (found) {
+			for (int v = target; v != -1; v = parent[v]) {
+				++pathLength;
+			}
+			int i = pathLength;
+			for (int v = target; v != -1; v = parent[v]) {
+				path[--i] = v;
+			}
+		}
+		return pathLength;
+	}
+
+	/**
+	 * @return number of vertices of the path found by the last search
+	 */
+	public int pathLength() {
+		return pathLength;
+	}
+
+	/**
+	 * @param i position inside the path
+	 * @return the vertex at the given position of the path found by the last search
+	 */
+	public int pathVertex(int i) {
+		if (i < 0 || i >= pathLength) {
+			throw new IndexOutOfBoundsException("Path index " + i + " out of range [0.." + pathLength + ")");
+		}
+		return path[i];
+	}
+
+	/**
+	 * @return a new array containing the vertices of the path found by the last search
+	 */
+	public int[] pathVertices() {
+		int[] copy = new int[pathLength];
+		System.arraycopy(path, 0, copy, 0, pathLength);
+		return copy;
+	}
+
+	/**
+	 * @return number of vertices visited by the last search
+	 */
+	public int exploredVertices() {
+		return explored;
+	}
+
+	private boolean breadthFirstSearch(CompactGraph graph, int source, int target) {
+		int head = 0, tail = 0;
+		queue[tail++] = source;
+		while (head < tail) {
+			int u = queue[head++];
+			for (int e = graph.offset(u), end = e + graph.degree(u); e < end; ++e) {
+				int v = graph.target(e);
+				if (!isVisited(v)) {
+					visit(v, u, cost[u] + 1);
+					if (v == target) {
+						return true;
+					}
+					queue[tail++] = v;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean bestFirstSearch(CompactGraph graph, int source, int target) {
+		heapInsert(source, estimate(source));
+		while (heapSize > 0) {
+			int u = heapPoll();
+			if (u == target) {
+				return true;
+			}
+			for (int e = graph.offset(u), end = e + graph.degree(u); e < end; ++e) {
+				int v = graph.target(e);
+				if (!isVisited(v)) {
+					visit(v, u, cost[u] + 1);
+					heapInsert(v, estimate(v));
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean aStarSearch(CompactGraph graph, int source, int target) {
+		heapInsert(source, estimate(source));
+		while (heapSize > 0) {
+			int u = heapPoll();
+			if (u == target) {
+				return true;
+			}
+			int newCost = cost[u] + 1;
+			for (int e = graph.offset(u), end = e + graph.degree(u); e < end; ++e) {
+				int v = graph.target(e);
+				if (!isVisited(v)) {
+					visit(v, u, newCost);
+					heapInsert(v, newCost + estimate(v));
+				} else if (newCost < cost[v]) {
+					// the heuristics is consistent, so only vertices still in the heap can be improved
+					parent[v] = u;
+					cost[v] = newCost;
+					if (heapPos[v] != -1) {
+						heapDecrease(v, newCost + estimate(v));
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	// Intersection graph search. Node search state is kept in the vertex arrays indexed by node number,
+	// the corridor leading to a node is stored in the queue array.
+
+	private static final int FROM_SOURCE_NODE = -1, FROM_START_SIDE = -2, FROM_END_SIDE = -3;
+
+	private void seed(int node, int seedCost, int corridor, int side) {
+		if (!isVisited(node)) {
+			visit(node, side, seedCost);
+			queue[node] = corridor;
+			heapInsert(node, seedCost);
+		} else if (seedCost < cost[node]) {
+			parent[node] = side;
+			queue[node] = corridor;
+			cost[node] = seedCost;
+			heapDecrease(node, seedCost);
+		}
+	}
+
+	private void intersectionGraphSearch(IntersectionGraph ig, int source, int target) {
+		// new generation: the source vertex has already been marked but node numbers are used from here
+		prepare(stamp.length);
+		int sourceNode = ig.nodeOf(source), sourceCorridor = ig.corridorOf(source);
+		int targetNode = ig.nodeOf(target), targetCorridor = ig.corridorOf(target);
+		if (sourceNode == -1 && sourceCorridor == -1 || targetNode == -1 && targetCorridor == -1) {
+			return;
+		}
+		int sourcePos = sourceCorridor != -1 ? ig.positionOf(source) : 0;
+		int targetPos = targetCorridor != -1 ? ig.positionOf(target) : 0;
+
+		int best = Integer.MAX_VALUE, exitNode = -1, exitSide = 0;
+		if (sourceCorridor != -1 && sourceCorridor == targetCorridor) {
+			best = Math.abs(sourcePos - targetPos);
+		}
+		if (sourceNode != -1) {
+			seed(sourceNode, 0, -1, FROM_SOURCE_NODE);
+		} else {
+			seed(ig.start(sourceCorridor), sourcePos, sourceCorridor, FROM_START_SIDE);
+			seed(ig.end(sourceCorridor), ig.length(sourceCorridor) - sourcePos, sourceCorridor, FROM_END_SIDE);
+		}
+		while (heapSize > 0) {
+			int u = heapPoll();
+			if (cost[u] >= best) {
+				break;
+			}
+			if (u == targetNode) {
+				best = cost[u];
+				exitNode = u;
+				break;
+			}
+			if (targetCorridor != -1) {
+				if (u == ig.start(targetCorridor) && cost[u] + targetPos < best) {
+					best = cost[u] + targetPos;
+					exitNode = u;
+					exitSide = FROM_START_SIDE;
+				}
+				if (u == ig.end(targetCorridor) && cost[u] + ig.length(targetCorridor) - targetPos < best) {
+					best = cost[u] + ig.length(targetCorridor) - targetPos;
+					exitNode = u;
+					exitSide = FROM_END_SIDE;
+				}
+			}
+			for (int i = ig.corridorsOffset(u), end = i + ig.numCorridors(u); i < end; ++i) {
+				int c = ig.incidentCorridor(i);
+				int other = ig.start(c) == u ? ig.end(c) : ig.start(c);
+				int newCost = cost[u] + ig.length(c);
+				if (!isVisited(other)) {
+					visit(other, u, newCost);
+					queue[other] = c;
+					heapInsert(other, newCost);
+				} else if (newCost < cost[other]) {
+					parent[other] = u;
+					queue[other] = c;
+					cost[other] = newCost;
+					if (heapPos[other] != -1) {
+						heapDecrease(other, newCost);
+					}
+				}
+			}
+		}
+		if (best == Integer.MAX_VALUE) {
+			return;
+		}
+		// assemble the path backwards, then reverse it
+		int n = 0;
+		if (exitNode == -1) {
+			// source and target inside the same corridor
+			int step = sourcePos < targetPos ? -1 : 1;
+			for (int pos = targetPos; pos != sourcePos + step; pos += step) {
+				path[n++] = ig.innerVertex(targetCorridor, pos);
+			}
+		} else {
+			if (targetNode == -1) {
+				n = appendInner(ig, targetCorridor, targetPos, exitSide == FROM_START_SIDE ? 0 : ig.length(targetCorridor),
+						n, true);
+			}
+			int u = exitNode;
+			while (true) {
+				path[n++] = ig.nodeVertex(u);
+				int p = parent[u];
+				if (p == FROM_SOURCE_NODE) {
+					break;
+				}
+				if (p < 0) {
+					// reached from the source inside its corridor
+					if (p == FROM_START_SIDE) {
+						n = appendInner(ig, sourceCorridor, 0, sourcePos + 1, n, false);
+					} else {
+						n = appendInner(ig, sourceCorridor, ig.length(sourceCorridor), sourcePos - 1, n, false);
+					}
+					break;
+				}
+				int c = queue[u];
+				if (ig.start(c) == p && ig.end(c) == u) {
+					n = appendInner(ig, c, ig.length(c), 0, n, false);
+				} else {
+					n = appendInner(ig, c, 0, ig.length(c), n, false);
+				}
+				u = p;
+			}
+		}
+		for (int i = 0, j = n - 1; i < j; ++i, --j) {
+			int swap = path[i];
+			path[i] = path[j];
+			path[j] = swap;
+		}
+		pathLength = n;
+	}
+
+	/*
+	 * Appends the inner vertices of the corridor strictly between the given positions, starting next to
+	 * position 'from'. If 'includeFrom' is set, the vertex at position 'from' is appended first.
+	 */
+	private int appendInner(IntersectionGraph ig, int c, int from, int to, int n, boolean includeFrom) {
+		int step = from < to ? 1 : -1;
+		if (includeFrom) {
+			path[n++] = ig.innerVertex(c, from);
+		}
+		for (int pos = from + step; pos != to; pos += step) {
+			path[n++] = ig.innerVertex(c, pos);
+		}
+		return n;
+	}
+
+	/*
+	 * Lower bound for the number of steps to the target. A path either does not use any portal and
+	 * has at least the Manhattan distance or it enters some portal, passes it in one step and leaves
+	 * some portal towards the target.
+	 */
+	private void prepareHeuristics(CompactGraph graph, int target) {
+		width = graph.world().width();
+		targetCol = target % width;
+		targetRow = target / width;
+		int numPortals = graph.numPortalVertices();
+		if (portalCols == null || portalCols.length != numPortals) {
+			portalCols = new int[numPortals];
+			portalRows = new int[numPortals];
+		}
+		for (int i = 0; i < numPortals; ++i) {
+			portalCols[i] = graph.portalVertex(i) % width;
+			portalRows[i] = graph.portalVertex(i) / width;
+		}
+		viaPortalToTarget = nearestPortal(targetCol, targetRow);
+	}
+
+	private int nearestPortal(int col, int row) {
+		int min = Integer.MAX_VALUE;
+		for (int i = 0; i < portalCols.length; ++i) {
+			min = Math.min(min, Math.abs(portalCols[i] - col) + Math.abs(portalRows[i] - row));
+		}
+		return min;
+	}
+
+	private int estimate(int v) {
+		int col = v % width, row = v / width;
+		int manhattan = Math.abs(targetCol - col) + Math.abs(targetRow - row);
+		if (portalCols.length == 0) {
+			return manhattan;
+		}
+		return Math.min(manhattan, nearestPortal(col, row) + 1 + viaPortalToTarget);
+	}
+
+	// heap operations
+
+	private boolean less(int i, int j) {
+		return heapKey[heap[i]] < heapKey[heap[j]];
+	}
+
+	private void swap(int i, int j) {
+		int vi = heap[i], vj = heap[j];
+		heap[i] = vj;
+		heap[j] = vi;
+		heapPos[vj] = i;
+		heapPos[vi] = j;
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int p = (i - 1) >>> 1;
+			if (!less(i, p)) {
+				break;
+			}
+			swap(i, p);
+			i = p;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			int left = 2 * i + 1, smallest = i;
+			if (left < heapSize && less(left, smallest)) {
+				smallest = left;
+			}
+			if (left + 1 < heapSize && less(left + 1, smallest)) {
+				smallest = left + 1;
+			}
+			if (smallest == i) {
+				return;
+			}
+			swap(i, smallest);
+			i = smallest;
+		}
+	}
+
+	private void heapInsert(int v, int key) {
+		heapKey[v] = key;
+		heap[heapSize] = v;
+		heapPos[v] = heapSize;
+		siftUp(heapSize++);
+	}
+
+	private void heapDecrease(int v, int key) {
+		heapKey[v] = key;
+		siftUp(heapPos[v]);
+	}
+
+	private int heapPoll() {
+		int min = heap[0];
+		heapPos[min] = -1;
+		if (--heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapPos[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+}
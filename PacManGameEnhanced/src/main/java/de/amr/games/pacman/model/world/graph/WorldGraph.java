@@ -1,94 +1,196 @@
 package de.amr.games.pacman.model.world.graph;
 
 import static de.amr.easy.game.Application.loginfo;
-import static de.amr.games.pacman.PacManApp.settings;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
+import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
-import de.amr.graph.core.api.UndirectedEdge;
-import de.amr.graph.grid.impl.Grid4Topology;
-import de.amr.graph.grid.impl.GridGraph;
-import de.amr.graph.pathfinder.api.GraphSearch;
-import de.amr.graph.pathfinder.api.Path;
-import de.amr.graph.pathfinder.impl.AStarSearch;
-import de.amr.graph.pathfinder.impl.BestFirstSearch;
-import de.amr.graph.pathfinder.impl.BreadthFirstSearch;
+import de.amr.games.pacman.model.world.graph.CompactGraph.Constraint;
 
 /**
  * Adds a graph structure to the world such that path finder algorithms can be used.
+ * <p>
+ * The adjacency structure is a {@link CompactGraph} that is shared by all graphs of the same world,
+ * so creating a world graph is cheap. Each graph keeps a reference to it and only fetches it again
+ * when the layout of the world has changed. Paths may lead through portals. The searches are done by the
+ * {@link PathSearch} engine of the current thread.
  * 
  * @author Armin Reichert
  */
-public class WorldGraph extends GridGraph<Tile, Void> {
+public class WorldGraph {
 
 	public enum PathFinder {
-		ASTAR, BEST_FIRST_SEARCH, BREADTH_FIRST_SEARCH
+		ASTAR, BEST_FIRST_SEARCH, BREADTH_FIRST_SEARCH, INTERSECTION_GRAPH;
+
+		/**
+		 * @param spec path finder specification as used by the "-pathFinder" option (astar, bfs, bestfs,
+		 *             intersections)
+		 * @return the specified path finder, A* if the specification is unknown
+		 */
+		public static PathFinder of(String spec) {
+			switch (spec.toLowerCase()) {
+			case "bfs":
+				return BREADTH_FIRST_SEARCH;
+			case "bestfs":
+				return BEST_FIRST_SEARCH;
+			case "intersections":
+				return INTERSECTION_GRAPH;
+			case "astar":
+			default:
+				return ASTAR;
+			}
+		}
 	}
 
 	private final World world;
+	private final Constraint[] constraints;
 	private PathFinder pathFinder;
 	private int pathFinderCalls;
+	private CompactGraph adjacency;
+	private DistanceField distanceField;
 
-	public WorldGraph(World world) {
-		super(world.width(), world.height(), Grid4Topology.get(), v -> null, (u, v) -> null, UndirectedEdge::new);
-		this.world = world;
-		fill();
-		edges().filter(edge -> !world.isAccessible(tile(edge.either())) || !world.isAccessible(tile(edge.other())))
-				.forEach(this::removeEdge);
-		setDefaultVertexLabel(this::tile);
-		pathFinder = getPathFinder(settings.pathFinder);
+	/**
+	 * Creates a graph using the A* path finder.
+	 * 
+	 * @param world       the world
+	 * @param constraints optional movement constraints applied to the paths
+	 */
+	public WorldGraph(World world, Constraint... constraints) {
+		this(world, PathFinder.ASTAR, constraints);
 	}
 
-	public void setPathFinder(PathFinder pathFinder) {
+	/**
+	 * @param world       the world
+	 * @param pathFinder  the path finder used for computing shortest paths
+	 * @param constraints optional movement constraints applied to the paths
+	 */
+	public WorldGraph(World world, PathFinder pathFinder, Constraint... constraints) {
+		this.world = world;
 		this.pathFinder = pathFinder;
+		this.constraints = constraints.clone();
 	}
 
-	private PathFinder getPathFinder(String spec) {
-		switch (spec.toLowerCase()) {
-		case "bfs":
-			return PathFinder.BREADTH_FIRST_SEARCH;
-		case "bestfs":
-			return PathFinder.BEST_FIRST_SEARCH;
-		case "astar":
-		default:
-			return PathFinder.ASTAR;
-		}
+	public void setPathFinder(PathFinder pathFinder) {
+		this.pathFinder = pathFinder;
 	}
 
-	private GraphSearch createSearch(Tile target) {
-		switch (pathFinder) {
-		case BREADTH_FIRST_SEARCH:
-			return new BreadthFirstSearch(this);
-		case BEST_FIRST_SEARCH:
-			return new BestFirstSearch(this, v -> manhattan(v, vertex(target)));
-		case ASTAR:
-		default:
-			return new AStarSearch(this, (u, v) -> 1, this::manhattan);
+	/**
+	 * @return the shared adjacency structure of the world
+	 */
+	public CompactGraph adjacency() {
+		if (adjacency == null || adjacency.isOutdated()) {
+			adjacency = CompactGraph.of(world, constraints);
 		}
+		return adjacency;
 	}
 
 	public int vertex(Tile tile) {
-		return cell(tile.col, tile.row);
+		return world.index(tile);
 	}
 
 	public Tile tile(int vertex) {
-		return Tile.at(col(vertex), row(vertex));
+		return world.tile(vertex);
+	}
+
+	/**
+	 * @param from source tile
+	 * @param to   target tile
+	 * @return the direction of the graph edge leading from the source to the target tile. For the
+	 *         edge connecting the two tiles of a portal, this is not the direction between the tile
+	 *         positions.
+	 */
+	public Optional<Direction> edgeDir(Tile from, Tile to) {
+		if (world.includes(from) && world.includes(to)) {
+			CompactGraph adjacency = adjacency();
+			int u = vertex(from), v = vertex(to);
+			for (int e = adjacency.offset(u), end = e + adjacency.degree(u); e < end; ++e) {
+				if (adjacency.target(e) == v) {
+					return Optional.of(adjacency.direction(e));
+				}
+			}
+		}
+		return Optional.empty();
 	}
 
 	public List<Tile> shortestPath(Tile source, Tile target) {
 		List<Tile> pathTiles = Collections.emptyList();
 		if (world.includes(source) && world.includes(target)) {
-			Path path = createSearch(target).findPath(vertex(source), vertex(target));
-			pathFinderCalls += 1;
-			if (pathFinderCalls % 100 == 0) {
-				loginfo("%d'th pathfinding (%s) executed", pathFinderCalls, pathFinder);
+			PathSearch search = search(source, target);
+			if (search.pathLength() > 0) {
+				pathTiles = new ArrayList<>(search.pathLength());
+				for (int i = 0; i < search.pathLength(); ++i) {
+					pathTiles.add(tile(search.pathVertex(i)));
+				}
 			}
-			pathTiles = path.vertexStream().map(this::tile).collect(Collectors.toList());
 		}
 		return pathTiles;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @param source source tile
+	 * @param target target tile
+	 * @return the tile indices (see {@link World#index(Tile)}) of the path found by the path finder,
+	 *         an empty array if there is no path
+	 */
+	public int[] shortestPathIndices(Tile source, Tile target) {
+		if (world.includes(source) && world.includes(target)) {
+			return search(source, target).pathVertices();
+		}
+		return new int[0];
+	}
+
+	private PathSearch search(Tile source, Tile target) {
+		PathSearch search = PathSearch.ofCurrentThread();
+		search.search(adjacency(), vertex(source), vertex(target), pathFinder);
+		pathFinderCalls += 1;
+		if (pathFinderCalls % 100 == 0) {
+			loginfo("%d'th pathfinding (%s) executed", pathFinderCalls, pathFinder);
+		}
+		return search;
+	}
+
+	/**
+	 * @return the precomputed distances between all pairs of tiles over the edges of the graph, so
+	 *         the movement constraints of this graph apply. The table is shared by all graphs of the
+	 *         world with the same constraints, it is computed on first access and recomputed only if
+	 *         the layout of the world has changed.
+	 */
+	public DistanceTable distances() {
+		return adjacency().distanceTable();
+	}
+
+	/**
+	 * @return a distance field for computing the distances from a single tile to all tiles at once.
+	 *         The field is created on first access and recreated only if the layout of the world has
+	 *         changed.
+	 */
+	public DistanceField distanceField() {
+		if (distanceField == null || distanceField.isOutdated()) {
+			distanceField = new DistanceField(world);
+		}
+		return distanceField;
+	}
+
+	/**
+	 * @param source source tile
+	 * @param target target tile
+	 * @return the length of a shortest path between the tiles or {@link DistanceTable#UNREACHABLE}
+	 */
+	public int distance(Tile source, Tile target) {
+		return distances().distance(source, target);
+	}
+
+	/**
+	 * @param source source tile
+	 * @param target target tile
+	 * @return the first direction on a shortest path between the tiles or {@code null}
+	 */
+	public Direction nextDir(Tile source, Tile target) {
+		return distances().nextDir(source, target);
+	}
+}
\ No newline at end of file
@@ -117,9 +117,9 @@ public class EnhancedPlayView extends PlayView {
 
 	@Override
 	protected void drawWorld(Graphics2D g) {
-		theme.worldRenderer(world).render(g, world);
+		worldRenderer.render(g, world);
 		if (showingGrid) {
-			world.tiles().filter(world::hasEatenFood).forEach(tile -> {
+			world.eatenFoodLocations().forEach(tile -> {
 				Color color = Rendering.patternColor(tile);
 				g.setColor(color);
 				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
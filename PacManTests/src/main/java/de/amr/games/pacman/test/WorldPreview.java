@@ -12,7 +12,9 @@ import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.World;
 import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
 import de.amr.games.pacman.model.world.arcade.Pellet;
-import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.grid.impl.Grid4Topology;
+import de.amr.graph.grid.impl.GridGraph;
 import de.amr.graph.grid.ui.rendering.ConfigurableGridRenderer;
 import de.amr.graph.grid.ui.rendering.GridCanvas;
 import de.amr.graph.grid.ui.rendering.GridRenderer;
@@ -27,11 +29,11 @@ public class WorldPreview extends JFrame {
 	}
 
 	private World world;
-	private WorldGraph graph;
+	private GridGraph<Tile, Void> graph;
 
 	public WorldPreview() {
 		world = new ArcadeWorld();
-		graph = new WorldGraph(world);
+		createGraph();
 		setTitle("Pac-Man World Preview");
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		GridCanvas canvas = new GridCanvas(graph, TS);
@@ -43,13 +45,25 @@ public class WorldPreview extends JFrame {
 		setVisible(true);
 	}
 
+	private void createGraph() {
+		graph = new GridGraph<>(world.width(), world.height(), Grid4Topology.get(), v -> null, (u, v) -> null,
+				UndirectedEdge::new);
+		graph.fill();
+		graph.edges().filter(edge -> !world.isAccessible(tile(edge.either())) || !world.isAccessible(tile(edge.other())))
+				.forEach(graph::removeEdge);
+	}
+
+	private Tile tile(int cell) {
+		return Tile.at(graph.col(cell), graph.row(cell));
+	}
+
 	private GridRenderer createRenderer() {
 		ConfigurableGridRenderer r = new WallPassageGridRenderer();
 		r.fnCellSize = () -> TS;
 		r.fnPassageWidth = (u, v) -> TS - 1;
 		r.fnPassageColor = (cell, dir) -> Color.WHITE;
 		r.fnCellBgColor = cell -> {
-			Tile tile = graph.tile(cell);
+			Tile tile = tile(cell);
 			if (!world.isAccessible(tile)) {
 				return Color.LIGHT_GRAY;
 			}
@@ -80,7 +94,7 @@ public class WorldPreview extends JFrame {
 	}
 
 	private String text(int cell) {
-		Tile location = graph.tile(cell);
+		Tile location = tile(cell);
 		if (world.pacManBed().includes(location)) {
 			return "P";
 		}
@@ -0,0 +1,155 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.core.ByteMap;
+
+public class ByteMapTests {
+
+	// 9 x 10 = 90 cells, so the last word of each plane is only partially used
+	private byte[][] data;
+	private ByteMap map;
+
+	@Before
+	public void setup() {
+		data = new byte[9][10];
+		for (int row = 0; row < data.length; ++row) {
+			for (int col = 0; col < data[0].length; ++col) {
+				data[row][col] = (byte) (row * 31 + col * 7);
+			}
+		}
+		map = new ByteMap(data);
+	}
+
+	@Test
+	public void testContent() {
+		assertEquals(10, map.getWidth());
+		assertEquals(9, map.getHeight());
+		for (int row = 0; row < data.length; ++row) {
+			for (int col = 0; col < data[0].length; ++col) {
+				assertEquals(data[row][col], map.get(row, col));
+				for (int bit = 0; bit < 8; ++bit) {
+					assertEquals((data[row][col] & (1 << bit)) != 0, map.is(row, col, bit));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSingleBits() {
+		map.set1(8, 9, 7);
+		assertTrue(map.is(8, 9, 7));
+		map.set0(8, 9, 7);
+		assertFalse(map.is(8, 9, 7));
+		map.set1(0, 0, 0);
+		assertTrue(map.is(0, 0, 0));
+	}
+
+	@Test
+	public void testPlaneOperations() {
+		map.setAll(3);
+		assertEquals(90, map.count(3));
+		map.clearAll(3);
+		assertEquals(0, map.count(3));
+
+		int expected = 0;
+		for (byte[] row : data) {
+			for (byte value : row) {
+				if ((value & 1) != 0 && (value & 2) == 0) {
+					++expected;
+				}
+			}
+		}
+		assertEquals(expected, map.count(0, 1));
+
+		map.or(1, 0);
+		assertEquals(0, map.count(0, 1));
+		map.andNot(1, 0);
+		assertEquals(0, map.count(1) - map.count(1, 0));
+		for (int row = 0; row < data.length; ++row) {
+			for (int col = 0; col < data[0].length; ++col) {
+				assertFalse(map.is(row, col, 0) && map.is(row, col, 1));
+			}
+		}
+	}
+
+	@Test
+	public void testCopy() {
+		ByteMap copy = new ByteMap(map);
+		copy.clearAll(2);
+		assertEquals(0, copy.count(2));
+		assertTrue(map.count(2) > 0);
+		copy.copyFrom(map);
+		for (int row = 0; row < data.length; ++row) {
+			for (int col = 0; col < data[0].length; ++col) {
+				assertEquals(map.get(row, col), copy.get(row, col));
+			}
+		}
+	}
+
+	@Test
+	public void testBaseLayer() {
+		ByteBuffer buffer = ByteBuffer.allocate(3 + 90);
+		for (int row = 0; row < data.length; ++row) {
+			buffer.position(3 + row * 10);
+			buffer.put(data[row]);
+		}
+		ByteMap layered = new ByteMap(buffer.asReadOnlyBuffer(), 3, 10, 9);
+		assertEquals(0, layered.copiedPlanesCount());
+		for (int bit = 0; bit < 8; ++bit) {
+			assertEquals(map.count(bit), layered.count(bit));
+			assertArrayEquals(map.plane(bit), layered.plane(bit));
+		}
+		for (int row = 0; row < data.length; ++row) {
+			for (int col = 0; col < data[0].length; ++col) {
+				assertEquals(data[row][col], layered.get(row, col));
+			}
+		}
+		assertEquals(0, layered.copiedPlanesCount());
+
+		// modifying a plane copies only this plane, the base layer is never changed
+		ByteMap other = new ByteMap(layered);
+		layered.set1(8, 9, 4);
+		layered.or(4, 0);
+		map.set1(8, 9, 4);
+		map.or(4, 0);
+		assertEquals(1, layered.copiedPlanesCount());
+		for (int row = 0; row < data.length; ++row) {
+			for (int col = 0; col < data[0].length; ++col) {
+				assertEquals(map.get(row, col), layered.get(row, col));
+				assertEquals(data[row][col], other.get(row, col));
+			}
+		}
+		other.copyFrom(layered);
+		assertEquals(1, other.copiedPlanesCount());
+		assertEquals(map.count(4), other.count(4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBaseLayerTooSmall() {
+		new ByteMap(ByteBuffer.allocate(89), 0, 10, 9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBitIndexRange() {
+		map.setAll(8);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testColumnRange() {
+		map.set1(0, 10, 0);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRowRange() {
+		map.is(9, 0, 0);
+	}
+}
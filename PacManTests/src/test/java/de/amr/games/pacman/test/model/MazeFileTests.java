@@ -0,0 +1,213 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.RectangularArea;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.components.Door.DoorState;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.core.MapBasedWorld;
+import de.amr.games.pacman.model.world.file.MappedWorld;
+import de.amr.games.pacman.model.world.file.MazeFile;
+import de.amr.games.pacman.model.world.generator.GeneratedWorld;
+import de.amr.games.pacman.model.world.generator.MazeGenerator;
+
+public class MazeFileTests {
+
+	private static MazeFile toMazeFile(MapBasedWorld world, Tile bonusLocation) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MazeFile.write(world, bonusLocation, out);
+		return MazeFile.of(ByteBuffer.wrap(out.toByteArray()).asReadOnlyBuffer());
+	}
+
+	/*
+	 * Maze file without houses, portals and one-way tiles and with an empty body.
+	 */
+	private static ByteBuffer emptyMazeFile(int width, int height) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		int headerSize = 53;
+		out.writeInt(MazeFile.MAGIC);
+		out.writeInt(MazeFile.VERSION);
+		out.writeInt(headerSize);
+		out.writeInt(width);
+		out.writeInt(height);
+		out.writeInt(0); // total food count
+		out.writeInt(1); // Pac-Man's bed
+		out.writeInt(1);
+		out.writeByte(Direction.RIGHT.ordinal());
+		out.writeInt(1); // bonus location
+		out.writeInt(1);
+		out.writeInt(0); // houses
+		out.writeInt(0); // portals
+		out.writeInt(0); // one-way tiles
+		out.write(new byte[width * height]);
+		out.flush();
+		return ByteBuffer.wrap(bytes.toByteArray()).asReadOnlyBuffer();
+	}
+
+	private static ByteBuffer withInt(ByteBuffer file, int offset, int value) {
+		ByteBuffer copy = ByteBuffer.allocate(file.limit());
+		copy.put(file.duplicate());
+		copy.putInt(offset, value);
+		return copy;
+	}
+
+	private static String block(RectangularArea block) {
+		return block.col() + "," + block.row() + "," + block.width() + "," + block.height();
+	}
+
+	private static void assertSameWorld(MapBasedWorld expected, MappedWorld actual) {
+		assertEquals(expected.width(), actual.width());
+		assertEquals(expected.height(), actual.height());
+		assertEquals(expected.totalFoodCount(), actual.totalFoodCount());
+		expected.tiles().forEach(tile -> {
+			assertEquals(expected.isAccessible(tile), actual.isAccessible(tile));
+			assertEquals(expected.isTunnel(tile), actual.isTunnel(tile));
+			assertEquals(expected.isIntersection(tile), actual.isIntersection(tile));
+			assertEquals(expected.isPortal(tile), actual.isPortal(tile));
+			assertEquals(expected.foodAt(tile), actual.foodAt(tile));
+			for (Direction dir : Direction.values()) {
+				assertEquals(expected.neighbor(tile, dir), actual.neighbor(tile, dir));
+				assertEquals(expected.isOneWay(tile, dir), actual.isOneWay(tile, dir));
+			}
+		});
+		assertEquals(block(expected.pacManBed()), block(actual.pacManBed()));
+		assertEquals(expected.pacManBed().exitDir, actual.pacManBed().exitDir);
+		assertEquals(expected.houses().count(), actual.houses().count());
+		for (int i = 0; i < expected.houses().count(); ++i) {
+			House expectedHouse = expected.house(i), actualHouse = actual.house(i);
+			assertEquals(block((RectangularArea) expectedHouse.layout()), block((RectangularArea) actualHouse.layout()));
+			assertEquals(expectedHouse.doors().map(MazeFileTests::block).collect(Collectors.toList()),
+					actualHouse.doors().map(MazeFileTests::block).collect(Collectors.toList()));
+			assertEquals(expectedHouse.beds().map(bed -> block(bed) + bed.exitDir).collect(Collectors.toList()),
+					actualHouse.beds().map(bed -> block(bed) + bed.exitDir).collect(Collectors.toList()));
+		}
+		assertEquals(expected.portals().map(p -> p.either + "" + p.other).collect(Collectors.toList()),
+				actual.portals().map(p -> p.either + "" + p.other).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testArcadeWorld() throws IOException {
+		ArcadeWorld arcadeWorld = new ArcadeWorld();
+		MazeFile file = toMazeFile(arcadeWorld, Tile.at(13, 20));
+		assertEquals(28, file.width());
+		assertEquals(36, file.height());
+		assertSameWorld(arcadeWorld, file.newWorld());
+	}
+
+	@Test
+	public void testGeneratedWorldOnDisk() throws IOException {
+		GeneratedWorld generated = new MazeGenerator(200, 300).seed(4711).houses(3).portals(5).generate();
+		generated.clearFood(Tile.at(1, 4));
+		Path path = Files.createTempFile("maze", ".pmaz");
+		try {
+			MazeFile.write(generated, generated.bonusLocation(), path);
+			MazeFile file = MazeFile.open(path);
+			MappedWorld world = file.newWorld();
+			// eaten food is not stored
+			generated.fillFood();
+			assertSameWorld(generated, world);
+			assertEquals(0, world.map().copiedPlanesCount());
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testWorldsShareLayoutButNotFood() throws IOException {
+		GeneratedWorld generated = new MazeGenerator(60, 80).seed(1).houses(2).generate();
+		MazeFile file = toMazeFile(generated, generated.bonusLocation());
+		MappedWorld first = file.newWorld(), second = file.newWorld();
+		List<Tile> food = first.foodLocations().limit(10).collect(Collectors.toList());
+		food.forEach(first::clearFood);
+		assertEquals(first.totalFoodCount() - 10, first.remainingFoodCount());
+		assertEquals(second.totalFoodCount(), second.remainingFoodCount());
+		food.forEach(tile -> {
+			assertFalse(first.hasFood(tile));
+			assertTrue(first.hasEatenFood(tile));
+			assertTrue(second.hasFood(tile));
+		});
+		assertEquals(1, first.map().copiedPlanesCount());
+		assertEquals(0, second.map().copiedPlanesCount());
+
+		first.clearFood();
+		assertEquals(0, first.remainingFoodCount());
+		first.fillFood();
+		assertEquals(first.totalFoodCount(), first.remainingFoodCount());
+
+		first.house(0).door(0).state = DoorState.OPEN;
+		assertEquals(DoorState.CLOSED, second.house(0).door(0).state);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoMazeFile() {
+		MazeFile.of(ByteBuffer.wrap(new byte[100]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTruncatedMazeFile() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MazeFile.write(new ArcadeWorld(), Tile.at(13, 20), out);
+		byte[] bytes = out.toByteArray();
+		MazeFile.of(ByteBuffer.wrap(bytes, 0, bytes.length - 1).slice());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCorruptHouseCount() throws IOException {
+		MazeFile.of(withInt(emptyMazeFile(1, 1), 41, Integer.MAX_VALUE));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativePortalCount() throws IOException {
+		MazeFile.of(withInt(emptyMazeFile(1, 1), 45, -1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCorruptOneWayTileCount() throws IOException {
+		MazeFile.of(withInt(emptyMazeFile(1, 1), 49, 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooWideMazeFile() throws IOException {
+		MazeFile.of(emptyMazeFile(Short.MAX_VALUE + 1, 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooHighMazeFile() throws IOException {
+		MazeFile.of(emptyMazeFile(1, Short.MAX_VALUE + 1));
+	}
+
+	@Test
+	public void testLargeMazeFileAllocatesNoTileTables() throws IOException {
+		MazeFile file = MazeFile.of(emptyMazeFile(2048, 2048));
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+		MappedWorld world = file.newWorld();
+		long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		// a table of the 4M tiles would take more than 16 MB
+		assertTrue("Creating the world allocated " + allocated + " bytes", allocated < 1_000_000);
+		assertEquals(Tile.at(2000, 1000), world.tile(1000 * 2048 + 2000));
+		assertEquals(1000 * 2048 + 2000, world.index(Tile.at(2000, 1000)));
+		assertEquals(2048L * 2048, world.tiles().count());
+	}
+}
@@ -0,0 +1,157 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.model.world.components.Block;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.core.MapBasedWorld;
+import de.amr.games.pacman.model.world.generator.GeneratedWorld;
+import de.amr.games.pacman.model.world.generator.MazeGenerator;
+
+public class MazeGeneratorTests {
+
+	private static String layout(World world) {
+		StringBuilder sb = new StringBuilder();
+		world.tiles().forEach(tile -> {
+			sb.append(world.isAccessible(tile) ? world.isIntersection(tile) ? '+' : world.hasFood(tile) ? '.' : ' ' : '#');
+		});
+		return sb.toString();
+	}
+
+	private static Tile tile(Block block) {
+		return Tile.at(block.col(), block.row());
+	}
+
+	private static Set<Tile> reachableTiles(World world, Tile source) {
+		Set<Tile> reached = new HashSet<>();
+		ArrayDeque<Tile> q = new ArrayDeque<>();
+		reached.add(source);
+		q.add(source);
+		while (!q.isEmpty()) {
+			Tile tile = q.poll();
+			for (Direction dir : Direction.values()) {
+				Tile neighbor = world.neighbor(tile, dir);
+				if (world.includes(neighbor) && world.isAccessible(neighbor) && reached.add(neighbor)) {
+					q.add(neighbor);
+				}
+			}
+		}
+		return reached;
+	}
+
+	private static void assertValid(GeneratedWorld world) {
+		int w = world.width();
+		// mirror symmetry
+		world.tiles().forEach(tile -> {
+			Tile mirrored = Tile.at(w - 1 - tile.col, tile.row);
+			assertEquals(world.isAccessible(tile), world.isAccessible(mirrored));
+			assertEquals(world.hasFood(tile), world.hasFood(mirrored));
+			assertEquals(world.isIntersection(tile), world.isIntersection(mirrored));
+		});
+		// all accessible tiles are connected
+		Set<Tile> reached = reachableTiles(world, tile(world.pacManBed()));
+		assertEquals(world.tiles().filter(world::isAccessible).count(), reached.size());
+		// food and energizers
+		assertEquals(world.totalFoodCount(), world.remainingFoodCount());
+		assertTrue(world.energizerLocations().count() >= 4);
+		world.foodLocations().forEach(tile -> {
+			assertTrue(world.isAccessible(tile));
+			assertFalse(world.houses().anyMatch(house -> house.isInsideOrDoor(tile)));
+		});
+		// intersections have at least three accessible neighbors
+		world.tiles().filter(world::isIntersection).forEach(tile -> {
+			long n = Stream.of(Direction.values()).map(dir -> world.neighbor(tile, dir)).filter(world::isAccessible).count();
+			assertTrue(tile + " has only " + n + " neighbors", n >= 3);
+		});
+		// houses, beds and doors
+		world.houses().forEach(house -> {
+			assertEquals(4, house.beds().count());
+			house.beds().forEach(bed -> assertTrue(world.isAccessible(tile(bed))));
+			house.doors().flatMap(door -> door.tiles()).forEach(tile -> assertTrue(world.isAccessible(tile)));
+			assertTrue(reached.contains(tile(house.bed(1))));
+		});
+		// portals wrap around
+		world.portals().forEach(portal -> {
+			assertEquals(portal.other, world.neighbor(portal.either, Direction.LEFT));
+			assertEquals(portal.either, world.neighbor(portal.other, Direction.RIGHT));
+		});
+		// one-way tiles can be left in their direction
+		for (OneWayTile oneWay : world.oneWayTiles().toArray(OneWayTile[]::new)) {
+			assertTrue(world.isAccessible(oneWay.tile));
+			assertTrue(world.isAccessible(world.neighbor(oneWay.tile, oneWay.dir)));
+		}
+	}
+
+	@Test
+	public void testArcadeSize() {
+		GeneratedWorld world = new MazeGenerator(28, 36).seed(1).generate();
+		assertEquals(28, world.width());
+		assertEquals(36, world.height());
+		assertEquals(1, world.houses().count());
+		assertEquals(1, world.portals().count());
+		assertEquals(2, world.oneWayTiles().count());
+		assertValid(world);
+	}
+
+	@Test
+	public void testSameSeedSameMaze() {
+		String first = layout(new MazeGenerator(60, 72).seed(42).houses(2).portals(3).generate());
+		String second = layout(new MazeGenerator(60, 72).seed(42).houses(2).portals(3).generate());
+		String other = layout(new MazeGenerator(60, 72).seed(43).houses(2).portals(3).generate());
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+	}
+
+	@Test
+	public void testManySizesAndSeeds() {
+		int[][] sizes = { { 20, 24 }, { 22, 25 }, { 30, 40 }, { 62, 101 }, { 100, 100 } };
+		for (int[] size : sizes) {
+			MazeGenerator generator = new MazeGenerator(size[0], size[1]);
+			for (long seed = 0; seed < 10; ++seed) {
+				GeneratedWorld world = generator.seed(seed).houses(generator.maxHouses()).portals(generator.maxPortals() / 2)
+						.generate();
+				assertEquals(generator.maxHouses(), world.houses().count());
+				assertValid(world);
+			}
+		}
+	}
+
+	@Test
+	public void testLargeMaze() {
+		MazeGenerator generator = new MazeGenerator(1000, 1000);
+		GeneratedWorld world = generator.seed(7).houses(10).portals(20).generate();
+		assertEquals(1_000_000, world.width() * world.height());
+		assertEquals(10, world.houses().count());
+		assertEquals(20, world.portals().count());
+		assertTrue(world.totalFoodCount() > 100_000);
+		House house = world.house(9);
+		assertTrue(world.isAccessible(tile(house.bed(0))));
+		Tile bed = tile(world.pacManBed());
+		assertTrue(world.isAccessible(bed) && world.isAccessible(Tile.at(bed.col + 1, bed.row)));
+		assertTrue(world.map().count(MapBasedWorld.B_ENERGIZER) > 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOddWidth() {
+		new MazeGenerator(29, 36);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyHouses() {
+		new MazeGenerator(28, 36).houses(2);
+	}
+}
@@ -0,0 +1,121 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.World;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.core.MovementPermissions;
+import de.amr.games.pacman.model.world.core.MovementPermissions.MovementClass;
+import de.amr.games.pacman.model.world.generator.MazeGenerator;
+
+public class MovementPermissionsTests {
+
+	/* The rules as implemented by Pac-Man and the ghosts before the masks were introduced. */
+	private static boolean allowed(World world, MovementClass movementClass, House house, Tile tile, Tile neighbor) {
+		if (movementClass == MovementClass.PAC_MAN) {
+			if (world.houses().anyMatch(h -> h.isDoor(neighbor))) {
+				return false;
+			}
+			return world.isAccessible(neighbor);
+		}
+		if (house.isDoor(neighbor)) {
+			return movementClass == MovementClass.GHOST_ENTERING_OR_LEAVING_HOUSE;
+		}
+		Optional<OneWayTile> maybeOneWay = world.oneWayTiles().filter(oneWay -> oneWay.tile.equals(neighbor)).findFirst();
+		if (maybeOneWay.isPresent() && movementClass == MovementClass.GHOST_CHASING_OR_SCATTERING) {
+			Direction toNeighbor = tile.dirTo(neighbor).get();
+			if (toNeighbor.equals(maybeOneWay.get().dir.opposite())) {
+				return false;
+			}
+		}
+		return world.isAccessible(neighbor);
+	}
+
+	private static void assertSameRules(World world) {
+		MovementPermissions permissions = MovementPermissions.of(world);
+		House[] houses = world.houses().toArray(House[]::new);
+		world.tiles().filter(world::isAccessible).forEach(tile -> {
+			for (MovementClass movementClass : MovementClass.values()) {
+				for (House house : houses) {
+					int mask = permissions.mask(movementClass, house, tile);
+					for (Direction dir : Direction.values()) {
+						Tile neighbor = world.neighbor(tile, dir);
+						boolean expected = allowed(world, movementClass, house, tile, neighbor);
+						assertEquals(tile + " " + dir + " " + movementClass, expected, (mask & (1 << dir.ordinal())) != 0);
+						assertEquals(expected, permissions.canMove(movementClass, house, tile, dir));
+						assertEquals(expected, permissions.canMoveBetween(movementClass, house, tile, neighbor));
+					}
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testArcadeWorld() {
+		assertSameRules(new ArcadeWorld());
+	}
+
+	@Test
+	public void testGeneratedWorld() {
+		assertSameRules(new MazeGenerator(60, 80).seed(7).houses(3).portals(4).generate());
+	}
+
+	@Test
+	public void testArcadeRules() {
+		ArcadeWorld world = new ArcadeWorld();
+		MovementPermissions permissions = MovementPermissions.of(world);
+		House house = world.house(0);
+		Tile aboveDoor = Tile.at(13, 14);
+		assertFalse(permissions.canMove(MovementClass.PAC_MAN, null, aboveDoor, Direction.DOWN));
+		assertFalse(permissions.canMove(MovementClass.GHOST_CHASING_OR_SCATTERING, house, aboveDoor, Direction.DOWN));
+		assertTrue(permissions.canMove(MovementClass.GHOST_ENTERING_OR_LEAVING_HOUSE, house, aboveDoor, Direction.DOWN));
+		world.oneWayTiles().forEach(oneWay -> {
+			Tile below = world.neighbor(oneWay.tile, oneWay.dir);
+			assertFalse(permissions.canMoveBetween(MovementClass.GHOST_CHASING_OR_SCATTERING, house, below, oneWay.tile));
+			assertTrue(permissions.canMoveBetween(MovementClass.GHOST_FRIGHTENED, house, below, oneWay.tile));
+			assertTrue(permissions.canMoveBetween(MovementClass.PAC_MAN, null, below, oneWay.tile));
+		});
+	}
+
+	@Test
+	public void testSharedPerWorld() {
+		ArcadeWorld world = new ArcadeWorld();
+		assertSame(MovementPermissions.of(world), MovementPermissions.of(world));
+		assertFalse(MovementPermissions.of(world).isOutdated());
+	}
+
+	@Test
+	public void testTilesOutsideWorld() {
+		ArcadeWorld world = new ArcadeWorld();
+		MovementPermissions permissions = MovementPermissions.of(world);
+		Tile outside = Tile.at(-1, 17);
+		assertEquals(world.isAccessible(Tile.at(0, 17)),
+				permissions.canMove(MovementClass.PAC_MAN, null, outside, Direction.RIGHT));
+	}
+
+	@Test
+	public void testCachedPermissionsDoNotKeepWorldAlive() throws InterruptedException {
+		ArcadeWorld world = new ArcadeWorld();
+		MovementPermissions permissions = MovementPermissions.of(world);
+		WeakReference<ArcadeWorld> ref = new WeakReference<>(world);
+		world = null;
+		for (int i = 0; i < 50 && ref.get() != null; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue(ref.get() == null);
+		assertTrue(permissions.isOutdated());
+	}
+}
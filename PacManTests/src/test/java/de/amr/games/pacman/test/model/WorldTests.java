@@ -6,9 +6,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +58,65 @@ public class WorldTests {
 		assertTrue(world.foodAt(Tile.at(1, 6)).get() == ENERGIZER);
 	}
 
+	@Test
+	public void testFoodIndex() {
+		assertEquals(244, world.remainingFoodCount());
+		assertEquals(4, world.energizerLocations().count());
+		assertEquals(world.tiles().filter(world::hasFood).collect(Collectors.toList()),
+				world.foodLocations().collect(Collectors.toList()));
+
+		world.clearFood(Tile.at(1, 4));
+		world.clearFood(Tile.at(1, 6));
+		assertEquals(242, world.remainingFoodCount());
+		assertEquals(3, world.energizerLocations().count());
+		assertTrue(world.hasEatenFood(Tile.at(1, 6)));
+		assertEquals(List.of(Tile.at(1, 4), Tile.at(1, 6)), world.eatenFoodLocations().collect(Collectors.toList()));
+
+		world.fillFood(Tile.at(1, 6));
+		assertEquals(243, world.remainingFoodCount());
+		assertEquals(ENERGIZER, world.foodAt(Tile.at(1, 6)).get());
+
+		world.clearFood();
+		assertEquals(0, world.remainingFoodCount());
+		assertEquals(0, world.foodLocations().count());
+		assertFalse(world.nearestFood(Tile.at(13, 26)).isPresent());
+
+		world.fillFood();
+		assertEquals(244, world.remainingFoodCount());
+		assertEquals(0, world.eatenFoodLocations().count());
+	}
+
+	@Test
+	public void testNearestFood() {
+		world.tiles().filter(tile -> tile.col % 3 == 0).forEach(world::clearFood);
+		world.tiles().forEach(here -> {
+			Optional<Tile> expected = world.tiles().filter(world::hasFood)
+					.sorted(Comparator.comparingInt(food -> here.manhattanDistance(food))).findFirst();
+			assertEquals(expected, world.nearestFood(here));
+		});
+	}
+
+	@Test
+	public void testFoodJournal() {
+		int start = world.foodChangeCount();
+		Tile eaten = Tile.at(1, 4), restored = Tile.at(6, 4);
+		world.clearFood(eaten);
+		world.clearFood(restored);
+		world.fillFood(restored);
+		assertEquals(start + 3, world.foodChangeCount());
+		assertEquals(eaten, world.foodChangeLocation(start));
+		assertEquals(restored, world.foodChangeLocation(start + 1));
+		assertEquals(restored, world.foodChangeLocation(start + 2));
+		assertNull(world.foodChangeLocation(start + 3));
+		for (int i = 0; i < 100; ++i) {
+			world.clearFood(eaten);
+		}
+		assertNull(world.foodChangeLocation(start));
+		assertEquals(eaten, world.foodChangeLocation(world.foodChangeCount() - 1));
+		world.fillFood();
+		assertNull(world.foodChangeLocation(world.foodChangeCount() - 1));
+	}
+
 	@Test
 	public void testTiles() {
 		assertEquals(Tile.at(0, 0), Tile.at(0, 0));
@@ -66,6 +130,41 @@ public class WorldTests {
 		assertEquals(4, pacMan.tileLocation().row);
 	}
 
+	@Test
+	public void testCachedTileLocation() {
+		PacMan pacMan = new PacMan(world);
+		pacMan.placeAt(Tile.at(13, 26), 3, 0);
+		assertEquals(Tile.at(13, 26), pacMan.tileLocation());
+		assertEquals(7, pacMan.tileOffsetX(), 0);
+		pacMan.tf().x += 2;
+		assertEquals(Tile.at(14, 26), pacMan.tileLocation());
+		assertEquals(1, pacMan.tileOffsetX(), 0);
+		pacMan.tf().setPosition(Tile.at(1, 4).x(), Tile.at(1, 4).y());
+		assertEquals(Tile.at(1, 4), pacMan.tileLocation());
+		assertEquals(4, pacMan.tileOffsetY(), 0);
+	}
+
+	@Test
+	public void testTileInterning() {
+		assertSame(Tile.at(5, 7), Tile.at(5, 7));
+		assertSame(Tile.at(-3, 40), Tile.at(-3, 40));
+		assertSame(Tile.at(5, 7), Tile.at(5, 6).towards(Direction.DOWN));
+		assertEquals(Tile.at(1000, 1000), Tile.at(1000, 1000));
+		assertEquals(Tile.at(1000, 1000).hashCode(), Tile.at(1000, 1000).hashCode());
+	}
+
+	@Test
+	public void testTileIndex() {
+		assertEquals(0, world.index(Tile.at(0, 0)));
+		assertEquals(world.width() + 1, world.index(Tile.at(1, 1)));
+		assertEquals(world.width() * world.height() - 1, world.index(Tile.at(world.width() - 1, world.height() - 1)));
+		assertEquals(-1, world.index(Tile.at(-1, 0)));
+		assertEquals(-1, world.index(Tile.at(world.width(), 0)));
+		world.tiles().forEach(tile -> assertSame(tile, world.tile(world.index(tile))));
+		assertSame(Tile.at(13, 26), world.tile(13, 26));
+		assertEquals(Tile.at(-5, 40), world.tile(-5, 40));
+	}
+
 	@Test
 	public void testPortal() {
 		Portal portal = world.portals().findAny().get();
@@ -0,0 +1,93 @@
+package de.amr.games.pacman.test.navigation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.graph.DistanceField;
+
+public class DistanceFieldTests {
+
+	private ArcadeWorld world;
+	private DistanceField field;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		field = new DistanceField(world);
+	}
+
+	// plain BFS using the neighbor relation of the world (including portal wraparound)
+	private Map<Tile, Integer> referenceDistances(Tile source) {
+		Map<Tile, Integer> distances = new HashMap<>();
+		ArrayDeque<Tile> q = new ArrayDeque<>();
+		distances.put(source, 0);
+		q.add(source);
+		while (!q.isEmpty()) {
+			Tile tile = q.poll();
+			for (Direction dir : Direction.values()) {
+				Tile neighbor = world.neighbor(tile, dir);
+				if (world.includes(neighbor) && world.isAccessible(neighbor) && !distances.containsKey(neighbor)) {
+					distances.put(neighbor, distances.get(tile) + 1);
+					q.add(neighbor);
+				}
+			}
+		}
+		return distances;
+	}
+
+	@Test
+	public void testSameDistancesAsBFS() {
+		Tile[] sources = { Tile.at(13, 26), Tile.at(1, 4), Tile.at(26, 32), Tile.at(0, 17), Tile.at(6, 17) };
+		for (Tile source : sources) {
+			Map<Tile, Integer> expected = referenceDistances(source);
+			field.compute(source);
+			assertEquals(expected.size(), field.reachedCount());
+			world.tiles().forEach(tile -> {
+				int d = expected.getOrDefault(tile, DistanceField.UNREACHABLE);
+				assertEquals(String.format("%s -> %s", source, tile), d, field.distance(tile));
+			});
+		}
+	}
+
+	@Test
+	public void testPortalWraparound() {
+		field.compute(Tile.at(0, 17));
+		assertEquals(1, field.distance(Tile.at(27, 17)));
+		field.compute(Tile.at(27, 17));
+		assertEquals(1, field.distance(Tile.at(0, 17)));
+	}
+
+	@Test
+	public void testMaxDistance() {
+		Tile source = Tile.at(13, 26);
+		Map<Tile, Integer> expected = referenceDistances(source);
+		field.compute(source, 5);
+		world.tiles().forEach(tile -> {
+			Integer d = expected.get(tile);
+			assertEquals(d != null && d <= 5, field.isReached(tile));
+			assertEquals(d != null && d <= 3, field.isWithin(tile, 3));
+		});
+	}
+
+	@Test
+	public void testInaccessibleAndOutsideSource() {
+		field.compute(Tile.at(0, 0));
+		assertEquals(0, field.distance(Tile.at(0, 0)));
+		assertEquals(1, field.reachedCount());
+		field.compute(Tile.at(-1, 17));
+		assertEquals(0, field.reachedCount());
+		assertFalse(field.isReached(Tile.at(-1, 17)));
+		assertTrue(field.distance(Tile.at(13, 26)) == DistanceField.UNREACHABLE);
+	}
+}
@@ -0,0 +1,113 @@
+package de.amr.games.pacman.test.navigation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.graph.CompactGraph.Constraint;
+import de.amr.games.pacman.model.world.graph.DistanceTable;
+import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
+
+public class DistanceTableTests {
+
+	private ArcadeWorld world;
+	private WorldGraph graph;
+	private Tile[] samples;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		graph = new WorldGraph(world);
+		graph.setPathFinder(PathFinder.BREADTH_FIRST_SEARCH);
+		// every 5th accessible tile
+		Tile[] accessible = world.tiles().filter(world::isAccessible).toArray(Tile[]::new);
+		samples = new Tile[(accessible.length + 4) / 5];
+		for (int i = 0; i < samples.length; ++i) {
+			samples[i] = accessible[5 * i];
+		}
+	}
+
+	@Test
+	public void testSameDistancesAsPathFinder() {
+		for (Tile source : samples) {
+			for (Tile target : samples) {
+				List<Tile> path = graph.shortestPath(source, target);
+				int expected = path.isEmpty() ? DistanceTable.UNREACHABLE : path.size() - 1;
+				assertEquals(String.format("%s -> %s", source, target), expected, graph.distance(source, target));
+			}
+		}
+	}
+
+	@Test
+	public void testPathReconstruction() {
+		DistanceTable table = graph.distances();
+		for (Tile source : samples) {
+			for (Tile target : samples) {
+				int distance = table.distance(source, target);
+				List<Tile> path = table.path(source, target);
+				if (distance == DistanceTable.UNREACHABLE) {
+					assertTrue(path.isEmpty());
+					continue;
+				}
+				assertEquals(distance + 1, path.size());
+				assertEquals(source, path.get(0));
+				assertEquals(target, path.get(path.size() - 1));
+				for (int i = 0; i + 1 < path.size(); ++i) {
+					assertTrue(world.isAccessible(path.get(i)));
+					Tile current = path.get(i), next = path.get(i + 1);
+					assertTrue(Direction.dirs().anyMatch(dir -> world.neighbor(current, dir).equals(next)));
+				}
+				if (distance > 0) {
+					assertEquals(path.get(1), world.neighbor(source, table.nextDir(source, target)));
+				} else {
+					assertNull(table.nextDir(source, target));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOutsideAndInaccessibleTiles() {
+		Tile wall = Tile.at(0, 0), outside = Tile.at(-1, 5), pacManTile = Tile.at(13, 26);
+		assertEquals(0, graph.distance(wall, wall));
+		assertEquals(DistanceTable.UNREACHABLE, graph.distance(wall, pacManTile));
+		assertEquals(DistanceTable.UNREACHABLE, graph.distance(outside, outside));
+		assertEquals(DistanceTable.UNREACHABLE, graph.distance(outside, pacManTile));
+		assertNull(graph.nextDir(outside, pacManTile));
+		assertEquals(0, graph.distance(pacManTile, pacManTile));
+	}
+
+	@Test
+	public void testTableIsCachedPerLayout() {
+		DistanceTable table = graph.distances();
+		assertEquals(world.layoutVersion(), table.layoutVersion());
+		assertSame(table, graph.distances());
+		assertNotEquals(0, world.layoutVersion()); // portals have been added
+	}
+
+	@Test
+	public void testTableFollowsConstraints() {
+		WorldGraph constrained = new WorldGraph(world, Constraint.ONE_WAY_TILES);
+		assertNotEquals(graph.distances(), constrained.distances());
+		assertSame(constrained.distances(), new WorldGraph(world, Constraint.ONE_WAY_TILES).distances());
+		OneWayTile oneWay = world.oneWayTiles().findFirst().get();
+		Tile entry = world.neighbor(oneWay.tile, oneWay.dir);
+		assertTrue(world.isAccessible(entry));
+		// entering the one-way tile against its direction is only possible without constraint
+		assertEquals(1, graph.distance(entry, oneWay.tile));
+		assertTrue(constrained.distance(entry, oneWay.tile) > 1);
+		assertEquals(1, constrained.distance(oneWay.tile, entry));
+	}
+}
@@ -0,0 +1,66 @@
+package de.amr.games.pacman.test.navigation;
+
+import static de.amr.games.pacman.model.world.api.Direction.DOWN;
+import static de.amr.games.pacman.model.world.api.Direction.LEFT;
+import static de.amr.games.pacman.model.world.api.Direction.RIGHT;
+import static de.amr.games.pacman.model.world.api.Direction.UP;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.steering.common.HeadingForTargetTile;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+
+public class HeadingForTargetTileTests {
+
+	private static final List<Direction> PRIORITY = asList(UP, LEFT, DOWN, RIGHT);
+
+	private ArcadeWorld world;
+	private PacMan pacMan;
+	private HeadingForTargetTile<PacMan> steering;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		pacMan = new PacMan(world);
+		pacMan.setMoveDir(RIGHT);
+		steering = new HeadingForTargetTile<>(pacMan, () -> null);
+	}
+
+	/*
+	 * The original, stream-based implementation of the direction selection.
+	 */
+	private Direction referenceBestDir(Direction moveDir, Tile tile, Tile target) {
+		Function<Direction, Double> fnTargetDistance = dir -> world.neighbor(tile, dir).distance(target);
+		Function<Direction, Integer> fnDirectionPriority = PRIORITY::indexOf;
+		return Direction.dirs().filter(dir -> dir != moveDir.opposite())
+				.filter(dir -> pacMan.canMoveBetween(tile, world.neighbor(tile, dir)))
+				.sorted(Comparator.comparing(fnTargetDistance).thenComparing(fnDirectionPriority)).findFirst()
+				.orElse(pacMan.moveDir());
+	}
+
+	@Test
+	public void testSameDecisionsAsReference() {
+		List<Tile> targets = new ArrayList<>();
+		world.tiles().forEach(targets::add);
+		targets.addAll(asList(Tile.at(-10, -10), Tile.at(-3, 40), Tile.at(40, -3), Tile.at(100, 100)));
+		world.tiles().filter(world::isAccessible).forEach(tile -> {
+			for (Direction moveDir : Direction.values()) {
+				for (Tile target : targets) {
+					assertEquals(String.format("tile %s, move dir %s, target %s", tile, moveDir, target),
+							referenceBestDir(moveDir, tile, target), steering.bestDirTowardsTarget(moveDir, tile, target));
+				}
+			}
+		});
+	}
+}
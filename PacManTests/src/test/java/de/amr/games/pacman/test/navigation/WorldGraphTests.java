@@ -0,0 +1,223 @@
+package de.amr.games.pacman.test.navigation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.graph.CompactGraph;
+import de.amr.games.pacman.model.world.graph.CompactGraph.Constraint;
+import de.amr.games.pacman.model.world.graph.DistanceField;
+import de.amr.games.pacman.model.world.graph.IntersectionGraph;
+import de.amr.games.pacman.model.world.graph.PathSearch;
+import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
+
+public class WorldGraphTests {
+
+	private static class ChangingWorld extends ArcadeWorld {
+
+		void changeLayout() {
+			layoutChanged();
+		}
+	}
+
+	private ArcadeWorld world;
+	private Tile[] samples;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		// every 7th accessible tile
+		Tile[] accessible = world.tiles().filter(world::isAccessible).toArray(Tile[]::new);
+		samples = new Tile[(accessible.length + 6) / 7];
+		for (int i = 0; i < samples.length; ++i) {
+			samples[i] = accessible[7 * i];
+		}
+	}
+
+	private void assertValidPath(List<Tile> path, Tile source, Tile target) {
+		assertEquals(source, path.get(0));
+		assertEquals(target, path.get(path.size() - 1));
+		for (int i = 0; i + 1 < path.size(); ++i) {
+			Tile current = path.get(i), next = path.get(i + 1);
+			assertTrue(world.isAccessible(next));
+			assertTrue(Direction.dirs().anyMatch(dir -> world.neighbor(current, dir).equals(next)));
+		}
+	}
+
+	@Test
+	public void testGraphIsShared() {
+		CompactGraph graph = CompactGraph.of(world);
+		assertSame(graph, new WorldGraph(world).adjacency());
+		assertSame(graph, CompactGraph.of(world));
+		assertNotSame(graph, CompactGraph.of(world, Constraint.ONE_WAY_TILES));
+		assertNotSame(graph, CompactGraph.of(new ArcadeWorld()));
+	}
+
+	@Test
+	public void testGraphKeepsAdjacencyUntilLayoutChanges() {
+		ChangingWorld changingWorld = new ChangingWorld();
+		WorldGraph graph = new WorldGraph(changingWorld);
+		CompactGraph adjacency = graph.adjacency();
+		assertSame(adjacency, graph.adjacency());
+		changingWorld.changeLayout();
+		assertNotSame(adjacency, graph.adjacency());
+		assertSame(CompactGraph.of(changingWorld), graph.adjacency());
+	}
+
+	@Test
+	public void testCachedGraphsDoNotKeepWorldAlive() throws InterruptedException {
+		ArcadeWorld otherWorld = new ArcadeWorld();
+		CompactGraph graph = CompactGraph.of(otherWorld, Constraint.ONE_WAY_TILES);
+		graph.distanceTable();
+		WeakReference<ArcadeWorld> ref = new WeakReference<>(otherWorld);
+		otherWorld = null;
+		for (int i = 0; i < 50 && ref.get() != null; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue(ref.get() == null);
+		assertTrue(graph.isOutdated());
+	}
+
+	@Test
+	public void testPortalEdges() {
+		CompactGraph graph = CompactGraph.of(world);
+		int either = world.index(Tile.at(0, 17));
+		boolean connected = false;
+		for (int e = graph.offset(either); e < graph.offset(either) + graph.degree(either); ++e) {
+			if (graph.target(e) == world.index(Tile.at(27, 17))) {
+				assertEquals(Direction.LEFT, graph.direction(e));
+				connected = true;
+			}
+		}
+		assertTrue(connected);
+	}
+
+	@Test
+	public void testShortestPaths() {
+		DistanceField field = new DistanceField(world);
+		for (PathFinder pathFinder : PathFinder.values()) {
+			WorldGraph graph = new WorldGraph(world);
+			graph.setPathFinder(pathFinder);
+			for (Tile source : samples) {
+				field.compute(source);
+				for (Tile target : samples) {
+					List<Tile> path = graph.shortestPath(source, target);
+					assertValidPath(path, source, target);
+					if (pathFinder != PathFinder.BEST_FIRST_SEARCH) {
+						assertEquals(pathFinder + " " + source + " -> " + target, field.distance(target), path.size() - 1);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testIntersectionGraphPathLengths() {
+		DistanceField field = new DistanceField(world);
+		WorldGraph graph = new WorldGraph(world);
+		graph.setPathFinder(PathFinder.INTERSECTION_GRAPH);
+		Tile[] accessible = world.tiles().filter(world::isAccessible).toArray(Tile[]::new);
+		for (Tile source : accessible) {
+			field.compute(source);
+			for (Tile target : accessible) {
+				List<Tile> path = graph.shortestPath(source, target);
+				if (field.distance(target) == DistanceField.UNREACHABLE) {
+					assertTrue(path.isEmpty());
+				} else {
+					assertValidPath(path, source, target);
+					assertEquals(source + " -> " + target, field.distance(target), path.size() - 1);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testIntersectionGraphStructure() {
+		CompactGraph graph = CompactGraph.of(world);
+		IntersectionGraph ig = graph.intersectionGraph();
+		long numAccessible = world.tiles().filter(world::isAccessible).count();
+		assertTrue(ig.numNodes() < numAccessible / 2);
+		int innerTiles = 0;
+		for (int c = 0; c < ig.numCorridors(); ++c) {
+			innerTiles += ig.length(c) - 1;
+			for (int pos = 1; pos < ig.length(c); ++pos) {
+				int v = ig.innerVertex(c, pos);
+				assertEquals(c, ig.corridorOf(v));
+				assertEquals(pos, ig.positionOf(v));
+			}
+		}
+		assertEquals(numAccessible, ig.numNodes() + innerTiles);
+		assertTrue(ig.nodeOf(world.index(Tile.at(0, 17))) != -1);
+	}
+
+	@Test
+	public void testPathThroughTunnel() {
+		WorldGraph graph = new WorldGraph(world);
+		graph.setPathFinder(PathFinder.ASTAR);
+		List<Tile> path = graph.shortestPath(Tile.at(3, 17), Tile.at(24, 17));
+		assertValidPath(path, Tile.at(3, 17), Tile.at(24, 17));
+		assertTrue(path.contains(Tile.at(0, 17)));
+		assertEquals(8, path.size());
+		// the portal edge leads to the left although the next tile is on the right side
+		assertEquals(Optional.of(Direction.LEFT), graph.edgeDir(Tile.at(0, 17), Tile.at(27, 17)));
+		assertEquals(Optional.of(Direction.RIGHT), graph.edgeDir(Tile.at(27, 17), Tile.at(0, 17)));
+		assertEquals(Optional.of(Direction.LEFT), graph.edgeDir(Tile.at(3, 17), Tile.at(2, 17)));
+		assertEquals(Optional.empty(), graph.edgeDir(Tile.at(3, 17), Tile.at(5, 17)));
+	}
+
+	@Test
+	public void testPathIndices() {
+		WorldGraph graph = new WorldGraph(world);
+		for (PathFinder pathFinder : PathFinder.values()) {
+			graph.setPathFinder(pathFinder);
+			for (Tile source : samples) {
+				for (Tile target : samples) {
+					List<Tile> path = graph.shortestPath(source, target);
+					int[] indices = graph.shortestPathIndices(source, target);
+					assertEquals(path.size(), indices.length);
+					for (int i = 0; i < indices.length; ++i) {
+						assertEquals(path.get(i), world.tile(indices[i]));
+					}
+				}
+			}
+		}
+		assertEquals(0, graph.shortestPathIndices(Tile.at(13, 26), Tile.at(0, 0)).length);
+		assertEquals(0, graph.shortestPathIndices(Tile.at(-1, 17), Tile.at(13, 26)).length);
+	}
+
+	@Test
+	public void testSearchOnlyExploresNeighborhood() {
+		PathSearch search = PathSearch.ofCurrentThread();
+		CompactGraph graph = CompactGraph.of(world);
+		int source = world.index(Tile.at(1, 4)), target = world.index(Tile.at(3, 4));
+		assertEquals(3, search.search(graph, source, target, PathFinder.ASTAR));
+		assertEquals(source, search.pathVertex(0));
+		assertEquals(target, search.pathVertex(2));
+		assertTrue(search.exploredVertices() < 10);
+	}
+
+	@Test
+	public void testOneWayTiles() {
+		CompactGraph graph = CompactGraph.of(world, Constraint.ONE_WAY_TILES);
+		world.oneWayTiles().forEach(oneWay -> {
+			Tile forbiddenSource = world.neighbor(oneWay.tile, oneWay.dir);
+			int u = world.index(forbiddenSource);
+			for (int e = graph.offset(u); e < graph.offset(u) + graph.degree(u); ++e) {
+				assertTrue(graph.target(e) != world.index(oneWay.tile));
+			}
+		});
+	}
+}